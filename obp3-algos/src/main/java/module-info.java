@@ -1,8 +1,10 @@
 module obp.algos {
     requires obp.sli.runtime;
+    requires jdk.jfr;
     exports obp3;
     exports obp3.sli.core;
     exports obp3.sli.core.operators;
+    exports obp3.sli.core.csr;
     exports obp3.sli.core.operators.product;
     exports obp3.sli.core.operators.product.model;
     exports obp3.sli.core.operators.product.deterministic;
@@ -10,6 +12,7 @@ module obp.algos {
     exports obp3.traversal.bfs;
     exports obp3.fixer;
     exports obp3.things;
+    exports obp3.things.generators;
     exports obp3.traversal.dfs;
     exports obp3.traversal.dfs.domain;
     exports obp3.traversal.dfs.model;
@@ -25,8 +28,14 @@ module obp.algos {
     exports obp3.modelchecking;
     exports obp3.modelchecking.buchi.ndfs.gs09;
     exports obp3.modelchecking.buchi.ndfs.gs09.cdlp05.separated;
+    exports obp3.modelchecking.progress;
     exports obp3.modelchecking.safety;
     exports obp3.modelchecking.tools;
     exports obp3.utils;
     exports obp3.hashcons;
+    exports obp3.unification;
+    exports obp3.unification.syntax;
+    exports obp3.jfr;
+    exports obp3.datastructures.collections.linearscan;
+    exports obp3.datastructures.collections.swiss;
 }
\ No newline at end of file
@@ -24,6 +24,7 @@ package obp3.datastructures.collections.linearscan;
 
 import obp3.datastructures.collections.linearscan.utils.DeletedSentinel;
 import obp3.datastructures.collections.linearscan.utils.EmptySentinel;
+import obp3.jfr.FlightEvents;
 import obp3.utils.Hashable;
 
 import java.util.Arrays;
@@ -44,6 +45,10 @@ import java.util.Arrays;
  * <li>Automatic growth when load factor is exceeded (default 0.667)</li>
  * <li>Tombstone reuse during insertion to minimize wasted space</li>
  * <li>Support for null keys via sentinel objects</li>
+ * <li>The hash of each slot is cached in a parallel array: the probes compare the hashes before the keys,
+ * and growth does not hash the keys again</li>
+ * <li>An optional Robin Hood mode (see {@link Probing#ROBIN_HOOD}) for dense tables</li>
+ * <li>An optional incremental resize, which spreads the migration to the larger array over the next operations</li>
  * </ul>
  * <p>
  * <b>Linear probing invariants:</b>
@@ -55,6 +60,28 @@ import java.util.Arrays;
  * <li>Load factor = size / capacity ≤ maxLoadFactor</li>
  * </ul>
  * <p>
+ * <b>Robin Hood invariants:</b>
+ * </p>
+ * <ul>
+ * <li>Along a probe sequence, the items are ordered by their home slot: an item never sits
+ * after an item that is farther from its own home slot than it would be</li>
+ * <li>A search stops at an EMPTY slot, or at an item closer to its home slot than the searched key would be</li>
+ * <li>Insertion shifts the tail of the cluster one slot forward to keep the order</li>
+ * <li>Deletion shifts the following displaced items one slot backward, so there are no tombstones</li>
+ * <li>The probe distances are computed from the cached hashes</li>
+ * </ul>
+ * <p>
+ * <b>Incremental resize invariants:</b>
+ * </p>
+ * <ul>
+ * <li>While resizing, an item is either in the new array or in the old one, never in both;
+ * {@link #size} counts both</li>
+ * <li>Each search migrates {@link #MIGRATION_STEP} old slots, in index order, then moves the searched key
+ * to the new array if it is still in the old one, so that the returned index is always in {@link #items}</li>
+ * <li>A migrated old slot becomes DELETED, with its hash kept, so the probe chains of the old array stay intact</li>
+ * <li>The whole-table operations (iteration, bulk queries) complete the migration first</li>
+ * </ul>
+ * <p>
  * <b>Subclass responsibilities:</b>
  * </p>
  * <ul>
@@ -67,6 +94,32 @@ import java.util.Arrays;
  * @param <K> the type of keys used for hashing and lookup
  */
 public abstract class AbstractLinearProbingTable<K> {
+    /**
+     * The collision resolution strategies of the table.
+     */
+    public enum Probing {
+        /**
+         * Plain linear probing, with tombstones; for load factors up to about 0.7.
+         */
+        LINEAR,
+        /**
+         * Robin Hood linear probing with backward-shift deletion.
+         * <p>
+         * The items displaced the farthest from their home slot take the slots of the closer ones,
+         * which keeps the probe lengths short and even at load factors around 0.9,
+         * and lets the unsuccessful searches stop early.
+         * </p>
+         */
+        ROBIN_HOOD;
+
+        /**
+         * @return the default maximum load factor of the strategy
+         */
+        public double defaultLoadFactor() {
+            return this == ROBIN_HOOD ? 0.9 : 0.667;
+        }
+    }
+
     /**
      * Sentinel singleton representing an empty slot in the internal array.
      * Empty slots indicate positions that have never been used.
@@ -100,6 +153,17 @@ public abstract class AbstractLinearProbingTable<K> {
      * New capacity = old capacity * growthFactor.
      */
     protected final int growthFactor;
+
+    /**
+     * The collision resolution strategy.
+     */
+    protected final Probing probing;
+
+    /**
+     * The hash of the key of each slot, as given by {@link #hashable}.
+     * Only meaningful for the active slots.
+     */
+    protected int[] hashes;
     
     /**
      * Internal array storing items (elements or entries) and sentinels.
@@ -111,6 +175,31 @@ public abstract class AbstractLinearProbingTable<K> {
      */
     protected int size;
 
+    /**
+     * Whether the growth migrates the items over the next operations instead of all at once.
+     */
+    protected final boolean incrementalResize;
+
+    /**
+     * The number of old slots migrated by each search during an incremental resize.
+     * <p>
+     * The migration of a table of capacity C ends after C / MIGRATION_STEP operations,
+     * far before the new array fills up for any growth factor of at least 2.
+     * </p>
+     */
+    protected static final int MIGRATION_STEP = 64;
+
+    /**
+     * The array being migrated by an incremental resize, null when there is no resize in progress.
+     */
+    private Object[] oldItems;
+    private int[] oldHashes;
+    private int oldCapacity;
+    /**
+     * The old slots below this index are migrated.
+     */
+    private int migrated;
+
     /**
      * Constructs a new AbstractLinearProbingTable with the specified parameters.
      *
@@ -120,12 +209,45 @@ public abstract class AbstractLinearProbingTable<K> {
      * @param growthFactor  the factor by which capacity increases during growth (typically 2)
      */
     protected AbstractLinearProbingTable(int capacity, Hashable<K> hashable, double maxLoadFactor, int growthFactor) {
+        this(capacity, hashable, maxLoadFactor, growthFactor, Probing.LINEAR);
+    }
+
+    /**
+     * Constructs a new AbstractLinearProbingTable with the specified parameters and collision resolution strategy.
+     *
+     * @param capacity      the initial capacity of the hash table
+     * @param hashable      the hashable instance for computing hash codes and equality
+     * @param maxLoadFactor the maximum load factor before growth (up to 0.9 in {@link Probing#ROBIN_HOOD} mode)
+     * @param growthFactor  the factor by which capacity increases during growth (typically 2)
+     * @param probing       the collision resolution strategy
+     */
+    protected AbstractLinearProbingTable(int capacity, Hashable<K> hashable, double maxLoadFactor, int growthFactor, Probing probing) {
+        this(capacity, hashable, maxLoadFactor, growthFactor, probing, false);
+    }
+
+    /**
+     * Constructs a new AbstractLinearProbingTable with the specified parameters, collision resolution strategy
+     * and resize policy.
+     *
+     * @param capacity          the initial capacity of the hash table
+     * @param hashable          the hashable instance for computing hash codes and equality
+     * @param maxLoadFactor     the maximum load factor before growth (up to 0.9 in {@link Probing#ROBIN_HOOD} mode)
+     * @param growthFactor      the factor by which capacity increases during growth (typically 2)
+     * @param probing           the collision resolution strategy
+     * @param incrementalResize true to migrate the items to the larger array a few slots per operation,
+     *                          bounding the latency of the insertion that triggers the growth
+     */
+    protected AbstractLinearProbingTable(int capacity, Hashable<K> hashable, double maxLoadFactor, int growthFactor,
+                                         Probing probing, boolean incrementalResize) {
         this.capacity = capacity;
         this.hashable = hashable.withPositiveHash();
         this.maxLoadFactor = maxLoadFactor;
         this.growthFactor = growthFactor;
+        this.probing = probing;
+        this.incrementalResize = incrementalResize;
         this.items = new Object[capacity];
         Arrays.fill(items, EMPTY);
+        this.hashes = new int[capacity];
         this.size = 0;
     }
 
@@ -174,6 +296,50 @@ public abstract class AbstractLinearProbingTable<K> {
         return capacity;
     }
 
+    /**
+     * Returns the collision resolution strategy of this table.
+     *
+     * @return the probing strategy
+     */
+    public Probing probing() {
+        return probing;
+    }
+
+    /**
+     * Returns true while an incremental resize is migrating the items of the old array.
+     *
+     * @return true if a resize is in progress
+     */
+    public boolean isResizing() {
+        return oldItems != null;
+    }
+
+    /**
+     * Returns the longest distance between an item and its home slot, a measure of the clustering.
+     * <p>
+     * This scans the whole table, it is meant for diagnostics.
+     * </p>
+     *
+     * @return the maximum probe length of a successful search, 0 if every item is in its home slot
+     */
+    public int maxProbeLength() {
+        completeResize();
+        int longest = 0;
+        for (int i = 0; i < capacity; i++) {
+            if (!isActiveSlot(i)) continue;
+            longest = Math.max(longest, distance(hashes[i], i, capacity));
+        }
+        return longest;
+    }
+
+    /**
+     * The distance from the home slot of the hash to the index, wrapping around the end of the array.
+     */
+    private static int distance(int hash, int index, int arrayLength) {
+        int distance = index - hash % arrayLength;
+        return distance < 0 ? distance + arrayLength : distance;
+    }
+
     /**
      * Returns true if this table contains no items.
      *
@@ -188,12 +354,15 @@ public abstract class AbstractLinearProbingTable<K> {
      * Resets all slots to EMPTY and sets size to 0.
      */
     public void clear() {
+        oldItems = null;
+        oldHashes = null;
         Arrays.fill(items, EMPTY);
         size = 0;
     }
 
     @Override
     public String toString() {
+        completeResize();
         StringBuilder repr = new StringBuilder("capacity=" + capacity + ", size=" + size + " items=[");
         for (int i = 0; i < capacity; i++) {
             if (i != 0) {
@@ -280,6 +449,10 @@ public abstract class AbstractLinearProbingTable<K> {
      */
     protected SearchResult findSlot(K key) {
         int theHash = hashable.hash(key);
+        advanceResize(key, theHash);
+        if (probing == Probing.ROBIN_HOOD) {
+            return findSlotRobinHood(key, theHash);
+        }
         int theIndex = theHash % capacity;
 
         // Check for empty slot at index
@@ -288,12 +461,8 @@ public abstract class AbstractLinearProbingTable<K> {
         }
 
         // Check for deleted slot - skip it
-        if (items[theIndex] != DELETED) {
-            // Check if the key is present at index
-            K itemKey = extractKey(items[theIndex]);
-            if (keysEqual(key, itemKey)) {
-                return SearchResult.found(theIndex);
-            }
+        if (items[theIndex] != DELETED && matches(theIndex, theHash, key)) {
+            return SearchResult.found(theIndex);
         }
 
         // Not found, start linear probing
@@ -305,11 +474,8 @@ public abstract class AbstractLinearProbingTable<K> {
                 return SearchResult.notFound();
             }
             
-            if (items[theIndex] != DELETED) {
-                K itemKey = extractKey(items[theIndex]);
-                if (keysEqual(key, itemKey)) {
-                    return SearchResult.found(theIndex);
-                }
+            if (items[theIndex] != DELETED && matches(theIndex, theHash, key)) {
+                return SearchResult.found(theIndex);
             }
         } while (theIndex != start);
 
@@ -329,28 +495,33 @@ public abstract class AbstractLinearProbingTable<K> {
      * <li>Prefers reusing tombstones to minimize wasted space</li>
      * </ul>
      *
+     * <p>
+     * For a new key, the returned slot is reserved: its hash is recorded, the caller must store the item in it.
+     * </p>
+     *
      * @param key the key to insert
      * @return an InsertionSlot describing where and how to insert
      */
     protected InsertionSlot findInsertionSlot(K key) {
         int theHash = hashable.hash(key);
+        advanceResize(key, theHash);
+        if (probing == Probing.ROBIN_HOOD) {
+            return findInsertionSlotRobinHood(key, theHash);
+        }
         int theIndex = theHash % capacity;
         int firstDeletedIndex = -1;
 
         // Check for empty slot at index
         if (items[theIndex] == EMPTY) {
-            return new InsertionSlot(theIndex, false, false);
+            return reserve(theIndex, theHash, false);
         }
 
         // Check for deleted slot - remember it for potential insertion
         if (items[theIndex] == DELETED) {
             firstDeletedIndex = theIndex;
-        } else {
-            K itemKey = extractKey(items[theIndex]);
-            // Check if the key already exists at index
-            if (keysEqual(key, itemKey)) {
-                return new InsertionSlot(theIndex, true, false);
-            }
+        } else if (matches(theIndex, theHash, key)) {
+            // The key already exists at index
+            return new InsertionSlot(theIndex, true, false);
         }
 
         // Not found, start linear probing
@@ -361,9 +532,9 @@ public abstract class AbstractLinearProbingTable<K> {
             if (items[theIndex] == EMPTY) {
                 // Found empty slot - use tombstone if we found one earlier
                 if (firstDeletedIndex != -1) {
-                    return new InsertionSlot(firstDeletedIndex, false, true);
+                    return reserve(firstDeletedIndex, theHash, true);
                 } else {
-                    return new InsertionSlot(theIndex, false, false);
+                    return reserve(theIndex, theHash, false);
                 }
             }
             
@@ -372,30 +543,119 @@ public abstract class AbstractLinearProbingTable<K> {
                 if (firstDeletedIndex == -1) {
                     firstDeletedIndex = theIndex;
                 }
-            } else {
-                K itemKey = extractKey(items[theIndex]);
-                // Check if the key already exists
-                if (keysEqual(key, itemKey)) {
-                    return new InsertionSlot(theIndex, true, false);
-                }
+            } else if (matches(theIndex, theHash, key)) {
+                // The key already exists
+                return new InsertionSlot(theIndex, true, false);
             }
         } while (theIndex != start);
 
         // If we've scanned the entire table and found a deleted slot, use it
         if (firstDeletedIndex != -1) {
-            return new InsertionSlot(firstDeletedIndex, false, true);
+            return reserve(firstDeletedIndex, theHash, true);
         }
 
         // Table is full (no EMPTY or DELETED slots found)
         throw new IllegalStateException("The hash table is full");
     }
 
+    /**
+     * Tests whether the active slot holds the key: the cached hashes are compared first,
+     * so that the (possibly deep) key equality is only called on a hash match.
+     */
+    private boolean matches(int index, int hash, K key) {
+        return hashes[index] == hash && keysEqual(key, extractKey(items[index]));
+    }
+
+    /**
+     * Records the hash of the new key in the slot where it will be inserted.
+     */
+    private InsertionSlot reserve(int index, int hash, boolean reusedTombstone) {
+        hashes[index] = hash;
+        return new InsertionSlot(index, false, reusedTombstone);
+    }
+
+    /**
+     * Robin Hood search: the probe stops at the first EMPTY slot, or at the first item closer to its home slot
+     * than the key would be at that slot, since the key would have displaced it.
+     *
+     * @param key     the key to search for
+     * @param theHash the hash of the key
+     * @return a SearchResult containing the index if found, or notFound() if not present
+     */
+    private SearchResult findSlotRobinHood(K key, int theHash) {
+        int theIndex = theHash % capacity;
+        for (int probe = 0; probe < capacity; probe++) {
+            Object item = items[theIndex];
+            if (item == EMPTY || distance(hashes[theIndex], theIndex, capacity) < probe) {
+                return SearchResult.notFound();
+            }
+            if (matches(theIndex, theHash, key)) {
+                return SearchResult.found(theIndex);
+            }
+            theIndex = (theIndex + 1) % capacity;
+        }
+        return SearchResult.notFound();
+    }
+
+    /**
+     * Robin Hood insertion: the new key takes the first slot whose item is closer to its home slot than the key,
+     * and the items from there to the next EMPTY slot move one slot forward.
+     * <p>
+     * Shifting the run is the same as swapping the carried item at each step, since the items of a run are ordered
+     * by their home slots.
+     * </p>
+     *
+     * @param key     the key to insert
+     * @param theHash the hash of the key
+     * @return an InsertionSlot describing where and how to insert
+     */
+    private InsertionSlot findInsertionSlotRobinHood(K key, int theHash) {
+        int theIndex = theHash % capacity;
+        for (int probe = 0; probe < capacity; probe++) {
+            Object item = items[theIndex];
+            if (item == EMPTY) {
+                return reserve(theIndex, theHash, false);
+            }
+            if (distance(hashes[theIndex], theIndex, capacity) < probe) {
+                shiftForward(theIndex);
+                return reserve(theIndex, theHash, false);
+            }
+            if (matches(theIndex, theHash, key)) {
+                return new InsertionSlot(theIndex, true, false);
+            }
+            theIndex = (theIndex + 1) % capacity;
+        }
+        throw new IllegalStateException("The hash table is full");
+    }
+
+    /**
+     * Moves the items from the index to the next EMPTY slot one slot forward, leaving the index EMPTY.
+     */
+    private void shiftForward(int index) {
+        int empty = index;
+        do {
+            empty = (empty + 1) % capacity;
+            if (empty == index) {
+                throw new IllegalStateException("The hash table is full");
+            }
+        } while (items[empty] != EMPTY);
+        while (empty != index) {
+            int previous = empty == 0 ? capacity - 1 : empty - 1;
+            items[empty] = items[previous];
+            hashes[empty] = hashes[previous];
+            empty = previous;
+        }
+        items[index] = EMPTY;
+    }
+
     /**
      * Checks if the table needs to grow and triggers growth if necessary.
      * Growth occurs when size exceeds capacity * maxLoadFactor.
      */
     protected void checkAndGrow() {
         if (size >= (capacity * maxLoadFactor)) {
+            // the previous incremental resize is not over, it is finished before the next one starts
+            completeResize();
             grow();
         }
     }
@@ -408,28 +668,123 @@ public abstract class AbstractLinearProbingTable<K> {
      * <ul>
      * <li>Creates a new array with capacity * growthFactor</li>
      * <li>Rehashes all active items (skips EMPTY and DELETED)</li>
+     * <li>Reuses the cached hashes, the keys are not hashed again</li>
      * <li>Eliminates all tombstones in the process</li>
      * <li>Updates the capacity and items reference</li>
      * </ul>
+     * <p>
+     * With an incremental resize, only the new array is allocated here, the items are migrated by the next operations.
+     * </p>
      */
     protected void grow() {
-        int newCapacity = capacity * growthFactor;
-        Object[] newArray = new Object[newCapacity];
-        
-        // Initialize new array with EMPTY sentinels
-        Arrays.fill(newArray, EMPTY);
-        
-        // Copy and rehash only active items (skip EMPTY and DELETED)
-        for (int i = 0; i < capacity; i++) {
-            if (items[i] != EMPTY && items[i] != DELETED) {
-                Object item = items[i];
-                K key = extractKey(item);
-                internalRehashInsert(newArray, newCapacity, item, hashable.hash(key));
+        FlightEvents.recordResize(this, capacity, size, () -> {
+            rehash();
+            return capacity;
+        });
+    }
+
+    private void rehash() {
+        oldItems = items;
+        oldHashes = hashes;
+        oldCapacity = capacity;
+        migrated = 0;
+        capacity = capacity * growthFactor;
+        items = new Object[capacity];
+        hashes = new int[capacity];
+        Arrays.fill(items, EMPTY);
+        if (!incrementalResize) {
+            completeResize();
+        }
+    }
+
+    /**
+     * Migrates all the remaining items of the old array, if an incremental resize is in progress.
+     */
+    protected void completeResize() {
+        if (oldItems != null) {
+            migrate(oldCapacity - migrated);
+        }
+    }
+
+    /**
+     * The incremental part of a search: migrates the next old slots, then the searched key if it is still old.
+     */
+    private void advanceResize(K key, int hash) {
+        if (oldItems == null) return;
+        migrate(MIGRATION_STEP);
+        if (oldItems != null) {
+            promote(key, hash);
+        }
+    }
+
+    /**
+     * Migrates the next old slots, and drops the old array once they are all migrated.
+     */
+    private void migrate(int slots) {
+        int end = Math.min(oldCapacity, migrated + slots);
+        for (; migrated < end; migrated++) {
+            if (oldItems[migrated] != EMPTY && oldItems[migrated] != DELETED) {
+                moveToNew(migrated);
             }
         }
-        
-        capacity = newCapacity;
-        items = newArray;
+        if (migrated == oldCapacity) {
+            oldItems = null;
+            oldHashes = null;
+        }
+    }
+
+    /**
+     * Moves the key to the new array if it is still in the old one. The old array is searched as it was
+     * before the resize, its migrated slots are tombstones that keep their hashes.
+     */
+    private void promote(K key, int hash) {
+        int theIndex = hash % oldCapacity;
+        for (int probe = 0; probe < oldCapacity; probe++) {
+            Object item = oldItems[theIndex];
+            if (item == EMPTY) return;
+            if (probing == Probing.ROBIN_HOOD && distance(oldHashes[theIndex], theIndex, oldCapacity) < probe) return;
+            if (item != DELETED && oldHashes[theIndex] == hash && keysEqual(key, extractKey(item))) {
+                moveToNew(theIndex);
+                return;
+            }
+            theIndex = (theIndex + 1) % oldCapacity;
+        }
+    }
+
+    private void moveToNew(int oldIndex) {
+        Object item = oldItems[oldIndex];
+        oldItems[oldIndex] = DELETED;
+        if (probing == Probing.ROBIN_HOOD) {
+            robinHoodInsert(item, oldHashes[oldIndex]);
+        } else {
+            int index = internalRehashInsert(items, capacity, item, oldHashes[oldIndex]);
+            hashes[index] = oldHashes[oldIndex];
+        }
+    }
+
+    /**
+     * Robin Hood insertion of an absent key: the displaced items are carried forward, without comparing the keys.
+     */
+    private void robinHoodInsert(Object item, int hash) {
+        int theIndex = hash % capacity;
+        for (int probe = 0; ; probe++) {
+            if (items[theIndex] == EMPTY) {
+                items[theIndex] = item;
+                hashes[theIndex] = hash;
+                return;
+            }
+            int residentProbe = distance(hashes[theIndex], theIndex, capacity);
+            if (residentProbe < probe) {
+                Object resident = items[theIndex];
+                int residentHash = hashes[theIndex];
+                items[theIndex] = item;
+                hashes[theIndex] = hash;
+                item = resident;
+                hash = residentHash;
+                probe = residentProbe;
+            }
+            theIndex = (theIndex + 1) % capacity;
+        }
     }
 
     /**
@@ -440,21 +795,22 @@ public abstract class AbstractLinearProbingTable<K> {
      * <ul>
      * <li>Does not check for duplicates (keys are already unique)</li>
      * <li>Does not update size (size remains unchanged during rehash)</li>
-     * <li>Only probes for EMPTY slots (no DELETED in new array)</li>
+     * <li>Only probes for EMPTY slots (the DELETED slots left by removals during an incremental resize are skipped)</li>
      * </ul>
      *
      * @param array       the new array to insert into
      * @param arrayLength the length of the new array
      * @param item        the item to insert
      * @param hash        the hash code of the item's key
+     * @return the index where the item was inserted
      */
-    protected void internalRehashInsert(Object[] array, int arrayLength, Object item, int hash) {
+    protected int internalRehashInsert(Object[] array, int arrayLength, Object item, int hash) {
         int theIndex = hash % arrayLength;
         
         // Check for empty slot at index
         if (array[theIndex] == EMPTY) {
             array[theIndex] = item;
-            return;
+            return theIndex;
         }
 
         // Linear probe for next empty slot
@@ -470,6 +826,7 @@ public abstract class AbstractLinearProbingTable<K> {
 
         // Insert at empty slot
         array[theIndex] = item;
+        return theIndex;
     }
 
     /**
@@ -486,10 +843,35 @@ public abstract class AbstractLinearProbingTable<K> {
      * @param index the index of the item to remove
      */
     protected void removeAtIndex(int index) {
+        if (probing == Probing.ROBIN_HOOD) {
+            removeAtIndexRobinHood(index);
+            return;
+        }
         items[index] = DELETED;
         size--;
     }
 
+    /**
+     * Backward-shift deletion: the following items that are not in their home slot move one slot backward,
+     * up to an EMPTY slot or an item in its home slot, so that no tombstone is needed.
+     * <p>
+     * The items after the index may move into it: a caller scanning the table must look at the index again.
+     * </p>
+     *
+     * @param index the index of the item to remove
+     */
+    private void removeAtIndexRobinHood(int index) {
+        int next = (index + 1) % capacity;
+        while (items[next] != EMPTY && distance(hashes[next], next, capacity) > 0) {
+            items[index] = items[next];
+            hashes[index] = hashes[next];
+            index = next;
+            next = (next + 1) % capacity;
+        }
+        items[index] = EMPTY;
+        size--;
+    }
+
     /**
      * Checks if the specified index contains an active item (not EMPTY or DELETED).
      *
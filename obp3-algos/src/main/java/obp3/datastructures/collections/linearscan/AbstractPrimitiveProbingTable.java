@@ -0,0 +1,346 @@
+package obp3.datastructures.collections.linearscan;
+
+import obp3.datastructures.collections.linearscan.AbstractLinearProbingTable.Probing;
+import obp3.jfr.FlightEvents;
+
+import java.util.Arrays;
+
+/**
+ * Abstract base class for the linear probing tables of primitive keys, the unboxed counterpart of
+ * {@link AbstractLinearProbingTable}.
+ * <p>
+ * The probing policy is the same: the home slot of a key is {@code hash % capacity}, the probe sequence steps by one,
+ * the table grows by {@link #growthFactor} past {@link #maxLoadFactor}, and the {@link Probing} strategy
+ * is either plain linear probing or Robin Hood.
+ * The layout differs: the keys are stored in a primitive array, and a separate occupancy bitmap tells
+ * the used slots apart, so every key value is valid and no sentinel is needed.
+ * </p>
+ * <p>
+ * <b>Invariants:</b>
+ * </p>
+ * <ul>
+ * <li>A slot is either free or occupied, there are no tombstones: a removal shifts back the following items
+ * that could not sit in their home slot (Knuth's algorithm R in LINEAR mode, backward shift in ROBIN_HOOD mode)</li>
+ * <li>A search stops at the first free slot (and, in ROBIN_HOOD mode, at the first item closer to its home
+ * slot than the key would be)</li>
+ * <li>The hashes are not cached: hashing a primitive key is a multiplication, cheaper than a memory load</li>
+ * <li>Load factor = size / capacity ≤ maxLoadFactor</li>
+ * </ul>
+ * <p>
+ * <b>Subclass responsibilities:</b>
+ * </p>
+ * <ul>
+ * <li>Store the keys (and values), and widen a key to a long in {@link #keyAt(int)}</li>
+ * <li>Move a slot in {@link #move(int, int)} and reinsert everything in {@link #rehash(int)}</li>
+ * <li>Store the key (and value) in the slot reserved by {@link #findInsertionSlot(long)}</li>
+ * </ul>
+ */
+public abstract class AbstractPrimitiveProbingTable {
+    /**
+     * Current capacity of the hash table.
+     */
+    protected int capacity;
+
+    /**
+     * Maximum load factor before triggering growth.
+     */
+    protected final double maxLoadFactor;
+
+    /**
+     * Growth factor for capacity expansion.
+     */
+    protected final int growthFactor;
+
+    /**
+     * The collision resolution strategy.
+     */
+    protected final Probing probing;
+
+    /**
+     * One bit per slot, set if the slot holds an item.
+     */
+    protected long[] occupied;
+
+    /**
+     * Number of items in the table.
+     */
+    protected int size;
+
+    /**
+     * Constructs a new table; the subclass allocates its arrays of the given capacity.
+     *
+     * @param capacity      the initial capacity of the hash table
+     * @param maxLoadFactor the maximum load factor before growth
+     * @param growthFactor  the factor by which capacity increases during growth (typically 2)
+     * @param probing       the collision resolution strategy
+     */
+    protected AbstractPrimitiveProbingTable(int capacity, double maxLoadFactor, int growthFactor, Probing probing) {
+        if (capacity < 1) throw new IllegalArgumentException("the capacity should be positive, got " + capacity);
+        this.capacity = capacity;
+        this.maxLoadFactor = maxLoadFactor;
+        this.growthFactor = growthFactor;
+        this.probing = probing;
+        this.occupied = new long[(capacity + 63) >>> 6];
+    }
+
+    /**
+     * Returns the key of an occupied slot, widened to a long.
+     *
+     * @param index the index of an occupied slot
+     * @return the key stored at the index
+     */
+    protected abstract long keyAt(int index);
+
+    /**
+     * Moves the key (and value) of a slot to another slot.
+     *
+     * @param from the occupied source slot
+     * @param to   the destination slot
+     */
+    protected abstract void move(int from, int to);
+
+    /**
+     * Reallocates the arrays with the new capacity and reinserts all the items.
+     * <p>
+     * Implementations save their arrays, call {@link #resetSlots(int)}, then store each item in the slot given by
+     * {@link #insertionSlotOfAbsent(long)}.
+     * </p>
+     *
+     * @param newCapacity the new capacity
+     */
+    protected abstract void rehash(int newCapacity);
+
+    /**
+     * Hashes the key to a non-negative int; a key widened from an int hashes as a long.
+     *
+     * @param key the key
+     * @return the hash of the key
+     */
+    protected static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & 0x7FFFFFFF;
+    }
+
+    /**
+     * Returns the number of items in this table.
+     *
+     * @return the number of items
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the current capacity of the underlying arrays.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns true if this table contains no items.
+     *
+     * @return true if size is 0, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the collision resolution strategy of this table.
+     *
+     * @return the probing strategy
+     */
+    public Probing probing() {
+        return probing;
+    }
+
+    /**
+     * Removes all items from this table, keeping its capacity.
+     */
+    public void clear() {
+        Arrays.fill(occupied, 0L);
+        size = 0;
+    }
+
+    /**
+     * Checks if the specified index holds an item.
+     *
+     * @param index the index to check
+     * @return true if the slot is occupied
+     */
+    protected boolean isOccupied(int index) {
+        return (occupied[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private void setOccupied(int index) {
+        occupied[index >>> 6] |= 1L << index;
+    }
+
+    private void clearOccupied(int index) {
+        occupied[index >>> 6] &= ~(1L << index);
+    }
+
+    private int distance(int home, int index) {
+        int distance = index - home;
+        return distance < 0 ? distance + capacity : distance;
+    }
+
+    /**
+     * Finds the slot containing the specified key.
+     *
+     * @param key the key to search for
+     * @return the index of the key, or -1 if it is not present
+     */
+    protected int findSlot(long key) {
+        int index = hash(key) % capacity;
+        for (int probe = 0; probe < capacity; probe++) {
+            if (!isOccupied(index)) {
+                return -1;
+            }
+            long resident = keyAt(index);
+            if (resident == key) {
+                return index;
+            }
+            if (probing == Probing.ROBIN_HOOD && distance(hash(resident) % capacity, index) < probe) {
+                return -1;
+            }
+            index = index + 1 == capacity ? 0 : index + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the slot of the key, or reserves a slot for it, growing the table if needed.
+     * <p>
+     * A reserved slot is marked occupied and counted in the size: the caller must store the key (and value) in it.
+     * </p>
+     *
+     * @param key the key to insert
+     * @return the index of the key if it is present, or {@code -(index + 1)} for the reserved slot
+     */
+    protected int findInsertionSlot(long key) {
+        int existing = findSlot(key);
+        if (existing >= 0) {
+            return existing;
+        }
+        return -(reserveAbsent(key) + 1);
+    }
+
+    /**
+     * Reserves a slot for a key known to be absent, growing the table if needed.
+     * The slot is marked occupied and counted in the size: the caller must store the key (and value) in it.
+     *
+     * @param key the absent key
+     * @return the reserved slot
+     */
+    protected int reserveAbsent(long key) {
+        if (size >= capacity * maxLoadFactor) {
+            grow();
+        }
+        int index = insertionSlotOfAbsent(key);
+        size++;
+        return index;
+    }
+
+    /**
+     * Reserves the slot of a key known to be absent, without changing the size:
+     * the first free slot in LINEAR mode, the first slot of an item closer to its home in ROBIN_HOOD mode,
+     * after shifting the rest of the cluster forward.
+     *
+     * @param key the absent key
+     * @return the reserved slot, marked occupied
+     */
+    protected int insertionSlotOfAbsent(long key) {
+        int index = hash(key) % capacity;
+        for (int probe = 0; probe < capacity; probe++) {
+            if (!isOccupied(index)) {
+                setOccupied(index);
+                return index;
+            }
+            if (probing == Probing.ROBIN_HOOD && distance(hash(keyAt(index)) % capacity, index) < probe) {
+                shiftForward(index);
+                return index;
+            }
+            index = index + 1 == capacity ? 0 : index + 1;
+        }
+        throw new IllegalStateException("The hash table is full");
+    }
+
+    /**
+     * Moves the items from the index to the next free slot one slot forward; the index stays occupied.
+     */
+    private void shiftForward(int index) {
+        int free = index;
+        do {
+            free = free + 1 == capacity ? 0 : free + 1;
+            if (free == index) {
+                throw new IllegalStateException("The hash table is full");
+            }
+        } while (isOccupied(free));
+        setOccupied(free);
+        while (free != index) {
+            int previous = free == 0 ? capacity - 1 : free - 1;
+            move(previous, free);
+            free = previous;
+        }
+    }
+
+    /**
+     * Removes the item at the specified index, shifting back the following items of its cluster.
+     *
+     * @param index the index of the item to remove
+     */
+    protected void removeAtIndex(int index) {
+        int hole = index;
+        int next = index + 1 == capacity ? 0 : index + 1;
+        while (isOccupied(next)) {
+            int home = hash(keyAt(next)) % capacity;
+            boolean shift = probing == Probing.ROBIN_HOOD
+                    ? home != next
+                    // algorithm R: the item can fill the hole unless its home is cyclically in (hole, next]
+                    : distance(home, next) >= distance(hole, next);
+            if (shift) {
+                move(next, hole);
+                hole = next;
+            } else if (probing == Probing.ROBIN_HOOD) {
+                break;
+            }
+            next = next + 1 == capacity ? 0 : next + 1;
+        }
+        clearOccupied(hole);
+        size--;
+    }
+
+    /**
+     * Grows the capacity of the hash table and reinserts all the items, reporting a {@link obp3.jfr.TableResizeEvent}.
+     */
+    protected void grow() {
+        FlightEvents.recordResize(this, capacity, size, () -> {
+            rehash(capacity * growthFactor);
+            return capacity;
+        });
+    }
+
+    /**
+     * Sets the capacity and clears the occupancy bitmap, the first step of {@link #rehash(int)}.
+     *
+     * @param newCapacity the new capacity
+     * @return the old occupancy bitmap
+     */
+    protected long[] resetSlots(int newCapacity) {
+        long[] oldOccupied = occupied;
+        capacity = newCapacity;
+        occupied = new long[(newCapacity + 63) >>> 6];
+        return oldOccupied;
+    }
+
+    /**
+     * Tests a bit of an occupancy bitmap returned by {@link #resetSlots(int)}.
+     */
+    protected static boolean isOccupied(long[] bitmap, int index) {
+        return (bitmap[index >>> 6] & (1L << index)) != 0;
+    }
+}
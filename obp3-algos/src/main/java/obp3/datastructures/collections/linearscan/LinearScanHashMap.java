@@ -96,6 +96,30 @@ public class LinearScanHashMap<K, V> extends AbstractLinearProbingTable<K> imple
         super(capacity, hashable, 0.667, 2);
     }
 
+    /**
+     * Constructs a new LinearScanHashMap with the specified capacity, hashable instance and probing strategy,
+     * at the default load factor of the strategy (0.9 for {@link Probing#ROBIN_HOOD}).
+     *
+     * @param capacity the initial capacity of the hash map
+     * @param hashable the hashable instance for computing hash codes and equality
+     * @param probing  the collision resolution strategy
+     */
+    public LinearScanHashMap(int capacity, Hashable<K> hashable, Probing probing) {
+        this(capacity, hashable, probing, false);
+    }
+
+    /**
+     * Constructs a new LinearScanHashMap with the specified capacity, hashable instance, probing strategy and resize policy.
+     *
+     * @param capacity          the initial capacity of the hash map
+     * @param hashable          the hashable instance for computing hash codes and equality
+     * @param probing           the collision resolution strategy
+     * @param incrementalResize true to spread the migration of a growth over the next operations
+     */
+    public LinearScanHashMap(int capacity, Hashable<K> hashable, Probing probing, boolean incrementalResize) {
+        super(capacity, hashable, probing.defaultLoadFactor(), 2, probing, incrementalResize);
+    }
+
     /**
      * Constructs a new LinearScanHashMap with default hash and equality functions.
      *
@@ -206,8 +230,7 @@ public class LinearScanHashMap<K, V> extends AbstractLinearProbingTable<K> imple
 
     @Override
     public void clear() {
-        Arrays.fill(items, EMPTY);
-        size = 0;
+        super.clear();
     }
 
     @Override
@@ -218,6 +241,7 @@ public class LinearScanHashMap<K, V> extends AbstractLinearProbingTable<K> imple
     @Override
     @SuppressWarnings("unchecked")
     public boolean containsValue(Object value) {
+        completeResize();
         for (int i = 0; i < capacity; i++) {
             if (isActiveSlot(i)) {
                 MapEntry<K, V> entry = (MapEntry<K, V>) items[i];
@@ -232,6 +256,7 @@ public class LinearScanHashMap<K, V> extends AbstractLinearProbingTable<K> imple
     @Override
     @SuppressWarnings("unchecked")
     public Set<K> keySet() {
+        completeResize();
         Set<K> keys = new HashSet<>();
         for (int i = 0; i < capacity; i++) {
             if (isActiveSlot(i)) {
@@ -245,6 +270,7 @@ public class LinearScanHashMap<K, V> extends AbstractLinearProbingTable<K> imple
     @Override
     @SuppressWarnings("unchecked")
     public Collection<V> values() {
+        completeResize();
         List<V> vals = new ArrayList<>(size);
         for (int i = 0; i < capacity; i++) {
             if (isActiveSlot(i)) {
@@ -258,6 +284,7 @@ public class LinearScanHashMap<K, V> extends AbstractLinearProbingTable<K> imple
     @Override
     @SuppressWarnings("unchecked")
     public Set<Map.Entry<K, V>> entrySet() {
+        completeResize();
         Set<Map.Entry<K, V>> entries = new HashSet<>();
         for (int i = 0; i < capacity; i++) {
             if (isActiveSlot(i)) {
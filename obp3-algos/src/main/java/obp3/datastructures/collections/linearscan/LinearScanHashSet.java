@@ -106,6 +106,30 @@ public class LinearScanHashSet<K> extends AbstractLinearProbingTable<K> implemen
         super(capacity, hashable, 0.667, 2);
     }
 
+    /**
+     * Constructs a new LinearScanHashSet with the specified capacity, hashable instance and probing strategy,
+     * at the default load factor of the strategy (0.9 for {@link Probing#ROBIN_HOOD}).
+     *
+     * @param capacity the initial capacity of the hash set
+     * @param hashable the hashable instance for computing hash codes and equality
+     * @param probing  the collision resolution strategy
+     */
+    public LinearScanHashSet(int capacity, Hashable<K> hashable, Probing probing) {
+        this(capacity, hashable, probing, false);
+    }
+
+    /**
+     * Constructs a new LinearScanHashSet with the specified capacity, hashable instance, probing strategy and resize policy.
+     *
+     * @param capacity          the initial capacity of the hash set
+     * @param hashable          the hashable instance for computing hash codes and equality
+     * @param probing           the collision resolution strategy
+     * @param incrementalResize true to spread the migration of a growth over the next operations
+     */
+    public LinearScanHashSet(int capacity, Hashable<K> hashable, Probing probing, boolean incrementalResize) {
+        super(capacity, hashable, probing.defaultLoadFactor(), 2, probing, incrementalResize);
+    }
+
     /**
      * Constructs a new LinearScanHashSet with default hash and equality functions.
      *
@@ -207,6 +231,7 @@ public class LinearScanHashSet<K> extends AbstractLinearProbingTable<K> implemen
 
     @Override
     public Iterator<K> iterator() {
+        completeResize();
         return new Iterator<K>() {
             private int currentIndex = 0;
             private int itemsReturned = 0;
@@ -242,6 +267,7 @@ public class LinearScanHashSet<K> extends AbstractLinearProbingTable<K> implemen
 
     @Override
     public Object[] toArray() {
+        completeResize();
         Object[] result = new Object[size];
         int index = 0;
         for (int i = 0; i < capacity && index < size; i++) {
@@ -288,13 +314,13 @@ public class LinearScanHashSet<K> extends AbstractLinearProbingTable<K> implemen
 
     @Override
     public boolean retainAll(Collection<?> c) {
+        completeResize();
         boolean modified = false;
         for (int i = 0; i < capacity; i++) {
-            if (isActiveSlot(i)) {
-                if (!c.contains(items[i])) {
-                    removeAtIndex(i);
-                    modified = true;
-                }
+            // with backward-shift deletion, the next item may move into the removed slot
+            while (isActiveSlot(i) && !c.contains(items[i])) {
+                removeAtIndex(i);
+                modified = true;
             }
         }
         return modified;
@@ -0,0 +1,180 @@
+package obp3.datastructures.collections.linearscan;
+
+import obp3.datastructures.collections.linearscan.AbstractLinearProbingTable.Probing;
+
+import java.util.function.LongToIntFunction;
+
+/**
+ * A map from long keys to int values without boxing, with the probing policy of {@link LinearScanHashMap}.
+ * <p>
+ * The keys and values are stored in two parallel arrays, next to an occupancy bitmap
+ * (see {@link AbstractPrimitiveProbingTable}), so every long is a valid key.
+ * The absence of a mapping is reported with the {@link #missingValue()} given at construction, -1 by default,
+ * which suits the maps from state fingerprints to state ids.
+ * </p>
+ */
+public class LinearScanLongIntMap extends AbstractPrimitiveProbingTable {
+    private long[] keys;
+    private int[] values;
+    private final int missingValue;
+
+    /**
+     * A consumer of the entries of the map.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, int value);
+    }
+
+    /**
+     * Constructs a new LinearScanLongIntMap with plain linear probing, reporting -1 for the missing keys.
+     *
+     * @param capacity the initial capacity of the map
+     */
+    public LinearScanLongIntMap(int capacity) {
+        this(capacity, -1, Probing.LINEAR);
+    }
+
+    /**
+     * Constructs a new LinearScanLongIntMap, at the default load factor of the probing strategy.
+     *
+     * @param capacity     the initial capacity of the map
+     * @param missingValue the value returned for the missing keys
+     * @param probing      the collision resolution strategy
+     */
+    public LinearScanLongIntMap(int capacity, int missingValue, Probing probing) {
+        super(capacity, probing.defaultLoadFactor(), 2, probing);
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.missingValue = missingValue;
+    }
+
+    /**
+     * @return the value returned for the missing keys
+     */
+    public int missingValue() {
+        return missingValue;
+    }
+
+    @Override
+    protected long keyAt(int index) {
+        return keys[index];
+    }
+
+    @Override
+    protected void move(int from, int to) {
+        keys[to] = keys[from];
+        values[to] = values[from];
+    }
+
+    @Override
+    protected void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        int oldCapacity = capacity;
+        long[] oldOccupied = resetSlots(newCapacity);
+        keys = new long[newCapacity];
+        values = new int[newCapacity];
+        for (int i = 0; i < oldCapacity; i++) {
+            if (isOccupied(oldOccupied, i)) {
+                int index = insertionSlotOfAbsent(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Associates the value with the key.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the previous value of the key, or {@link #missingValue()} if there was none
+     */
+    public int put(long key, int value) {
+        int slot = findInsertionSlot(key);
+        if (slot >= 0) {
+            int oldValue = values[slot];
+            values[slot] = value;
+            return oldValue;
+        }
+        keys[-(slot + 1)] = key;
+        values[-(slot + 1)] = value;
+        return missingValue;
+    }
+
+    /**
+     * Returns the value of the key, computing and storing it if the key is missing.
+     * A state-id map numbers the new states with {@code map.computeIfAbsent(fingerprint, k -> map.size())}.
+     *
+     * @param key      the key
+     * @param function computes the value of a missing key; it must not modify this map
+     * @return the value of the key
+     */
+    public int computeIfAbsent(long key, LongToIntFunction function) {
+        int existing = findSlot(key);
+        if (existing >= 0) {
+            return values[existing];
+        }
+        int value = function.applyAsInt(key);
+        int index = reserveAbsent(key);
+        keys[index] = key;
+        values[index] = value;
+        return value;
+    }
+
+    /**
+     * @param key the key
+     * @return the value of the key, or {@link #missingValue()} if it is missing
+     */
+    public int get(long key) {
+        return getOrDefault(key, missingValue);
+    }
+
+    /**
+     * @param key          the key
+     * @param defaultValue the value returned if the key is missing
+     * @return the value of the key, or the default value if it is missing
+     */
+    public int getOrDefault(long key, int defaultValue) {
+        int index = findSlot(key);
+        return index >= 0 ? values[index] : defaultValue;
+    }
+
+    /**
+     * @param key the key
+     * @return true if the key has a value
+     */
+    public boolean containsKey(long key) {
+        return findSlot(key) >= 0;
+    }
+
+    /**
+     * Removes the mapping of the key.
+     *
+     * @param key the key
+     * @return the value of the key, or {@link #missingValue()} if it was missing
+     */
+    public int remove(long key) {
+        int index = findSlot(key);
+        if (index < 0) {
+            return missingValue;
+        }
+        int oldValue = values[index];
+        removeAtIndex(index);
+        return oldValue;
+    }
+
+    /**
+     * Calls the action on each entry of this map, in slot order.
+     *
+     * @param action the action to perform on each entry
+     */
+    public void forEach(EntryConsumer action) {
+        for (int i = 0; i < capacity; i++) {
+            if (isOccupied(i)) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package obp3.datastructures.collections.linearscan;
+
+import obp3.datastructures.collections.linearscan.AbstractLinearProbingTable.Probing;
+
+import java.util.function.LongConsumer;
+
+/**
+ * A set of long values without boxing, with the probing policy of {@link LinearScanHashSet}.
+ * <p>
+ * The values are stored in a long array, next to an occupancy bitmap (see {@link AbstractPrimitiveProbingTable}),
+ * so every long is a valid element. Meant for the fingerprint stores of the traversals.
+ * </p>
+ */
+public class LinearScanLongSet extends AbstractPrimitiveProbingTable {
+    private long[] keys;
+
+    /**
+     * Constructs a new LinearScanLongSet with plain linear probing.
+     *
+     * @param capacity the initial capacity of the set
+     */
+    public LinearScanLongSet(int capacity) {
+        this(capacity, Probing.LINEAR);
+    }
+
+    /**
+     * Constructs a new LinearScanLongSet, at the default load factor of the probing strategy.
+     *
+     * @param capacity the initial capacity of the set
+     * @param probing  the collision resolution strategy
+     */
+    public LinearScanLongSet(int capacity, Probing probing) {
+        super(capacity, probing.defaultLoadFactor(), 2, probing);
+        this.keys = new long[capacity];
+    }
+
+    @Override
+    protected long keyAt(int index) {
+        return keys[index];
+    }
+
+    @Override
+    protected void move(int from, int to) {
+        keys[to] = keys[from];
+    }
+
+    @Override
+    protected void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        int oldCapacity = capacity;
+        long[] oldOccupied = resetSlots(newCapacity);
+        keys = new long[newCapacity];
+        for (int i = 0; i < oldCapacity; i++) {
+            if (isOccupied(oldOccupied, i)) {
+                keys[insertionSlotOfAbsent(oldKeys[i])] = oldKeys[i];
+            }
+        }
+    }
+
+    /**
+     * Adds the value to this set if it is not already present.
+     *
+     * @param value the value to add
+     * @return true if the value was added
+     */
+    public boolean add(long value) {
+        int slot = findInsertionSlot(value);
+        if (slot >= 0) {
+            return false;
+        }
+        keys[-(slot + 1)] = value;
+        return true;
+    }
+
+    /**
+     * @param value the value to look up
+     * @return true if the value is in this set
+     */
+    public boolean contains(long value) {
+        return findSlot(value) >= 0;
+    }
+
+    /**
+     * Removes the value from this set.
+     *
+     * @param value the value to remove
+     * @return true if the value was present
+     */
+    public boolean remove(long value) {
+        int index = findSlot(value);
+        if (index < 0) {
+            return false;
+        }
+        removeAtIndex(index);
+        return true;
+    }
+
+    /**
+     * Calls the action on each value of this set, in slot order.
+     *
+     * @param action the action to perform on each value
+     */
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < capacity; i++) {
+            if (isOccupied(i)) {
+                action.accept(keys[i]);
+            }
+        }
+    }
+
+    /**
+     * @return the values of this set, in slot order
+     */
+    public long[] toArray() {
+        long[] result = new long[size];
+        int index = 0;
+        for (int i = 0; i < capacity && index < size; i++) {
+            if (isOccupied(i)) {
+                result[index++] = keys[i];
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,383 @@
+package obp3.datastructures.collections.persistent;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable hash map implemented as a hash array mapped trie (HAMT).
+ * <p>
+ * {@link #plus} and {@link #minus} return a new version of the map in O(log<sub>32</sub> n), sharing all the
+ * untouched nodes with the previous version, instead of copying the whole table.
+ * The versions are values: they can be shared freely between threads and derivations.
+ * </p>
+ * <p>
+ * <b>Structure:</b><br>
+ * • each node consumes 5 bits of the (spread) hash of the keys, from the lowest ones<br>
+ * • a bitmap node stores, for each present 5-bit chunk, either a key and its value or a sub-node<br>
+ * • the keys whose full hashes are equal share a collision node, scanned linearly
+ * </p>
+ * <p>
+ * <b>Null handling:</b><br>
+ * • null keys are rejected<br>
+ * • null is a valid value
+ * </p>
+ * <p>
+ * The {@link Map} mutators throw {@link UnsupportedOperationException}.
+ * </p>
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+public final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+    private static final Object NOT_FOUND = new Object();
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+
+    /**
+     * For each set bit of the bitmap, the pair (key, value) or (null, sub-node) in {@code array}.
+     */
+    record BitmapNode(int bitmap, Object[] array) {}
+
+    /**
+     * The pairs (key, value) of the keys with the same hash.
+     */
+    record CollisionNode(int hash, Object[] array) {}
+
+    private final Object root;
+    private final int size;
+    /**
+     * The cached hash code, 0 while it is not computed: a single field, so that a racy read sees either 0
+     * or the right value (a hash code of 0 is just computed again).
+     */
+    private int hashCode;
+
+    private PersistentHashMap(Object root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * @return the empty map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * @return the map itself if it is persistent, or a persistent copy
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+        if (map instanceof PersistentHashMap<?, ?> persistent) return (PersistentHashMap<K, V>) persistent;
+        PersistentHashMap<K, V> result = empty();
+        for (var entry : map.entrySet()) {
+            result = result.plus(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    static int spread(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int index(int bitmap, int bit) {
+        return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    /**
+     * @return the map with the key bound to the value, this map if the key is already bound to the same value
+     */
+    public PersistentHashMap<K, V> plus(K key, V value) {
+        Objects.requireNonNull(key, "null keys are not supported");
+        boolean[] added = {false};
+        Object newRoot = root == null
+                ? new BitmapNode(0, new Object[0])
+                : root;
+        newRoot = put(newRoot, 0, spread(key), key, value, added);
+        if (newRoot == root) return this;
+        return new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * @return the map without the key, this map if the key is not bound
+     */
+    public PersistentHashMap<K, V> minus(Object key) {
+        if (root == null || key == null) return this;
+        Object newRoot = remove(root, 0, spread(key), key);
+        if (newRoot == root) return this;
+        return newRoot == null ? empty() : new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        Object value = find(key);
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(Object key, V defaultValue) {
+        Object value = find(key);
+        return value == NOT_FOUND ? defaultValue : (V) value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) != NOT_FOUND;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hashCode;
+        if (h == 0) {
+            hashCode = h = super.hashCode();
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof PersistentHashMap<?, ?> other && other.root == root) return true;
+        if (o instanceof PersistentHashMap<?, ?> other) {
+            int h = hashCode, otherH = other.hashCode;
+            if (h != 0 && otherH != 0 && h != otherH) return false;
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (root != null) forEach(root, (BiConsumer<Object, Object>) action);
+    }
+
+    private static void forEach(Object node, BiConsumer<Object, Object> action) {
+        Object[] array = node instanceof BitmapNode bitmap ? bitmap.array() : ((CollisionNode) node).array();
+        for (int i = 0; i < array.length; i += 2) {
+            if (array[i] == null) forEach(array[i + 1], action);
+            else action.accept(array[i], array[i + 1]);
+        }
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private Object find(Object key) {
+        if (root == null || key == null) return NOT_FOUND;
+        int hash = spread(key);
+        Object node = root;
+        int shift = 0;
+        while (true) {
+            if (node instanceof BitmapNode(int bitmap, Object[] array)) {
+                int bit = 1 << ((hash >>> shift) & 31);
+                if ((bitmap & bit) == 0) return NOT_FOUND;
+                int i = 2 * index(bitmap, bit);
+                Object k = array[i];
+                if (k == null) {
+                    node = array[i + 1];
+                    shift += 5;
+                    continue;
+                }
+                return key.equals(k) ? array[i + 1] : NOT_FOUND;
+            }
+            var collision = (CollisionNode) node;
+            if (collision.hash() != hash) return NOT_FOUND;
+            Object[] array = collision.array();
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) return array[i + 1];
+            }
+            return NOT_FOUND;
+        }
+    }
+
+    private static Object put(Object node, int shift, int hash, Object key, Object value, boolean[] added) {
+        if (node instanceof CollisionNode collision) {
+            if (collision.hash() != hash) {
+                //nest the collision node in a bitmap node of this level, and insert beside it
+                int bit = 1 << ((collision.hash() >>> shift) & 31);
+                return put(new BitmapNode(bit, new Object[]{null, collision}), shift, hash, key, value, added);
+            }
+            Object[] array = collision.array();
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    if (array[i + 1] == value) return node;
+                    return new CollisionNode(hash, with(array, i + 1, value));
+                }
+            }
+            added[0] = true;
+            Object[] larger = Arrays.copyOf(array, array.length + 2);
+            larger[array.length] = key;
+            larger[array.length + 1] = value;
+            return new CollisionNode(hash, larger);
+        }
+        var bitmapNode = (BitmapNode) node;
+        int bitmap = bitmapNode.bitmap();
+        Object[] array = bitmapNode.array();
+        int bit = 1 << ((hash >>> shift) & 31);
+        int i = 2 * index(bitmap, bit);
+        if ((bitmap & bit) == 0) {
+            added[0] = true;
+            Object[] larger = new Object[array.length + 2];
+            System.arraycopy(array, 0, larger, 0, i);
+            larger[i] = key;
+            larger[i + 1] = value;
+            System.arraycopy(array, i, larger, i + 2, array.length - i);
+            return new BitmapNode(bitmap | bit, larger);
+        }
+        Object k = array[i];
+        Object v = array[i + 1];
+        if (k == null) {
+            Object sub = put(v, shift + 5, hash, key, value, added);
+            return sub == v ? node : new BitmapNode(bitmap, with(array, i + 1, sub));
+        }
+        if (key.equals(k)) {
+            return v == value ? node : new BitmapNode(bitmap, with(array, i + 1, value));
+        }
+        added[0] = true;
+        Object sub = pair(shift + 5, k, v, hash, key, value);
+        Object[] split = with(array, i + 1, sub);
+        split[i] = null;
+        return new BitmapNode(bitmap, split);
+    }
+
+    /** @return the node holding the two bindings, of different keys */
+    private static Object pair(int shift, Object k1, Object v1, int h2, Object k2, Object v2) {
+        int h1 = spread(k1);
+        if (h1 == h2) return new CollisionNode(h1, new Object[]{k1, v1, k2, v2});
+        int chunk1 = (h1 >>> shift) & 31;
+        int chunk2 = (h2 >>> shift) & 31;
+        int bit1 = 1 << chunk1;
+        int bit2 = 1 << chunk2;
+        if (chunk1 == chunk2) {
+            return new BitmapNode(bit1, new Object[]{null, pair(shift + 5, k1, v1, h2, k2, v2)});
+        }
+        return chunk1 < chunk2
+                ? new BitmapNode(bit1 | bit2, new Object[]{k1, v1, k2, v2})
+                : new BitmapNode(bit1 | bit2, new Object[]{k2, v2, k1, v1});
+    }
+
+    /** @return the node without the key, null if it becomes empty */
+    private static Object remove(Object node, int shift, int hash, Object key) {
+        if (node instanceof CollisionNode collision) {
+            if (collision.hash() != hash) return node;
+            Object[] array = collision.array();
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    if (array.length == 2) return null;
+                    return new CollisionNode(hash, without(array, i));
+                }
+            }
+            return node;
+        }
+        var bitmapNode = (BitmapNode) node;
+        int bitmap = bitmapNode.bitmap();
+        Object[] array = bitmapNode.array();
+        int bit = 1 << ((hash >>> shift) & 31);
+        if ((bitmap & bit) == 0) return node;
+        int i = 2 * index(bitmap, bit);
+        Object k = array[i];
+        if (k == null) {
+            Object sub = remove(array[i + 1], shift + 5, hash, key);
+            if (sub == array[i + 1]) return node;
+            if (sub != null) return new BitmapNode(bitmap, with(array, i + 1, sub));
+        } else if (!key.equals(k)) {
+            return node;
+        }
+        if (bitmap == bit) return null;
+        return new BitmapNode(bitmap ^ bit, without(array, i));
+    }
+
+    private static Object[] with(Object[] array, int i, Object value) {
+        Object[] copy = array.clone();
+        copy[i] = value;
+        return copy;
+    }
+
+    private static Object[] without(Object[] array, int i) {
+        Object[] smaller = new Object[array.length - 2];
+        System.arraycopy(array, 0, smaller, 0, i);
+        System.arraycopy(array, i + 2, smaller, i, array.length - i - 2);
+        return smaller;
+    }
+
+    /**
+     * A depth-first iteration over the trie, with an explicit stack of the node arrays being scanned.
+     */
+    private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+        private Object[][] arrays = new Object[8][];
+        private int[] positions = new int[8];
+        private int depth = -1;
+        private Entry<K, V> next;
+
+        EntryIterator(Object root) {
+            if (root != null) push(root);
+            advance();
+        }
+
+        private void push(Object node) {
+            if (++depth == arrays.length) {
+                arrays = Arrays.copyOf(arrays, depth * 2);
+                positions = Arrays.copyOf(positions, depth * 2);
+            }
+            arrays[depth] = node instanceof BitmapNode bitmap ? bitmap.array() : ((CollisionNode) node).array();
+            positions[depth] = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (depth >= 0) {
+                Object[] array = arrays[depth];
+                int i = positions[depth];
+                if (i == array.length) {
+                    arrays[depth--] = null;
+                    continue;
+                }
+                positions[depth] = i + 2;
+                if (array[i] == null) {
+                    push(array[i + 1]);
+                    continue;
+                }
+                next = new SimpleImmutableEntry<>((K) array[i], (V) array[i + 1]);
+                return;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (next == null) throw new NoSuchElementException();
+            var result = next;
+            advance();
+            return result;
+        }
+    }
+}
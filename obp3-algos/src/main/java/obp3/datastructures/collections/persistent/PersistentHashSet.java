@@ -0,0 +1,124 @@
+package obp3.datastructures.collections.persistent;
+
+import java.util.*;
+
+/**
+ * An immutable hash set, backed by a {@link PersistentHashMap} binding each element to itself.
+ * <p>
+ * {@link #plus}, {@link #minus} and {@link #union} return new versions sharing structure with this one.
+ * The {@link Set} mutators throw {@link UnsupportedOperationException}.
+ * </p>
+ *
+ * @param <E> the type of elements maintained by this set
+ */
+public final class PersistentHashSet<E> extends AbstractSet<E> {
+    private static final PersistentHashSet<?> EMPTY = new PersistentHashSet<>(PersistentHashMap.empty());
+
+    private final PersistentHashMap<E, E> map;
+    /**
+     * The cached hash code, 0 while it is not computed: a single field, so that a racy read sees either 0
+     * or the right value (a hash code of 0 is just computed again).
+     */
+    private int hashCode;
+
+    private PersistentHashSet(PersistentHashMap<E, E> map) {
+        this.map = map;
+    }
+
+    /**
+     * @return the empty set
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentHashSet<E> empty() {
+        return (PersistentHashSet<E>) EMPTY;
+    }
+
+    /**
+     * @return the collection itself if it is a persistent set, or a persistent copy
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentHashSet<E> copyOf(Collection<? extends E> elements) {
+        if (elements instanceof PersistentHashSet<?> persistent) return (PersistentHashSet<E>) persistent;
+        PersistentHashSet<E> result = empty();
+        for (E element : elements) {
+            result = result.plus(element);
+        }
+        return result;
+    }
+
+    /**
+     * @return the set with the element, this set if it is already there
+     */
+    public PersistentHashSet<E> plus(E element) {
+        var newMap = map.containsKey(element) ? map : map.plus(element, element);
+        return newMap == map ? this : new PersistentHashSet<>(newMap);
+    }
+
+    /**
+     * @return the set without the element, this set if it is not there
+     */
+    public PersistentHashSet<E> minus(Object element) {
+        var newMap = map.minus(element);
+        return newMap == map ? this : new PersistentHashSet<>(newMap);
+    }
+
+    /**
+     * Adds the elements of the smaller set to the larger one, so that the larger one is shared.
+     *
+     * @return the union of the two sets
+     */
+    public PersistentHashSet<E> union(Collection<? extends E> other) {
+        if (other instanceof PersistentHashSet<? extends E> persistent && persistent.size() > size()) {
+            @SuppressWarnings("unchecked")
+            var larger = (PersistentHashSet<E>) persistent;
+            return larger.unionOf(this);
+        }
+        return unionOf(other);
+    }
+
+    private PersistentHashSet<E> unionOf(Collection<? extends E> other) {
+        var result = this;
+        for (E element : other) {
+            result = result.plus(element);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return map.containsKey(o);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return map.keySet().iterator();
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hashCode;
+        if (h == 0) {
+            hashCode = h = super.hashCode();
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof PersistentHashSet<?> other) {
+            int h = hashCode, otherH = other.hashCode;
+            if (h != 0 && otherH != 0 && h != otherH) return false;
+        }
+        return super.equals(o);
+    }
+}
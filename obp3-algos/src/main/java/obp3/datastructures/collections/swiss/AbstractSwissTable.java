@@ -0,0 +1,310 @@
+package obp3.datastructures.collections.swiss;
+
+import obp3.utils.Hashable;
+
+import java.util.Arrays;
+
+/**
+ * Abstract base class for the open-addressing hash tables probing groups of slots (the SwissTable design).
+ * <p>
+ * The hash of a key is split in two: the high bits (H1) select the first probe group,
+ * and the 7 low bits (H2) are the fingerprint of the key, stored in a control byte per slot.
+ * A search compares the 16 control bytes of a group with the fingerprint at once (see {@link GroupMatcher}),
+ * and only calls the key equality on the slots whose fingerprint and cached hash both match.
+ * </p>
+ * <p>
+ * <b>Control bytes:</b>
+ * </p>
+ * <ul>
+ * <li>EMPTY (0x80): the slot was never used since the last rehash</li>
+ * <li>DELETED (0xFE): a tombstone, skipped by the searches and reused by the insertions</li>
+ * <li>0x00 to 0x7F: the slot is full, the byte is the fingerprint of its key</li>
+ * </ul>
+ * <p>
+ * <b>Invariants:</b>
+ * </p>
+ * <ul>
+ * <li>The capacity is a power of two, at least one group; the groups are aligned on multiples of 16</li>
+ * <li>The groups are probed in triangular order, which visits each of them once</li>
+ * <li>A search stops at the first group with an EMPTY slot</li>
+ * <li>A removed slot becomes EMPTY if its group already has an EMPTY slot (no search goes past that group),
+ * DELETED otherwise</li>
+ * <li>(size + tombstones) / capacity ≤ 7/8; the table doubles when it is half full,
+ * otherwise it is rehashed in place to drop the tombstones</li>
+ * <li>Rehashing reuses the cached hashes, the keys are not hashed again</li>
+ * </ul>
+ * <p>
+ * Null keys are supported, the control bytes tell the full slots apart.
+ * </p>
+ *
+ * @param <K> the type of keys used for hashing and lookup
+ */
+public abstract class AbstractSwissTable<K> {
+    static final byte EMPTY = (byte) 0x80;
+    static final byte DELETED = (byte) 0xFE;
+    static final int GROUP_SIZE = GroupMatcher.GROUP_SIZE;
+
+    /**
+     * The group comparisons, vectorized if the platform allows it.
+     */
+    private final GroupMatcher matcher;
+
+    /**
+     * Hashable instance for computing hash codes and testing key equality.
+     */
+    protected final Hashable<K> hashable;
+
+    /**
+     * The control byte of each slot.
+     */
+    protected byte[] control;
+
+    /**
+     * Internal array storing the items (elements or entries), meaningful for the full slots only.
+     */
+    protected Object[] items;
+
+    /**
+     * The hash of the key of each full slot.
+     */
+    protected int[] hashes;
+
+    /**
+     * Current capacity of the hash table, a power of two.
+     */
+    protected int capacity;
+
+    /**
+     * Number of items in the table.
+     */
+    protected int size;
+
+    /**
+     * Number of DELETED slots.
+     */
+    protected int tombstones;
+
+    /**
+     * Constructs a new table, with the best {@link GroupMatcher} of the platform.
+     *
+     * @param capacity the initial capacity, rounded up to a power of two of at least 16
+     * @param hashable the hashable instance for computing hash codes and equality
+     */
+    protected AbstractSwissTable(int capacity, Hashable<K> hashable) {
+        this(capacity, hashable, GroupMatcher.best());
+    }
+
+    AbstractSwissTable(int capacity, Hashable<K> hashable, GroupMatcher matcher) {
+        this.hashable = hashable;
+        this.matcher = matcher;
+        allocate(Math.max(GROUP_SIZE, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1));
+    }
+
+    private void allocate(int newCapacity) {
+        capacity = newCapacity;
+        control = new byte[newCapacity];
+        Arrays.fill(control, EMPTY);
+        items = new Object[newCapacity];
+        hashes = new int[newCapacity];
+        tombstones = 0;
+    }
+
+    /**
+     * Extracts the key from a stored item.
+     *
+     * @param item the stored item of a full slot
+     * @return the key associated with this item
+     */
+    protected abstract K extractKey(Object item);
+
+    /**
+     * Returns the number of items in this table.
+     *
+     * @return the number of items
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the current capacity of the underlying arrays.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns true if this table contains no items.
+     *
+     * @return true if size is 0, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all items from this table, keeping its capacity.
+     */
+    public void clear() {
+        Arrays.fill(control, EMPTY);
+        Arrays.fill(items, null);
+        size = 0;
+        tombstones = 0;
+    }
+
+    /**
+     * Checks if the specified index holds an item.
+     *
+     * @param index the index to check
+     * @return true if the slot is full
+     */
+    protected boolean isFullSlot(int index) {
+        return control[index] >= 0;
+    }
+
+    /**
+     * Spreads the hash, so that H1 and H2 both depend on all its bits.
+     */
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 15);
+    }
+
+    private static byte fingerprint(int hash) {
+        return (byte) (hash & 0x7F);
+    }
+
+    private int firstGroup(int hash) {
+        return (hash >>> 7) & (capacity / GROUP_SIZE - 1);
+    }
+
+    /**
+     * Finds the slot containing the specified key.
+     *
+     * @param key the key to search for
+     * @return the index of the key, or -1 if it is not present
+     */
+    protected int findSlot(K key) {
+        return findSlot(key, spread(hashable.hash(key)));
+    }
+
+    private int findSlot(K key, int hash) {
+        byte fingerprint = fingerprint(hash);
+        int groupMask = capacity / GROUP_SIZE - 1;
+        int group = firstGroup(hash);
+        for (int probe = 1; probe <= groupMask + 1; probe++) {
+            int offset = group * GROUP_SIZE;
+            for (int match = matcher.match(control, offset, fingerprint); match != 0; match &= match - 1) {
+                int index = offset + Integer.numberOfTrailingZeros(match);
+                if (hashes[index] == hash && hashable.equal(key, extractKey(items[index]))) {
+                    return index;
+                }
+            }
+            if (matcher.matchEmpty(control, offset) != 0) {
+                return -1;
+            }
+            group = (group + probe) & groupMask;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the slot of the key, or reserves a slot for it.
+     * <p>
+     * A reserved slot is counted in the size and has its control byte and hash set:
+     * the caller must store the item in it.
+     * </p>
+     *
+     * @param key the key to insert
+     * @return the index of the key if it is present, or {@code -(index + 1)} for the reserved slot
+     */
+    protected int findInsertionSlot(K key) {
+        int hash = spread(hashable.hash(key));
+        int existing = findSlot(key, hash);
+        if (existing >= 0) {
+            return existing;
+        }
+        if (size + tombstones + 1 > capacity - capacity / 8) {
+            // double when half full, otherwise the tombstones are the problem: rehash in place
+            rehash(size + 1 > capacity / 2 ? capacity * 2 : capacity);
+        }
+        int index = availableSlot(hash);
+        if (control[index] == DELETED) {
+            tombstones--;
+        }
+        control[index] = fingerprint(hash);
+        hashes[index] = hash;
+        size++;
+        return -(index + 1);
+    }
+
+    /**
+     * @return the first EMPTY or DELETED slot of the probe sequence of the hash
+     */
+    private int availableSlot(int hash) {
+        int groupMask = capacity / GROUP_SIZE - 1;
+        int group = firstGroup(hash);
+        for (int probe = 1; ; probe++) {
+            int offset = group * GROUP_SIZE;
+            int available = matcher.matchAvailable(control, offset);
+            if (available != 0) {
+                return offset + Integer.numberOfTrailingZeros(available);
+            }
+            group = (group + probe) & groupMask;
+        }
+    }
+
+    /**
+     * Moves the items to new arrays of the given capacity, with their cached hashes, dropping the tombstones.
+     */
+    private void rehash(int newCapacity) {
+        byte[] oldControl = control;
+        Object[] oldItems = items;
+        int[] oldHashes = hashes;
+        int oldCapacity = capacity;
+        allocate(newCapacity);
+        for (int i = 0; i < oldCapacity; i++) {
+            if (oldControl[i] < 0) continue;
+            int hash = oldHashes[i];
+            int index = availableSlot(hash);
+            control[index] = oldControl[i];
+            items[index] = oldItems[i];
+            hashes[index] = hash;
+        }
+    }
+
+    /**
+     * Removes the item at the specified index.
+     *
+     * @param index the index of the item to remove
+     */
+    protected void removeAtIndex(int index) {
+        int offset = index & -GROUP_SIZE;
+        if (matcher.matchEmpty(control, offset) != 0) {
+            control[index] = EMPTY;
+        } else {
+            control[index] = DELETED;
+            tombstones++;
+        }
+        items[index] = null;
+        size--;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder repr = new StringBuilder("capacity=" + capacity + ", size=" + size + " items=[");
+        boolean first = true;
+        for (int i = 0; i < capacity; i++) {
+            if (!isFullSlot(i)) continue;
+            if (!first) {
+                repr.append(", ");
+            }
+            first = false;
+            repr.append(items[i]);
+        }
+        repr.append("]");
+        return repr.toString();
+    }
+}
@@ -0,0 +1,66 @@
+package obp3.datastructures.collections.swiss;
+
+/**
+ * Compares the 16 control bytes of a probe group at once.
+ * <p>
+ * Each method returns a 16-bit mask, bit {@code i} set if slot {@code offset + i} matches.
+ * {@link #best()} selects the {@code VectorGroupMatcher} when the {@code jdk.incubator.vector} module is present
+ * (run with {@code --add-modules jdk.incubator.vector}), and the {@link ScalarGroupMatcher} otherwise.
+ * The vector matcher lives in the {@code vector} source set, so it is loaded by name.
+ * </p>
+ */
+interface GroupMatcher {
+    /**
+     * The number of slots of a group.
+     */
+    int GROUP_SIZE = 16;
+
+    /**
+     * @return the mask of the slots whose control byte is the fingerprint
+     */
+    int match(byte[] control, int offset, byte fingerprint);
+
+    /**
+     * @return the mask of the EMPTY slots
+     */
+    int matchEmpty(byte[] control, int offset);
+
+    /**
+     * @return the mask of the EMPTY and DELETED slots, the ones available for an insertion
+     */
+    int matchAvailable(byte[] control, int offset);
+
+    /**
+     * The matcher used by the tables, chosen once.
+     * Set the system property {@code obp3.swiss.vector} to {@code false} to force the scalar one.
+     */
+    static GroupMatcher best() {
+        return Holder.BEST;
+    }
+
+    final class Holder {
+        static final String VECTOR_MATCHER = "obp3.datastructures.collections.swiss.VectorGroupMatcher";
+        static final GroupMatcher BEST = select();
+
+        private Holder() {
+        }
+
+        private static GroupMatcher select() {
+            if (!Boolean.parseBoolean(System.getProperty("obp3.swiss.vector", "true"))) {
+                return new ScalarGroupMatcher();
+            }
+            var vector = ModuleLayer.boot().findModule("jdk.incubator.vector");
+            if (vector.isEmpty()) {
+                return new ScalarGroupMatcher();
+            }
+            //obp.algos does not require the incubator module, read it before linking the vector matcher
+            GroupMatcher.class.getModule().addReads(vector.get());
+            try {
+                return (GroupMatcher) Class.forName(VECTOR_MATCHER).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                //missing or not linkable, e.g. built without the vector source set
+                return new ScalarGroupMatcher();
+            }
+        }
+    }
+}
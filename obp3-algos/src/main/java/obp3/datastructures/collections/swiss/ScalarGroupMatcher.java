@@ -0,0 +1,64 @@
+package obp3.datastructures.collections.swiss;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * The portable {@link GroupMatcher}: a group is read as two longs, and the 8 bytes of each are compared
+ * with word-wide arithmetic (SIMD within a register).
+ */
+final class ScalarGroupMatcher implements GroupMatcher {
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long LOW_7_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+    @Override
+    public int match(byte[] control, int offset, byte fingerprint) {
+        long pattern = LOW_BITS * (fingerprint & 0xFF);
+        return compact(zeroBytes(low(control, offset) ^ pattern))
+                | compact(zeroBytes(high(control, offset) ^ pattern)) << 8;
+    }
+
+    @Override
+    public int matchEmpty(byte[] control, int offset) {
+        return compact(emptyBytes(low(control, offset))) | compact(emptyBytes(high(control, offset))) << 8;
+    }
+
+    @Override
+    public int matchAvailable(byte[] control, int offset) {
+        return compact(low(control, offset) & HIGH_BITS) | compact(high(control, offset) & HIGH_BITS) << 8;
+    }
+
+    private static long low(byte[] control, int offset) {
+        return (long) LONGS.get(control, offset);
+    }
+
+    private static long high(byte[] control, int offset) {
+        return (long) LONGS.get(control, offset + 8);
+    }
+
+    /**
+     * @return the high bit of each zero byte of the word, exactly (no carry crosses the bytes)
+     */
+    private static long zeroBytes(long word) {
+        return ~(((word & LOW_7_BITS) + LOW_7_BITS) | word | LOW_7_BITS);
+    }
+
+    /**
+     * EMPTY (0x80) is the only control byte with the high bit set and the bit 1 clear, DELETED is 0xFE.
+     *
+     * @return the high bit of each EMPTY byte of the word
+     */
+    private static long emptyBytes(long word) {
+        return word & ~(word << 6) & HIGH_BITS;
+    }
+
+    /**
+     * Gathers the high bits of the 8 bytes into the 8 low bits.
+     */
+    private static int compact(long highBits) {
+        return (int) (((highBits >>> 7) * 0x0102040810204080L) >>> 56);
+    }
+}
@@ -0,0 +1,168 @@
+package obp3.datastructures.collections.swiss;
+
+import obp3.utils.Hashable;
+
+import java.util.*;
+
+/**
+ * A hash map probing 16 slots at once, with the same {@link Hashable}-based API as
+ * {@link obp3.datastructures.collections.linearscan.LinearScanHashMap}.
+ * <p>
+ * See {@link AbstractSwissTable} for the layout. Null keys and null values are supported.
+ * </p>
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+public class SwissHashMap<K, V> extends AbstractSwissTable<K> implements Map<K, V> {
+
+    /**
+     * Constructs a new SwissHashMap with the specified capacity and hashable instance.
+     *
+     * @param capacity the initial capacity of the hash map, rounded up to a power of two of at least 16
+     * @param hashable the hashable instance for computing hash codes and equality
+     */
+    public SwissHashMap(int capacity, Hashable<K> hashable) {
+        super(capacity, hashable);
+    }
+
+    /**
+     * Constructs a new SwissHashMap with default hash and equality functions.
+     *
+     * @param capacity the initial capacity of the hash map
+     */
+    public SwissHashMap(int capacity) {
+        this(capacity, Hashable.<K>standard());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected K extractKey(Object item) {
+        return ((MapEntry<K, V>) item).key;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V put(K key, V value) {
+        int slot = findInsertionSlot(key);
+        if (slot >= 0) {
+            MapEntry<K, V> entry = (MapEntry<K, V>) items[slot];
+            V oldValue = entry.value;
+            entry.value = value;
+            return oldValue;
+        }
+        items[-(slot + 1)] = new MapEntry<>(key, value);
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean containsKey(Object key) {
+        return findSlot((K) key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(Object key) {
+        int index = findSlot((K) key);
+        return index >= 0 ? ((MapEntry<K, V>) items[index]).value : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V remove(Object key) {
+        int index = findSlot((K) key);
+        if (index < 0) {
+            return null;
+        }
+        V oldValue = ((MapEntry<K, V>) items[index]).value;
+        removeAtIndex(index);
+        return oldValue;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        for (Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean containsValue(Object value) {
+        for (int i = 0; i < capacity; i++) {
+            if (isFullSlot(i) && Objects.equals(value, ((MapEntry<K, V>) items[i]).value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<K> keySet() {
+        Set<K> keys = new HashSet<>();
+        for (int i = 0; i < capacity; i++) {
+            if (isFullSlot(i)) {
+                keys.add(((MapEntry<K, V>) items[i]).key);
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<V> values() {
+        List<V> vals = new ArrayList<>(size);
+        for (int i = 0; i < capacity; i++) {
+            if (isFullSlot(i)) {
+                vals.add(((MapEntry<K, V>) items[i]).value);
+            }
+        }
+        return vals;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<Map.Entry<K, V>> entrySet() {
+        Set<Map.Entry<K, V>> entries = new HashSet<>();
+        for (int i = 0; i < capacity; i++) {
+            if (isFullSlot(i)) {
+                MapEntry<K, V> entry = (MapEntry<K, V>) items[i];
+                entries.add(new AbstractMap.SimpleEntry<>(entry.key, entry.value));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Internal class to store key-value pairs.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    private static class MapEntry<K, V> {
+        final K key;
+        V value;
+
+        MapEntry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return "{key: " + key + ", value: " + value + "}";
+        }
+    }
+}
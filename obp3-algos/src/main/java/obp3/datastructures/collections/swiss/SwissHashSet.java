@@ -0,0 +1,221 @@
+package obp3.datastructures.collections.swiss;
+
+import obp3.utils.Hashable;
+
+import java.util.*;
+
+/**
+ * A hash set probing 16 slots at once, with the same {@link Hashable}-based API as
+ * {@link obp3.datastructures.collections.linearscan.LinearScanHashSet}, to be used as the known set of the traversals.
+ * <p>
+ * See {@link AbstractSwissTable} for the layout. The membership checks first compare the 7-bit fingerprints
+ * of a whole group, then the cached hashes, and call the equality of the {@link Hashable} only on a full match,
+ * so a lookup usually costs one group comparison and one key equality.
+ * </p>
+ * <p>
+ * Null elements are supported. The iterator supports {@link Iterator#remove()}.
+ * </p>
+ *
+ * @param <K> the type of elements maintained by this set
+ */
+public class SwissHashSet<K> extends AbstractSwissTable<K> implements Set<K> {
+
+    /**
+     * Constructs a new SwissHashSet with the specified capacity and hashable instance.
+     *
+     * @param capacity the initial capacity of the hash set, rounded up to a power of two of at least 16
+     * @param hashable the hashable instance for computing hash codes and equality
+     */
+    public SwissHashSet(int capacity, Hashable<K> hashable) {
+        super(capacity, hashable);
+    }
+
+    /**
+     * Constructs a new SwissHashSet with default hash and equality functions.
+     *
+     * @param capacity the initial capacity of the hash set
+     */
+    public SwissHashSet(int capacity) {
+        this(capacity, Hashable.<K>standard());
+    }
+
+    SwissHashSet(int capacity, Hashable<K> hashable, GroupMatcher matcher) {
+        super(capacity, hashable, matcher);
+    }
+
+    @Override
+    protected K extractKey(Object item) {
+        @SuppressWarnings("unchecked")
+        K key = (K) item;
+        return key;
+    }
+
+    @Override
+    public boolean add(K element) {
+        int slot = findInsertionSlot(element);
+        if (slot >= 0) {
+            return false;
+        }
+        items[-(slot + 1)] = element;
+        return true;
+    }
+
+    /**
+     * Adds the element if it is not already present.
+     *
+     * @param element the element to add
+     * @return true if the element was added
+     */
+    public boolean addIfAbsent(K element) {
+        return add(element);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean contains(Object o) {
+        return findSlot((K) o) >= 0;
+    }
+
+    /**
+     * Returns the stored element equal to the given one, the canonical instance.
+     *
+     * @param element the element to look up
+     * @return the stored element, or null if it is not present
+     */
+    @SuppressWarnings("unchecked")
+    public K get(K element) {
+        int index = findSlot(element);
+        return index >= 0 ? (K) items[index] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean remove(Object o) {
+        int index = findSlot((K) o);
+        if (index < 0) {
+            return false;
+        }
+        removeAtIndex(index);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        return new Iterator<K>() {
+            private int next = advance(0);
+            private int last = -1;
+
+            private int advance(int from) {
+                while (from < capacity && !isFullSlot(from)) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < capacity;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public K next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                last = next;
+                next = advance(next + 1);
+                return (K) items[last];
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                //removing never moves the other items
+                removeAtIndex(last);
+                last = -1;
+            }
+        };
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] result = new Object[size];
+        int index = 0;
+        for (int i = 0; i < capacity && index < size; i++) {
+            if (isFullSlot(i)) {
+                result[index++] = items[i];
+            }
+        }
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        if (a.length < size) {
+            return (T[]) Arrays.copyOf(toArray(), size, a.getClass());
+        }
+        System.arraycopy(toArray(), 0, a, 0, size);
+        if (a.length > size) {
+            a[size] = null;
+        }
+        return a;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        for (Object e : c) {
+            if (!contains(e)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends K> c) {
+        boolean modified = false;
+        for (K e : c) {
+            if (add(e)) {
+                modified = true;
+            }
+        }
+        return modified;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        boolean modified = false;
+        for (int i = 0; i < capacity; i++) {
+            if (isFullSlot(i) && !c.contains(items[i])) {
+                removeAtIndex(i);
+                modified = true;
+            }
+        }
+        return modified;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        boolean modified = false;
+        for (Object e : c) {
+            if (remove(e)) {
+                modified = true;
+            }
+        }
+        return modified;
+    }
+}
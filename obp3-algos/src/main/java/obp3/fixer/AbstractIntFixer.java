@@ -0,0 +1,228 @@
+package obp3.fixer;
+
+import java.util.Arrays;
+
+/// The dense core shared by {@link IntFixer} and {@link IntBooleanFixer}: the same algorithm as {@link Fixer},
+/// for the variables [0, size), with arrays instead of maps.
+///
+/// - the status (unknown, transient, fixed) and the solve epoch of a variable are array cells;
+/// - the workset is an int ring buffer, with a bitset so that a variable is queued at most once;
+/// - the observers are stored in an edge pool (head / next / parent / epoch int arrays, as in a linked CSR).
+///
+/// Instead of removing a node from the parents of its old children when it is solved again (what {@link Fixer} does
+/// with its sets), the node bumps its epoch: the edges stamped with an older epoch are stale and skipped when signalling.
+/// The stale edges are dropped when the pool is full, and the whole pool is dropped at the end of a run,
+/// since the fixed variables never signal.
+public abstract class AbstractIntFixer {
+    static final byte UNKNOWN = 0;
+    static final byte TRANSIENT = 1;
+    static final byte FIXED = 2;
+
+    final int size;
+    final byte[] status;
+    final int[] epoch;
+
+    //the edge pool, for each child the list of its observers
+    final int[] head;
+    int[] edgeNext = new int[1024];
+    int[] edgeParent = new int[1024];
+    int[] edgeEpoch = new int[1024];
+    int edgeCount = 0;
+
+    //the workset
+    int[] ring = new int[1024];
+    int ringHead = 0;
+    int ringSize = 0;
+    final long[] queued;
+
+    //the variables made transient during the current run
+    int[] touched = new int[1024];
+    int touchedCount = 0;
+
+    int activeCount = 0;
+    /// the variable whose right-hand side is being evaluated
+    int current = -1;
+    long solveCount = 0;
+
+    protected AbstractIntFixer(int size) {
+        this.size = size;
+        this.status = new byte[size];
+        this.epoch = new int[size];
+        this.head = new int[size];
+        Arrays.fill(head, -1);
+        this.queued = new long[(size + 63) >>> 6];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isFixed(int node) {
+        return status[node] == FIXED;
+    }
+
+    public long solveCount() {
+        return solveCount;
+    }
+
+    /// Sets the variable to the bottom of the lattice.
+    abstract void resetValue(int node);
+
+    /// Evaluates the right-hand side of the variable and stores its new value.
+    /// @return {@link #UNCHANGED}, {@link #CHANGED} or {@link #MAXIMAL} (or-ed with CHANGED if it changed)
+    abstract int evaluate(int node);
+
+    static final int UNCHANGED = 0;
+    static final int CHANGED = 1;
+    static final int MAXIMAL = 2;
+
+    /// Computes the fixed point of the variable, or just makes it transient on a reentrant call.
+    final void run(int node) {
+        if (status[node] == FIXED) return;
+        if (activeCount++ > 0) {
+            activeCount--;
+            ensureTransient(node);
+            return;
+        }
+        try {
+            ensureTransient(node);
+            while (ringSize > 0) {
+                solve(poll());
+            }
+            for (int i = 0; i < touchedCount; i++) {
+                int fixed = touched[i];
+                status[fixed] = FIXED;
+                head[fixed] = -1;
+            }
+            touchedCount = 0;
+            edgeCount = 0;
+        } catch (RuntimeException | Error e) {
+            rollback();
+            throw e;
+        } finally {
+            activeCount--;
+        }
+    }
+
+    /// A right-hand side failed: the variables of the run go back to unknown, the fixed ones are kept.
+    private void rollback() {
+        for (int i = 0; i < touchedCount; i++) {
+            int node = touched[i];
+            if (status[node] == TRANSIENT) status[node] = UNKNOWN;
+            head[node] = -1;
+            queued[node >>> 6] &= ~(1L << node);
+        }
+        touchedCount = 0;
+        edgeCount = 0;
+        ringSize = 0;
+        ringHead = 0;
+    }
+
+    final void ensureTransient(int node) {
+        if (status[node] != UNKNOWN) return;
+        status[node] = TRANSIENT;
+        resetValue(node);
+        if (touchedCount == touched.length) touched = Arrays.copyOf(touched, touchedCount * 2);
+        touched[touchedCount++] = node;
+        schedule(node);
+    }
+
+    /// Called from the right-hand side of {@link #current}: records the dependency before the value is read.
+    final void observe(int child) {
+        if (status[child] == FIXED) return;
+        ensureTransient(child);
+        if (current >= 0) addEdge(child, current);
+    }
+
+    private void solve(int node) {
+        queued[node >>> 6] &= ~(1L << node);
+        if (status[node] == FIXED) return;
+        solveCount++;
+        //forget the old children: their edges to this node become stale
+        epoch[node]++;
+        current = node;
+        int result;
+        try {
+            result = evaluate(node);
+        } finally {
+            current = -1;
+        }
+        if ((result & MAXIMAL) != 0) {
+            status[node] = FIXED;
+        }
+        if ((result & CHANGED) != 0) {
+            signal(node);
+        }
+        if ((result & MAXIMAL) != 0) {
+            head[node] = -1;
+        }
+    }
+
+    private void signal(int child) {
+        for (int edge = head[child]; edge != -1; edge = edgeNext[edge]) {
+            int parent = edgeParent[edge];
+            if (edgeEpoch[edge] == epoch[parent]) schedule(parent);
+        }
+    }
+
+    private void schedule(int node) {
+        if (status[node] == FIXED || (queued[node >>> 6] & (1L << node)) != 0) return;
+        queued[node >>> 6] |= 1L << node;
+        if (ringSize == ring.length) {
+            var larger = new int[ring.length * 2];
+            for (int i = 0; i < ringSize; i++) larger[i] = ring[(ringHead + i) % ring.length];
+            ring = larger;
+            ringHead = 0;
+        }
+        ring[(ringHead + ringSize++) % ring.length] = node;
+    }
+
+    private int poll() {
+        int node = ring[ringHead];
+        ringHead = (ringHead + 1) % ring.length;
+        ringSize--;
+        return node;
+    }
+
+    private void addEdge(int child, int parent) {
+        int first = head[child];
+        //a right-hand side requesting the same child twice
+        if (first != -1 && edgeParent[first] == parent && edgeEpoch[first] == epoch[parent]) return;
+        if (edgeCount == edgeNext.length) {
+            compactEdges();
+            first = head[child];
+        }
+        edgeParent[edgeCount] = parent;
+        edgeEpoch[edgeCount] = epoch[parent];
+        edgeNext[edgeCount] = first;
+        head[child] = edgeCount++;
+    }
+
+    /// Drops the stale edges, and grows the pool if it is still more than half full.
+    private void compactEdges() {
+        int[] next = new int[edgeNext.length];
+        int[] parents = new int[edgeNext.length];
+        int[] epochs = new int[edgeNext.length];
+        int count = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int child = touched[i];
+            int newHead = -1;
+            int tail = -1;
+            for (int edge = head[child]; edge != -1; edge = edgeNext[edge]) {
+                int parent = edgeParent[edge];
+                if (edgeEpoch[edge] != epoch[parent] || status[parent] == FIXED) continue;
+                parents[count] = parent;
+                epochs[count] = edgeEpoch[edge];
+                next[count] = -1;
+                if (tail == -1) newHead = count; else next[tail] = count;
+                tail = count++;
+            }
+            head[child] = newHead;
+        }
+        int capacity = count * 2 > edgeNext.length ? edgeNext.length * 2 : edgeNext.length;
+        edgeNext = Arrays.copyOf(next, capacity);
+        edgeParent = Arrays.copyOf(parents, capacity);
+        edgeEpoch = Arrays.copyOf(epochs, capacity);
+        edgeCount = count;
+    }
+}
@@ -1,5 +1,8 @@
 package obp3.fixer;
 
+import obp3.jfr.FixerSolveEvent;
+import obp3.jfr.FlightEvents;
+
 import java.util.*;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -29,10 +32,8 @@ public class Fixer<S, T> implements Function<S, T>{
     Map<S, Set<S>> mParents;
     Map<S, Set<S>> mChildren;
 
-    /// The workset is based on a Queue, but it could just as well be based on a
-    ///    Stack. A textual replacement is possible. It could also be based on a
-    ///    priority queue, provided a sensible way of assigning priorities could
-    ///    be found.
+    /// The workset is a FIFO queue by default, but it can also be a stack, or a priority queue
+    ///    ordered by the strongly connected components of the dependency graph (see {@link Workset.Strategy}).
     ///
     /// A node in the workset has no successors.
     /// NC: The idea is that when a node gets in the workset, it is like newly discovered - so we forget its successors
@@ -44,13 +45,24 @@ public class Fixer<S, T> implements Function<S, T>{
     ///    Any variable that receives the signal loses all of its
     ///    successors (that is, it ceases to observe anything) and is inserted into
     ///    the workset. This preserves the above invariant.
-    Queue<S> mWorkset = new LinkedList<>();
+    Workset<S> mWorkset;
+
+    /// The number of calls to the right-hand side, to compare the workset strategies.
+    long solveCount = 0;
+
+    /// When set, the dependencies on fixed nodes and the children of maximal nodes are recorded too,
+    /// so that the observers of every node are known after a run (see {@link IncrementalFixer}).
+    boolean recordAllDependencies = false;
 
     public Fixer(BiFunction<S, Function<S, T>, T> function, Lattice<T> lattice) {
         this(function, lattice, IdentityHashMap::new);
     }
 
     public Fixer(BiFunction<S, Function<S, T>, T> function, Lattice<T> lattice, Supplier<Map> mapSupplier) {
+        this(function, lattice, mapSupplier, Workset.Strategy.FIFO);
+    }
+
+    public Fixer(BiFunction<S, Function<S, T>, T> function, Lattice<T> lattice, Supplier<Map> mapSupplier, Workset.Strategy strategy) {
         this.function = function;
         this.lattice = lattice;
         this.mapSupplier = mapSupplier;
@@ -58,6 +70,11 @@ public class Fixer<S, T> implements Function<S, T>{
         this.mTransient = mapSupplier.get();
         this.mParents = mapSupplier.get();
         this.mChildren = mapSupplier.get();
+        this.mWorkset = strategy.create(mChildren::get, mapSupplier);
+    }
+
+    public long solveCount() {
+        return solveCount;
     }
 
     /// The flag 'inactive' prevents reentrant calls by the client.
@@ -80,26 +97,31 @@ public class Fixer<S, T> implements Function<S, T>{
         }
         try {
             ensureTransient(node);
-            // while we have work to do just do it,
-            // - starting either at the node that we just added, if the workset was empty and node was not already transient
-            // - or continue with the workset in the defined 'order' (FIFO here).
-            while (!mWorkset.isEmpty()) {
-                var current = mWorkset.poll();
-                solve(current);
-            }
-
-            // we are done for this node.
-            // copies the transient table into the permanent table, and
-            //    empties the transient table.
-            //    This allows all nodes to be reclaimed by the garbage collector.
-            mFixed.putAll(mTransient);
-            mTransient.clear();
+            stabilize();
         } finally {
             activeCount--;
         }
         return mFixed.get(node);
     }
 
+    /// Solves the workset until it is empty, then fixes the transient nodes.
+    void stabilize() {
+        // while we have work to do just do it,
+        // - starting either at the node that we just added, if the workset was empty and node was not already transient
+        // - or continue with the workset in the defined 'order' (FIFO by default).
+        while (!mWorkset.isEmpty()) {
+            var current = mWorkset.poll();
+            solve(current);
+        }
+
+        // we are done for this node.
+        // copies the transient table into the permanent table, and
+        //    empties the transient table.
+        //    This allows all nodes to be reclaimed by the garbage collector.
+        mFixed.putAll(mTransient);
+        mTransient.clear();
+    }
+
     void ensureTransient(S node) {
         // if a node is already transient, just return.
         if (mTransient.containsKey(node)) { return; }
@@ -110,7 +132,33 @@ public class Fixer<S, T> implements Function<S, T>{
         mWorkset.add(node);
     }
     void solve(S current) {
+        if (!FlightEvents.ENABLED) {
+            solveNode(current);
+            return;
+        }
+        var event = new FixerSolveEvent();
+        event.begin();
+        var fixedBefore = mFixed.get(current) != null;
+        var before = mTransient.get(current);
+        //a variable that was never solved is at the bottom of the lattice
+        if (before == null) before = lattice.bottom();
+        solveNode(current);
+        event.end();
+        if (event.shouldCommit()) {
+            var maximal = mFixed.get(current) != null;
+            var after = maximal ? mFixed.get(current) : mTransient.get(current);
+            event.maximal = maximal;
+            event.changed = !fixedBefore && after != null && !lattice.equality().test(before, after);
+            var children = mChildren.get(current);
+            event.dependencies = children == null ? 0 : children.size();
+            event.worksetSize = mWorkset.size();
+            event.commit();
+        }
+    }
+
+    void solveNode(S current) {
         if (mFixed.get(current) != null) return;
+        solveCount++;
         final List<S> currentChildren = new ArrayList<>();
 
         // The flag [alive] is used to prevent the client from invoking [request] after this interaction phase is over.
@@ -121,7 +169,10 @@ public class Fixer<S, T> implements Function<S, T>{
         Function<S, T> requestFunction = (S node) -> {
             assert alive[0];
             var property = mFixed.get(node);
-            if (property != null) { return property; }
+            if (property != null) {
+                if (recordAllDependencies) currentChildren.add(node);
+                return property;
+            }
             ensureTransient(node);
             currentChildren.add(node);
             return mTransient.get(node);
@@ -148,21 +199,7 @@ public class Fixer<S, T> implements Function<S, T>{
 
         var isMaximal = lattice.isMaximal(newProperty);
         if (!isMaximal) {
-            //remove current from the parents of old children (forget old children)
-            Set<S> oldChildren = mChildren.computeIfAbsent(current, _ -> Collections.newSetFromMap(mapSupplier.get()));
-            for (S oldChild : oldChildren) {
-                var parentsOfOld = mParents.get(oldChild);
-                if (parentsOfOld != null) {
-                    parentsOfOld.remove(current);
-                }
-            }
-            oldChildren.clear();
-
-            //register new parents/children
-            for (S child : currentChildren) {
-                mParents.computeIfAbsent(child, _ -> Collections.newSetFromMap(mapSupplier.get()) ).add(current);
-                mChildren.computeIfAbsent(current, _ -> Collections.newSetFromMap(mapSupplier.get())).add(child);
-            }
+            setChildren(current, currentChildren);
 
             // If the updated value differs from the previous value, record
             // the updated value and send a signal to all observers of [node].
@@ -172,6 +209,7 @@ public class Fixer<S, T> implements Function<S, T>{
                 mWorkset.addAll(mParents.get(current));
             }
         } else {
+            if (recordAllDependencies) setChildren(current, currentChildren);
             //current got at the top of the lattice
             mFixed.put(current, newProperty);
             var oldProperty = mTransient.remove(current);
@@ -181,4 +219,23 @@ public class Fixer<S, T> implements Function<S, T>{
             }
         }
     }
+
+    void setChildren(S current, List<S> currentChildren) {
+        //remove current from the parents of old children (forget old children)
+        Set<S> oldChildren = mChildren.computeIfAbsent(current, _ -> Collections.newSetFromMap(mapSupplier.get()));
+        for (S oldChild : oldChildren) {
+            var parentsOfOld = mParents.get(oldChild);
+            if (parentsOfOld != null) {
+                parentsOfOld.remove(current);
+            }
+        }
+        oldChildren.clear();
+
+        //register new parents/children
+        for (S child : currentChildren) {
+            mParents.computeIfAbsent(child, _ -> Collections.newSetFromMap(mapSupplier.get()) ).add(current);
+            mChildren.computeIfAbsent(current, _ -> Collections.newSetFromMap(mapSupplier.get())).add(child);
+        }
+        mWorkset.dependenciesChanged(current);
+    }
 }
@@ -0,0 +1,102 @@
+package obp3.fixer;
+
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/// A {@link Fixer} that survives changes of its right-hand sides between queries.
+///
+/// All the dependencies are recorded, including the ones on nodes that were already fixed,
+/// so the observers of any node are known. After a change, only the cone of the changed nodes
+/// (the changed nodes and their observers, transitively) is recomputed; every other fixed value is kept,
+/// since it does not depend on the cone.
+/// - {@link #invalidate(Collection)} is for arbitrary changes: the cone is forgotten and recomputed lazily, from the bottom.
+/// - {@link #update(Collection)} is for growing changes (e.g. new facts or rules): the changed nodes are solved again from
+///   their current values, and an observer is solved again only if one of its inputs actually changed.
+///
+/// The changes must happen between queries, not from a right-hand side.
+public class IncrementalFixer<S, T> extends Fixer<S, T> {
+
+    public IncrementalFixer(BiFunction<S, Function<S, T>, T> function, Lattice<T> lattice) {
+        this(function, lattice, IdentityHashMap::new);
+    }
+
+    public IncrementalFixer(BiFunction<S, Function<S, T>, T> function, Lattice<T> lattice, Supplier<Map> mapSupplier) {
+        this(function, lattice, mapSupplier, Workset.Strategy.FIFO);
+    }
+
+    public IncrementalFixer(BiFunction<S, Function<S, T>, T> function, Lattice<T> lattice, Supplier<Map> mapSupplier, Workset.Strategy strategy) {
+        super(function, lattice, mapSupplier, strategy);
+        this.recordAllDependencies = true;
+    }
+
+    /// the nodes with a fixed value
+    public Set<S> fixedNodes() {
+        return Collections.unmodifiableSet(mFixed.keySet());
+    }
+
+    /// the nodes and their observers, transitively
+    @SuppressWarnings("unchecked")
+    public Set<S> cone(Collection<S> nodes) {
+        Set<S> cone = Collections.newSetFromMap(mapSupplier.get());
+        Deque<S> todo = new ArrayDeque<>(nodes);
+        while (!todo.isEmpty()) {
+            var node = todo.pop();
+            if (!cone.add(node)) continue;
+            var parents = mParents.get(node);
+            if (parents != null) todo.addAll(parents);
+        }
+        return cone;
+    }
+
+    /// The right-hand sides of the nodes changed in any way: the values of their cone are forgotten,
+    /// they are recomputed on demand from the bottom of the lattice.
+    /// @return the invalidated cone
+    public Set<S> invalidate(Collection<S> nodes) {
+        checkInactive();
+        var cone = cone(nodes);
+        for (S node : cone) {
+            mFixed.remove(node);
+            var children = mChildren.remove(node);
+            if (children == null) continue;
+            for (S child : children) {
+                var parents = mParents.get(child);
+                if (parents != null) parents.remove(node);
+            }
+        }
+        //the parents of a node of the cone are in the cone, their edges are gone
+        for (S node : cone) {
+            mParents.remove(node);
+        }
+        return cone;
+    }
+
+    /// The right-hand sides of the nodes only grew: the new least fixed point is above the current one.
+    /// The nodes are solved again starting from their current values, and the changes propagate to the
+    /// observers through the recorded edges; the observers whose inputs did not change are not solved again.
+    /// The nodes that were never solved are ignored, they will be computed on demand.
+    public void update(Collection<S> nodes) {
+        checkInactive();
+        var changed = nodes.stream().filter(mFixed::containsKey).toList();
+        if (changed.isEmpty()) return;
+        //the cone goes back to the transient table, with its current values as starting points
+        for (S node : cone(changed)) {
+            var value = mFixed.remove(node);
+            if (value != null) mTransient.put(node, value);
+        }
+        activeCount++;
+        try {
+            mWorkset.addAll(changed);
+            stabilize();
+        } finally {
+            activeCount--;
+        }
+    }
+
+    private void checkInactive() {
+        if (activeCount > 0) {
+            throw new IllegalStateException("the right-hand sides cannot change during a resolution");
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package obp3.fixer;
+
+import java.util.function.IntPredicate;
+
+/// An {@link IntFixer} specialized for {@link Lattice#BooleanLattice}: the values are the bits of a long array.
+///
+/// A boolean variable only changes once, from false (bottom) to true (top), and is then fixed;
+/// so the transient variables are all false, and a variable signals its observers only when it becomes true.
+public class IntBooleanFixer extends AbstractIntFixer {
+    @FunctionalInterface
+    public interface Equations {
+        boolean apply(int node, IntPredicate request);
+    }
+
+    final Equations function;
+    final long[] values;
+    private final IntPredicate requestFunction = child -> {
+        observe(child);
+        return get(child);
+    };
+
+    public IntBooleanFixer(int size, Equations function) {
+        super(size);
+        this.function = function;
+        this.values = new long[(size + 63) >>> 6];
+    }
+
+    public boolean apply(int node) {
+        run(node);
+        return get(node);
+    }
+
+    boolean get(int node) {
+        return (values[node >>> 6] & (1L << node)) != 0;
+    }
+
+    @Override
+    void resetValue(int node) {
+        values[node >>> 6] &= ~(1L << node);
+    }
+
+    @Override
+    int evaluate(int node) {
+        if (!function.apply(node, requestFunction)) return UNCHANGED;
+        values[node >>> 6] |= 1L << node;
+        return CHANGED | MAXIMAL;
+    }
+}
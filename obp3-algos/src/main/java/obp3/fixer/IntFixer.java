@@ -0,0 +1,56 @@
+package obp3.fixer;
+
+import java.util.function.IntFunction;
+
+/// A {@link Fixer} for the dense integer variables [0, size), see {@link AbstractIntFixer} for the representation.
+/// The values are stored in an array; for boolean systems use {@link IntBooleanFixer}, which stores them in a bitset.
+public class IntFixer<T> extends AbstractIntFixer {
+    @FunctionalInterface
+    public interface Equations<T> {
+        T apply(int node, IntFunction<T> request);
+    }
+
+    final Equations<T> function;
+    final Lattice<T> lattice;
+    final Object[] values;
+    private final IntFunction<T> requestFunction;
+
+    public IntFixer(int size, Equations<T> function, Lattice<T> lattice) {
+        super(size);
+        this.function = function;
+        this.lattice = lattice;
+        this.values = new Object[size];
+        this.requestFunction = this::request;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T request(int child) {
+        observe(child);
+        return (T) values[child];
+    }
+
+    @SuppressWarnings("unchecked")
+    public T apply(int node) {
+        run(node);
+        return (T) values[node];
+    }
+
+    @Override
+    void resetValue(int node) {
+        values[node] = lattice.bottom();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    int evaluate(int node) {
+        var newValue = function.apply(node, requestFunction);
+        var oldValue = (T) values[node];
+        int result = UNCHANGED;
+        if (!lattice.equality().test(oldValue, newValue)) {
+            values[node] = newValue;
+            result = CHANGED;
+        }
+        if (lattice.isMaximal(newValue)) result |= MAXIMAL;
+        return result;
+    }
+}
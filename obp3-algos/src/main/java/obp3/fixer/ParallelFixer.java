@@ -0,0 +1,144 @@
+package obp3.fixer;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/// A concurrent variant of {@link Fixer}, solving the workset by frontiers.
+///
+/// A run proceeds in rounds: all the nodes of the current frontier are solved in parallel,
+/// and the nodes discovered or signalled during the round form the next frontier.
+/// The frontier is a concurrent set, so an observer signalled by several children is scheduled once.
+/// The tables are {@link ConcurrentHashMap}s, so the variables need proper {@code equals}/{@code hashCode}
+/// (the sequential {@link Fixer} uses identity by default).
+///
+/// The right-hand sides must be monotone and thread-safe: they are called concurrently on different nodes,
+/// and may observe values updated during the same round. This is chaotic iteration, which converges to
+/// the same least fixed point as the sequential solver for monotone right-hand sides.
+///
+/// NC: a parent registers itself as an observer *before* reading the value of its child,
+///     while a child publishes its new value *before* signalling its observers.
+///     So either the parent reads the new value, or the child sees the parent and re-schedules it.
+public class ParallelFixer<S, T> implements Function<S, T> {
+    final Lattice<T> lattice;
+    final BiFunction<S, Function<S, T>, T> function;
+    final ForkJoinPool pool;
+    /// frontiers smaller than this are solved on the calling thread
+    final int sequentialThreshold;
+
+    final Map<S, T> mFixed = new ConcurrentHashMap<>();
+    /// During a run, the maximal nodes stay in the transient table (they are only skipped),
+    /// so that a late request cannot reset a node that just reached the top back to the bottom.
+    final Map<S, T> mTransient = new ConcurrentHashMap<>();
+    final Map<S, Set<S>> mParents = new ConcurrentHashMap<>();
+    final Map<S, Set<S>> mChildren = new ConcurrentHashMap<>();
+    volatile Set<S> mFrontier = ConcurrentHashMap.newKeySet();
+
+    /// only one run at a time, the external callers wait for the current run to finish
+    private final ReentrantLock runLock = new ReentrantLock();
+    /// true on the threads currently evaluating a right-hand side, to detect reentrant calls
+    private final ThreadLocal<Boolean> solving = ThreadLocal.withInitial(() -> false);
+    long rounds = 0;
+
+    public ParallelFixer(BiFunction<S, Function<S, T>, T> function, Lattice<T> lattice) {
+        this(function, lattice, ForkJoinPool.commonPool(), 2);
+    }
+
+    public ParallelFixer(BiFunction<S, Function<S, T>, T> function, Lattice<T> lattice, ForkJoinPool pool, int sequentialThreshold) {
+        this.function = function;
+        this.lattice = lattice;
+        this.pool = pool;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    @Override
+    public T apply(S node) {
+        var property = mFixed.get(node);
+        if (property != null) { return property; }
+        if (solving.get()) {
+            //reentrant call from a right-hand side, return the current approximation as Fixer does
+            ensureTransient(node);
+            return mTransient.get(node);
+        }
+        runLock.lock();
+        try {
+            property = mFixed.get(node);
+            if (property != null) { return property; }
+            ensureTransient(node);
+            while (!mFrontier.isEmpty()) {
+                var frontier = new ArrayList<>(mFrontier);
+                mFrontier = ConcurrentHashMap.newKeySet();
+                rounds++;
+                if (frontier.size() < sequentialThreshold) {
+                    frontier.forEach(this::solve);
+                } else {
+                    pool.submit(() -> frontier.parallelStream().forEach(this::solve)).join();
+                }
+            }
+            mFixed.putAll(mTransient);
+        } finally {
+            mTransient.clear();
+            mParents.clear();
+            mChildren.clear();
+            mFrontier.clear();
+            runLock.unlock();
+        }
+        return mFixed.get(node);
+    }
+
+    /// the number of rounds since the creation of this fixer
+    public long rounds() {
+        return rounds;
+    }
+
+    void ensureTransient(S node) {
+        if (mTransient.containsKey(node)) { return; }
+        //the edge sets exist before the node is visible in the transient table
+        mParents.computeIfAbsent(node, _ -> ConcurrentHashMap.newKeySet());
+        mChildren.computeIfAbsent(node, _ -> ConcurrentHashMap.newKeySet());
+        if (mTransient.putIfAbsent(node, lattice.bottom()) == null) {
+            mFrontier.add(node);
+        }
+    }
+
+    /// a node is solved by a single thread in a round, since the frontier is a set
+    void solve(S current) {
+        var oldProperty = mTransient.get(current);
+        if (lattice.isMaximal(oldProperty)) return;
+
+        //forget the old children, they are registered again by the requests
+        var children = mChildren.get(current);
+        for (S child : children) {
+            mParents.get(child).remove(current);
+        }
+        children.clear();
+
+        T newProperty;
+        solving.set(true);
+        try {
+            newProperty = function.apply(current, node -> request(current, node));
+        } finally {
+            solving.set(false);
+        }
+
+        if (!lattice.equality().test(oldProperty, newProperty)) {
+            mTransient.put(current, newProperty);
+            //signal the parents because the current value changed
+            mFrontier.addAll(mParents.get(current));
+        }
+    }
+
+    T request(S parent, S node) {
+        var property = mFixed.get(node);
+        if (property != null) { return property; }
+        ensureTransient(node);
+        mChildren.get(parent).add(node);
+        mParents.get(node).add(parent);
+        return mTransient.get(node);
+    }
+}
@@ -0,0 +1,149 @@
+package obp3.fixer;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/// A workset ordered by the strongly connected components of the dependency graph,
+/// in the spirit of the recursive iteration strategy of
+/// [François Bourdoncle, *Efficient chaotic iteration strategies with widenings*](https://doi.org/10.1007/BFb0039704).
+///
+/// The components are ranked in the order Tarjan's algorithm completes them, which is a reverse topological order:
+/// a component is ranked before the components observing it. The node with the lowest rank is solved first,
+/// so an inner component keeps iterating (its nodes signal each other at the same rank) until it is stable,
+/// before its observers are solved with the final values.
+/// The nodes that are not ranked yet (just discovered) are solved first, like a depth-first exploration would.
+///
+/// The dependency graph is only known during the resolution, and changes at every solve.
+/// The ranks are recomputed lazily from the nodes in the workset, when the graph changed and at least as many
+/// nodes were polled as there were ranked nodes, which keeps the cost of the ranking amortized linear.
+/// A node is in the workset at most once.
+public class SccPriorityWorkset<S> implements Workset<S> {
+    private static final int UNRANKED = Integer.MIN_VALUE;
+
+    final Function<S, ? extends Collection<S>> children;
+    final Supplier<Map> mapSupplier;
+
+    /// the rank of the components, and the insertion sequence of the nodes in the workset
+    Map<S, Integer> ranks;
+    Map<S, Long> members;
+    PriorityQueue<S> queue;
+    long sequence = 0;
+
+    boolean dirty = false;
+    long pollsSinceRanking = 0;
+    long rankings = 0;
+
+    @SuppressWarnings("unchecked")
+    public SccPriorityWorkset(Function<S, ? extends Collection<S>> children, Supplier<Map> mapSupplier) {
+        this.children = children;
+        this.mapSupplier = mapSupplier;
+        this.ranks = mapSupplier.get();
+        this.members = mapSupplier.get();
+        this.queue = new PriorityQueue<>(comparator());
+    }
+
+    private Comparator<S> comparator() {
+        Comparator<S> byRank = Comparator.comparingInt(node -> ranks.getOrDefault(node, UNRANKED));
+        return byRank.thenComparingLong(node -> members.get(node));
+    }
+
+    @Override
+    public void add(S node) {
+        if (members.containsKey(node)) return;
+        members.put(node, sequence++);
+        if (!ranks.containsKey(node)) dirty = true;
+        queue.add(node);
+    }
+
+    @Override
+    public S poll() {
+        if (dirty && pollsSinceRanking >= ranks.size()) {
+            rank();
+        }
+        var node = queue.poll();
+        if (node != null) {
+            members.remove(node);
+            pollsSinceRanking++;
+        }
+        return node;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public void dependenciesChanged(S node) {
+        dirty = true;
+    }
+
+    /// Iterative Tarjan from the nodes of the workset, then re-heapify the workset with the new ranks.
+    @SuppressWarnings("unchecked")
+    void rank() {
+        Map<S, Integer> newRanks = mapSupplier.get();
+        Map<S, Integer> index = mapSupplier.get();
+        Map<S, Integer> low = mapSupplier.get();
+        Deque<S> stack = new ArrayDeque<>();
+        Deque<Map.Entry<S, Iterator<S>>> calls = new ArrayDeque<>();
+        int time = 0;
+        int component = 0;
+
+        for (S root : queue) {
+            if (index.containsKey(root)) continue;
+            index.put(root, time);
+            low.put(root, time++);
+            stack.push(root);
+            calls.push(Map.entry(root, childrenOf(root)));
+            while (!calls.isEmpty()) {
+                var frame = calls.peek();
+                S vertex = frame.getKey();
+                var iterator = frame.getValue();
+                if (iterator.hasNext()) {
+                    S child = iterator.next();
+                    if (!index.containsKey(child)) {
+                        index.put(child, time);
+                        low.put(child, time++);
+                        stack.push(child);
+                        calls.push(Map.entry(child, childrenOf(child)));
+                    } else if (!newRanks.containsKey(child)) {
+                        //still on the stack
+                        low.put(vertex, Math.min(low.get(vertex), index.get(child)));
+                    }
+                    continue;
+                }
+                calls.pop();
+                if (!calls.isEmpty()) {
+                    S parent = calls.peek().getKey();
+                    low.put(parent, Math.min(low.get(parent), low.get(vertex)));
+                }
+                if (low.get(vertex).equals(index.get(vertex))) {
+                    S member;
+                    do {
+                        member = stack.pop();
+                        newRanks.put(member, component);
+                    } while (member != vertex);
+                    component++;
+                }
+            }
+        }
+        ranks = newRanks;
+        var nodes = new ArrayList<>(queue);
+        queue = new PriorityQueue<>(Math.max(1, nodes.size()), comparator());
+        queue.addAll(nodes);
+        dirty = false;
+        pollsSinceRanking = 0;
+        rankings++;
+    }
+
+    private Iterator<S> childrenOf(S node) {
+        var nodeChildren = children.apply(node);
+        return nodeChildren == null ? Collections.emptyIterator() : nodeChildren.iterator();
+    }
+}
@@ -0,0 +1,80 @@
+package obp3.fixer;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/// The nodes waiting to be solved by a {@link Fixer}, and the order in which they are solved.
+///
+/// The order does not change the least fixed point, only the number of times the right-hand sides are evaluated.
+public interface Workset<S> {
+    void add(S node);
+
+    S poll();
+
+    boolean isEmpty();
+
+    int size();
+
+    default void addAll(Collection<S> nodes) {
+        for (S node : nodes) {
+            add(node);
+        }
+    }
+
+    /// Called by the {@link Fixer} once the children (the observed nodes) of a node are recorded.
+    default void dependenciesChanged(S node) {}
+
+    enum Strategy {
+        /// chaotic iteration in discovery order, the historical behaviour of the {@link Fixer}
+        FIFO,
+        /// the most recently signalled node first, a depth-first flavour
+        LIFO,
+        /// the strongly connected components of the dependency graph are stabilized innermost first (Bourdoncle)
+        SCC_PRIORITY;
+
+        @SuppressWarnings("unchecked")
+        public <S> Workset<S> create(Function<S, ? extends Collection<S>> children, Supplier<Map> mapSupplier) {
+            return switch (this) {
+                case FIFO -> fifo();
+                case LIFO -> lifo();
+                case SCC_PRIORITY -> new SccPriorityWorkset<>(children, mapSupplier);
+            };
+        }
+    }
+
+    static <S> Workset<S> fifo() {
+        return new QueueWorkset<>(new LinkedList<>());
+    }
+
+    static <S> Workset<S> lifo() {
+        return new QueueWorkset<>(Collections.asLifoQueue(new ArrayDeque<>()));
+    }
+
+    record QueueWorkset<S>(Queue<S> queue) implements Workset<S> {
+        @Override
+        public void add(S node) {
+            queue.add(node);
+        }
+
+        @Override
+        public S poll() {
+            return queue.poll();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return queue.isEmpty();
+        }
+
+        @Override
+        public int size() {
+            return queue.size();
+        }
+
+        @Override
+        public void addAll(Collection<S> nodes) {
+            queue.addAll(nodes);
+        }
+    }
+}
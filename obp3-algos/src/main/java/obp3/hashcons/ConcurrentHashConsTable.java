@@ -0,0 +1,99 @@
+package obp3.hashcons;
+
+import obp3.utils.Hashable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/// A {@link HashConsTable} that can be shared by threads: two threads hash-consing equal values get the same node.
+///
+/// The table is split in shards, each a single-threaded table guarded by its own lock: a {@link HashConsTable} by
+/// default, or a {@link WeakHashConsTable} for a table that does not keep its nodes alive, see {@link #weak}.
+/// A value goes to the shard selected by the high bits of its hash, while the shard indexes its slots with
+/// the low bits, so that the threads only contend when they hash-cons values of the same shard.
+/// The tags come from one atomic counter, so they are unique across the shards.
+public class ConcurrentHashConsTable<T> {
+    /// The table of a shard, only called under the lock of the shard.
+    public interface Shard<T> {
+        HashConsed<T> hashCons(T value);
+
+        int size();
+    }
+
+    @FunctionalInterface
+    public interface ShardFactory<T> {
+        Shard<T> create(Hashable<T> hashable, HashConsMaker<T> maker);
+    }
+
+    private final AtomicInteger tagger = new AtomicInteger(1);
+    private final Hashable<T> hashable;
+    private final Shard<T>[] shards;
+    private final int shift;
+
+    public ConcurrentHashConsTable(Hashable<T> hashable, HashConsMaker<T> maker) {
+        this(hashable, maker, defaultShardCount());
+    }
+
+    /// @param shards the number of shards, rounded up to a power of two
+    public ConcurrentHashConsTable(Hashable<T> hashable, HashConsMaker<T> maker, int shards) {
+        this(hashable, maker, shards, HashConsTable::new);
+    }
+
+    /// @param shards the number of shards, rounded up to a power of two
+    /// @param shardFactory creates the table of each shard, with a maker that takes its tags from the shared counter
+    public ConcurrentHashConsTable(Hashable<T> hashable, HashConsMaker<T> maker, int shards, ShardFactory<T> shardFactory) {
+        if (shards < 1) throw new IllegalArgumentException("at least one shard is needed, got " + shards);
+        this.hashable = hashable;
+        int bits = 32 - Integer.numberOfLeadingZeros(shards - 1);
+        this.shards = newShards(1 << bits);
+        HashConsMaker<T> sharedTags = (node, _, hashKey) -> maker.create(node, tagger.getAndIncrement(), hashKey);
+        for (int i = 0; i < this.shards.length; i++) {
+            this.shards[i] = shardFactory.create(hashable, sharedTags);
+        }
+        //with one shard, the shift of 32 is masked to 0 by the JVM, the index must stay 0
+        this.shift = bits == 0 ? 0 : 32 - bits;
+    }
+
+    /// @return a table whose shards are {@link WeakHashConsTable}s, the nodes only referenced by the table are reclaimed
+    public static <T> ConcurrentHashConsTable<T> weak(Hashable<T> hashable, HashConsMaker<T> maker) {
+        return new ConcurrentHashConsTable<>(hashable, maker, defaultShardCount(), WeakHashConsTable::new);
+    }
+
+    private static int defaultShardCount() {
+        return 4 * Runtime.getRuntime().availableProcessors();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Shard<T>[] newShards(int length) {
+        return (Shard<T>[]) new Shard<?>[length];
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    private Shard<T> shard(T value) {
+        if (shards.length == 1) return shards[0];
+        int h = hashable.hash(value);
+        return shards[(h ^ (h >>> 16)) * 0x9E3779B9 >>> shift];
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public HashConsed<T> hashCons(T value) {
+        if (value instanceof HashConsed t && t.isHashConsed()) return (HashConsed<T>) t;
+        var shard = shard(value);
+        synchronized (shard) {
+            return shard.hashCons(value);
+        }
+    }
+
+    /// @return the number of hash-consed values, a snapshot that may miss concurrent insertions
+    public int size() {
+        int size = 0;
+        for (var shard : shards) {
+            synchronized (shard) {
+                size += shard.size();
+            }
+        }
+        return size;
+    }
+}
@@ -4,11 +4,9 @@ import obp3.datastructures.collections.linearscan.LinearScanHashMap;
 import obp3.utils.Hashable;
 
 import java.util.Map;
-import java.util.WeakHashMap;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
-public class HashConsTable<T> {
+public class HashConsTable<T> implements ConcurrentHashConsTable.Shard<T> {
     private final AtomicInteger tagger = new AtomicInteger(1);
     private final Hashable<T> hashable;
     private final HashConsMaker<T> maker;
@@ -38,6 +36,7 @@ public class HashConsTable<T> {
         return table;
     }
 
+    @Override
     @SuppressWarnings({"unchecked", "rawtypes"})
     public HashConsed<T> hashCons(T value) {
         if (value instanceof HashConsed t && t.isHashConsed()) return (HashConsed<T>) t;
@@ -52,4 +51,9 @@ public class HashConsTable<T> {
                 }
         );
     }
+
+    @Override
+    public int size() {
+        return table.size();
+    }
 }
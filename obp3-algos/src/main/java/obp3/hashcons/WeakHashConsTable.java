@@ -0,0 +1,147 @@
+package obp3.hashcons;
+
+import obp3.utils.Hashable;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/// A {@link HashConsTable} that does not keep its nodes alive: a node that is only referenced by the table is
+/// reclaimed by the garbage collector, so that a long session does not retain every intermediate node it built.
+///
+/// Uniqueness holds for the live nodes: while a node is reachable, hash-consing an equal value returns it.
+/// Once it is reclaimed, an equal value gets a new node with a new tag, which is safe since nobody can compare
+/// it with the old one anymore.
+///
+/// The buckets chain entries that are {@link WeakReference}s to the nodes, with the hash of the value, and nothing else:
+/// holding the value strongly would keep the node alive when the node is the value itself.
+/// The collected entries are enqueued by the garbage collector, and removed at the start of the next insertion,
+/// so the cleanup cost is amortized over the insertions, as in {@link java.util.WeakHashMap}.
+///
+/// Like {@link HashConsTable}, the table is not thread-safe, {@link ConcurrentHashConsTable#weak} shards it behind locks.
+public class WeakHashConsTable<T> implements ConcurrentHashConsTable.Shard<T> {
+    private int tag = 1;
+    private final Hashable<T> hashable;
+    private final HashConsMaker<T> maker;
+    private final ReferenceQueue<HashConsed<T>> queue = new ReferenceQueue<>();
+    private Entry<T>[] buckets;
+    private int size = 0;
+    private long reclaimed = 0;
+
+    static final class Entry<T> extends WeakReference<HashConsed<T>> {
+        final int hash;
+        Entry<T> next;
+
+        Entry(HashConsed<T> node, int hash, Entry<T> next, ReferenceQueue<HashConsed<T>> queue) {
+            super(node, queue);
+            this.hash = hash;
+            this.next = next;
+        }
+    }
+
+    public WeakHashConsTable(Hashable<T> hashable, HashConsMaker<T> maker) {
+        this(hashable, maker, 16);
+    }
+
+    /// @param capacity the initial number of buckets, rounded up to a power of two
+    public WeakHashConsTable(Hashable<T> hashable, HashConsMaker<T> maker, int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("the capacity should be positive, got " + capacity);
+        this.hashable = hashable;
+        this.maker = maker;
+        this.buckets = newBuckets(1 << (32 - Integer.numberOfLeadingZeros(Math.max(capacity, 2) - 1)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Entry<T>[] newBuckets(int length) {
+        return (Entry<T>[]) new Entry<?>[length];
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public HashConsed<T> hashCons(T value) {
+        if (value instanceof HashConsed t && t.isHashConsed()) return (HashConsed<T>) t;
+        expungeStaleEntries();
+        int hash = hashable.hash(value);
+        int index = spread(hash) & (buckets.length - 1);
+        for (var entry = buckets[index]; entry != null; entry = entry.next) {
+            if (entry.hash != hash) continue;
+            var existing = entry.get();
+            // if we already have a live element, return it.
+            if (existing != null && hashable.equal(existing.node(), value)) {
+                return existing;
+            }
+        }
+        var node = maker.create(value, tag++, hash);
+        buckets[index] = new Entry<>(node, hash, buckets[index], queue);
+        if (++size > buckets.length - (buckets.length >>> 2)) {
+            resize();
+        }
+        return node;
+    }
+
+    /// Removes the entries of the reclaimed nodes, enqueued by the garbage collector.
+    @SuppressWarnings("unchecked")
+    private void expungeStaleEntries() {
+        for (Object stale; (stale = queue.poll()) != null; ) {
+            var entry = (Entry<T>) stale;
+            int index = spread(entry.hash) & (buckets.length - 1);
+            Entry<T> previous = null;
+            for (var current = buckets[index]; current != null; previous = current, current = current.next) {
+                if (current != entry) continue;
+                if (previous == null) buckets[index] = current.next;
+                else previous.next = current.next;
+                size--;
+                reclaimed++;
+                break;
+            }
+        }
+    }
+
+    /// Doubles the buckets; the cleared entries met on the way are dropped, the queue will not find them again.
+    private void resize() {
+        Entry<T>[] larger = newBuckets(buckets.length * 2);
+        for (var entry : buckets) {
+            while (entry != null) {
+                var next = entry.next;
+                if (entry.refersTo(null)) {
+                    size--;
+                    reclaimed++;
+                } else {
+                    int index = spread(entry.hash) & (larger.length - 1);
+                    entry.next = larger[index];
+                    larger[index] = entry;
+                }
+                entry = next;
+            }
+        }
+        buckets = larger;
+    }
+
+    /// @return the number of entries, including the reclaimed nodes that are not expunged yet
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /// Expunges the enqueued entries, then counts the nodes that are still alive, in time linear in the table size.
+    /// @return the number of live hash-consed nodes
+    public int liveCount() {
+        expungeStaleEntries();
+        int live = 0;
+        for (var entry : buckets) {
+            for (; entry != null; entry = entry.next) {
+                if (!entry.refersTo(null)) live++;
+            }
+        }
+        return live;
+    }
+
+    /// @return the number of nodes reclaimed so far, whose entries were removed from the table
+    public long deadCount() {
+        expungeStaleEntries();
+        return reclaimed;
+    }
+}
@@ -0,0 +1,29 @@
+package obp3.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/// Spans one evaluation of a right-hand side by the {@link obp3.fixer.Fixer} worklist loop.
+@Name("obp3.FixerSolve")
+@Label("Fixer Solve")
+@Category({"OBP3", "Fixer"})
+@Description("One right-hand side evaluation of the fixpoint solver")
+public class FixerSolveEvent extends jdk.jfr.Event {
+    @Label("Dependencies")
+    @Description("Number of variables observed by the solved variable after the evaluation")
+    public int dependencies;
+
+    @Label("Changed")
+    @Description("True if the value of the variable changed")
+    public boolean changed;
+
+    @Label("Maximal")
+    @Description("True if the variable reached the top of the lattice")
+    public boolean maximal;
+
+    @Label("Workset Size")
+    @Description("Workset size after the observers were signaled")
+    public int worksetSize;
+}
@@ -0,0 +1,38 @@
+package obp3.jfr;
+
+import java.util.function.IntSupplier;
+
+/// Global switch for the JDK Flight Recorder events emitted by the obp3 algorithms.
+///
+/// The events are only created when the JVM is started with `-Dobp3.jfr=true`.
+/// Since {@link #ENABLED} is a static final constant, the JIT folds the guards away when it is false,
+/// so that the instrumented hot paths (successor computation, fixer iterations) pay nothing.
+///
+/// When enabled, the events are still subject to the usual JFR settings, e.g.
+/// `-XX:StartFlightRecording:settings=profile,filename=obp3.jfr` and `jdk.jfr` thresholds on `obp3.*` events.
+/// In JMC they are grouped under the `OBP3` category.
+public final class FlightEvents {
+    public static final boolean ENABLED = Boolean.getBoolean("obp3.jfr");
+
+    private FlightEvents() {}
+
+    /// Runs the growth of a hash table, spanned by a {@link TableResizeEvent} when the events are enabled.
+    /// @param rehash grows the table, and returns its new capacity
+    public static void recordResize(Object owner, int oldCapacity, int size, IntSupplier rehash) {
+        if (!ENABLED) {
+            rehash.getAsInt();
+            return;
+        }
+        var event = new TableResizeEvent();
+        event.begin();
+        int newCapacity = rehash.getAsInt();
+        event.end();
+        if (event.shouldCommit()) {
+            event.table = owner.getClass().getSimpleName();
+            event.oldCapacity = oldCapacity;
+            event.newCapacity = newCapacity;
+            event.size = size;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package obp3.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/// Spans one nested (red) search started by a nested-DFS emptiness checker from an accepting vertex.
+@Name("obp3.RedSearch")
+@Label("Red Search")
+@Category({"OBP3", "Emptiness Checking"})
+@Description("A nested search started from an accepting state by an NDFS emptiness checker")
+public class RedSearchEvent extends jdk.jfr.Event {
+    @Label("Checker")
+    public String checker;
+
+    @Label("Seed")
+    @Description("String representation of the accepting vertex that started the search")
+    public String seed;
+
+    @Label("Cycle Found")
+    public boolean cycleFound;
+
+    public static RedSearchEvent started() {
+        var event = new RedSearchEvent();
+        event.begin();
+        return event;
+    }
+
+    /// Ends the search; the seed is only rendered if the event is actually recorded.
+    public void stop(Object checker, Object seed, boolean cycleFound) {
+        end();
+        if (!shouldCommit()) return;
+        this.checker = checker.getClass().getSimpleName();
+        this.seed = String.valueOf(seed);
+        this.cycleFound = cycleFound;
+        commit();
+    }
+}
@@ -0,0 +1,22 @@
+package obp3.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/// Spans the computation of the successors of a configuration through a semantic relation.
+@Name("obp3.Successors")
+@Label("Successors")
+@Category({"OBP3", "Semantics"})
+@Description("Computation of the actions and target configurations of a configuration")
+public class SuccessorsEvent extends jdk.jfr.Event {
+    @Label("Semantics")
+    public String semantics;
+
+    @Label("Actions")
+    public int actions;
+
+    @Label("Successors")
+    public int successors;
+}
@@ -0,0 +1,26 @@
+package obp3.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/// Spans the growth (allocation and rehash) of a linear probing table.
+@Name("obp3.TableResize")
+@Label("Table Resize")
+@Category({"OBP3", "Collections"})
+@Description("Growth and rehash of a linear probing hash table")
+public class TableResizeEvent extends jdk.jfr.Event {
+    @Label("Table")
+    public String table;
+
+    @Label("Old Capacity")
+    public int oldCapacity;
+
+    @Label("New Capacity")
+    public int newCapacity;
+
+    @Label("Size")
+    @Description("Number of items rehashed")
+    public int size;
+}
@@ -0,0 +1,28 @@
+package obp3.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/// Spans a complete depth-first traversal, from the initial configuration to termination.
+/// Nested traversals (e.g. the red searches of the NDFS checkers) produce their own events.
+@Name("obp3.Traversal")
+@Label("Traversal")
+@Category({"OBP3", "Traversal"})
+@Description("A depth-first traversal run, from start to end")
+public class TraversalEvent extends jdk.jfr.Event {
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Graph")
+    public String graph;
+
+    @Label("Known Size")
+    @Description("Number of known vertices when the traversal ended")
+    public long knownSize;
+
+    @Label("Stack Size")
+    @Description("Number of frames left on the stack, non-zero if the traversal was terminated early")
+    public int stackSize;
+}
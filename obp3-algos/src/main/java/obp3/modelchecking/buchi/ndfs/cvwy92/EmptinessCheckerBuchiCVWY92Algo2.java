@@ -2,6 +2,8 @@ package obp3.modelchecking.buchi.ndfs.cvwy92;
 
 import obp3.modelchecking.EmptinessCheckerExecutable;
 import obp3.modelchecking.EmptinessCheckerStatus;
+import obp3.jfr.FlightEvents;
+import obp3.jfr.RedSearchEvent;
 import obp3.utils.Either;
 import obp3.runtime.IExecutable;
 import obp3.modelchecking.EmptinessCheckerAnswer;
@@ -120,9 +122,11 @@ public class EmptinessCheckerBuchiCVWY92Algo2<V, A> implements EmptinessCheckerE
                         })
         );
 
+        var event = FlightEvents.ENABLED ? RedSearchEvent.started() : null;
         var prefixStatus = new EmptinessCheckerStatus(status);
         var config = algo.run((c) -> EmptinessCheckerStatus.statusCallback(prefixStatus, status, c, hasToTerminatePredicate));
         status.reset(prefixStatus);
+        if (event != null) event.stop(this, vertex, !result.holds);
 
         if (result.holds) return false;
         result.addToTrace(vertex, config.getStack());
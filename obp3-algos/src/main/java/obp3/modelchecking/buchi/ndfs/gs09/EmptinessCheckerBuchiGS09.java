@@ -2,6 +2,8 @@ package obp3.modelchecking.buchi.ndfs.gs09;
 
 import obp3.modelchecking.EmptinessCheckerExecutable;
 import obp3.modelchecking.EmptinessCheckerStatus;
+import obp3.jfr.FlightEvents;
+import obp3.jfr.RedSearchEvent;
 import obp3.utils.Either;
 import obp3.runtime.IExecutable;
 import obp3.modelchecking.EmptinessCheckerAnswer;
@@ -163,6 +165,7 @@ public class EmptinessCheckerBuchiGS09<V, A> implements EmptinessCheckerExecutab
     }
 
     void dfsRed(V vertex, BuchiGS09BlueConfiguration<V, A> configuration) {
+        var event = FlightEvents.ENABLED ? RedSearchEvent.started() : null;
         var redCallbacks = FunctionalDFTCallbacksModel.onKnown(this::onKnownRed);
         var rerooted = new ReRootedGraph<>(graph, graph.neighbours(vertex));
         var model = new DepthFirstTraversalParameters<>(rerooted, depthBound, reducer, redCallbacks);
@@ -172,6 +175,7 @@ public class EmptinessCheckerBuchiGS09<V, A> implements EmptinessCheckerExecutab
         var prefixStatus = new EmptinessCheckerStatus(status);
         dfsRed.run(c -> EmptinessCheckerStatus.statusCallback(new EmptinessCheckerStatus(0, status.worklistSize), status, c, hasToTerminatePredicate));
         status.reset(prefixStatus);
+        if (event != null) event.stop(this, vertex, !result.holds);
     }
 
     boolean onKnownRed(V source, V target, IDepthFirstTraversalConfiguration<V, A> config) {
@@ -2,6 +2,8 @@ package obp3.modelchecking.buchi.ndfs.gs09.cdlp05.separated;
 
 import obp3.modelchecking.EmptinessCheckerExecutable;
 import obp3.modelchecking.EmptinessCheckerStatus;
+import obp3.jfr.FlightEvents;
+import obp3.jfr.RedSearchEvent;
 import obp3.utils.Either;
 import obp3.runtime.IExecutable;
 import obp3.modelchecking.EmptinessCheckerAnswer;
@@ -174,6 +176,7 @@ public class EmptinessCheckerBuchiGS09CDLP05Separated<V, A> implements Emptiness
         }
     }
     void dfsRed(V vertex, IDepthFirstTraversalConfiguration<V, A> configuration) {
+        var event = FlightEvents.ENABLED ? RedSearchEvent.started() : null;
         var rerooted = new ReRootedGraph<>(graph, graph.neighbours(vertex));
         var redModel = new DepthFirstTraversalParameters<>(
                 rerooted, depthBound, reducer, FunctionalDFTCallbacksModel.onKnown(this::onKnownRed)
@@ -188,6 +191,7 @@ public class EmptinessCheckerBuchiGS09CDLP05Separated<V, A> implements Emptiness
         var prefixStatus = new EmptinessCheckerStatus(status);
         dfsRed.run(c -> EmptinessCheckerStatus.statusCallback(new EmptinessCheckerStatus(0, status.worklistSize), status, c, hasToTerminatePredicate));
         status.reset(prefixStatus);
+        if (event != null) event.stop(this, vertex, !result.holds);
     }
 
     boolean onKnownRed(V source, V target, IDepthFirstTraversalConfiguration<V, A> configuration) {
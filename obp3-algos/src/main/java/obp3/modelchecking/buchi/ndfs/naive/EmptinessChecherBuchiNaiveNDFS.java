@@ -3,6 +3,8 @@ package obp3.modelchecking.buchi.ndfs.naive;
 import obp3.modelchecking.EmptinessCheckerAnswer;
 import obp3.modelchecking.EmptinessCheckerExecutable;
 import obp3.modelchecking.EmptinessCheckerStatus;
+import obp3.jfr.FlightEvents;
+import obp3.jfr.RedSearchEvent;
 import obp3.runtime.IExecutable;
 import obp3.runtime.sli.IRootedGraph;
 import obp3.runtime.sli.Step;
@@ -78,9 +80,11 @@ public class EmptinessChecherBuchiNaiveNDFS<V, A> implements EmptinessCheckerExe
                     return false;
                 })
         );
+        var event = FlightEvents.ENABLED ? RedSearchEvent.started() : null;
         var prefixStatus = new EmptinessCheckerStatus(status);
         var config = algo.run((c) -> EmptinessCheckerStatus.statusCallback(prefixStatus, status, c, hasToTerminatePredicate));
         status.reset(prefixStatus);
+        if (event != null) event.stop(this, target, !result.holds);
 
         if (result.holds) {
             return false;
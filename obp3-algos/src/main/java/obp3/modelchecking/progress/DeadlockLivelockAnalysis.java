@@ -0,0 +1,108 @@
+package obp3.modelchecking.progress;
+
+import obp3.modelchecking.EmptinessCheckerStatus;
+import obp3.runtime.IExecutable;
+import obp3.runtime.sli.IRootedGraph;
+import obp3.runtime.sli.SemanticRelation;
+import obp3.scc.tarjan2.CondensationTarjanCallbacks;
+import obp3.traversal.dfs.DepthFirstTraversal;
+import obp3.traversal.dfs.domain.IDepthFirstTraversalConfiguration;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.function.Predicate;
+
+/// Finds the deadlocks and the non-progress cycles (livelocks) of a semantics in a single depth-first traversal.
+///
+/// A deadlock is a configuration without successor: it has no action, or its actions have no target.
+/// A non-progress cycle is a cycle whose actions all fail the progress predicate.
+///
+/// The traversal is a Tarjan SCC decomposition of the graph of the non-progress transitions only:
+/// the targets of the progress actions are not followed, they are queued as later roots of the same traversal.
+/// So every reachable configuration is still visited once, and the non-progress cycles are exactly
+/// the cyclic components of this graph (several configurations, or a non-progress self-loop),
+/// reported when Tarjan completes them.
+/// The deadlocks are found when the successors of a configuration are computed.
+/// One exploration answers both questions, instead of a safety check for the deadlocks and a Büchi check for the livelocks.
+///
+/// The analysis runs on the semantics of the model itself: the {@link obp3.sli.core.operators.product.StepSynchronousProductSemantics}
+/// adds a stuttering step to the deadlocks, which would turn them into non-progress self-loops.
+public class DeadlockLivelockAnalysis<A, C> implements IExecutable<EmptinessCheckerStatus, DeadlockLivelockAnswer<C>> {
+    final SemanticRelation<A, C> semantics;
+    final Predicate<A> progress;
+    final ArrayDeque<C> roots = new ArrayDeque<>();
+    final DeadlockLivelockAnswer<C> result = new DeadlockLivelockAnswer<>();
+    final CondensationTarjanCallbacks<C, C> callbacks = new CondensationTarjanCallbacks<>() {
+        @Override
+        public boolean onExit(C vertex, IDepthFirstTraversalConfiguration.StackFrame<C> frame, IDepthFirstTraversalConfiguration<C, C> configuration) {
+            int before = condensation.componentCount();
+            super.onExit(vertex, frame, configuration);
+            if (condensation.componentCount() > before && condensation.isCyclic(before)) {
+                result.nonProgressCycles.add(condensation.members(before));
+            }
+            return false;
+        }
+    };
+    final DepthFirstTraversal<C, C> algorithm;
+    private final EmptinessCheckerStatus status = new EmptinessCheckerStatus();
+
+    public DeadlockLivelockAnalysis(SemanticRelation<A, C> semantics, Predicate<A> progress) {
+        this(DepthFirstTraversal.Algorithm.WHILE, semantics, progress);
+    }
+
+    public DeadlockLivelockAnalysis(DepthFirstTraversal.Algorithm traversalAlgorithm, SemanticRelation<A, C> semantics, Predicate<A> progress) {
+        this.semantics = semantics;
+        this.progress = progress;
+        algorithm = new DepthFirstTraversal<>(traversalAlgorithm, new NonProgressGraph(), callbacks);
+    }
+
+    /// The graph of the non-progress transitions, rooted in the initial configurations and the targets of the progress actions.
+    class NonProgressGraph implements IRootedGraph<C> {
+        /// the traversal pulls its next root once the previous tree is done, so the targets queued meanwhile are seen
+        @Override
+        public Iterator<C> roots() {
+            roots.addAll(semantics.initial());
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return !roots.isEmpty();
+                }
+
+                @Override
+                public C next() {
+                    return roots.poll();
+                }
+            };
+        }
+
+        @Override
+        public Iterator<C> neighbours(C configuration) {
+            var nonProgress = new ArrayList<C>();
+            boolean terminal = true;
+            for (A action : semantics.actions(configuration)) {
+                var targets = semantics.execute(action, configuration);
+                if (targets.isEmpty()) continue;
+                terminal = false;
+                if (!progress.test(action)) {
+                    nonProgress.addAll(targets);
+                    continue;
+                }
+                for (C target : targets) {
+                    //the known targets would be skipped as roots anyway, do not queue them
+                    if (callbacks.memory.idOf(target) < 0) roots.add(target);
+                }
+            }
+            if (terminal) {
+                result.deadlocks.add(configuration);
+            }
+            return nonProgress.iterator();
+        }
+    }
+
+    @Override
+    public DeadlockLivelockAnswer<C> run(Predicate<EmptinessCheckerStatus> hasToTerminatePredicate) {
+        algorithm.run((c) -> EmptinessCheckerStatus.statusCallback(status, c, hasToTerminatePredicate));
+        return result;
+    }
+}
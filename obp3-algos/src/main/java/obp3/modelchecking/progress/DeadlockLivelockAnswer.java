@@ -0,0 +1,32 @@
+package obp3.modelchecking.progress;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/// The result of a {@link DeadlockLivelockAnalysis}: the terminal configurations, and the non-progress cycles,
+/// each given by the configurations of its strongly connected component.
+public class DeadlockLivelockAnswer<C> {
+    public final List<C> deadlocks = new ArrayList<>();
+    public final List<List<C>> nonProgressCycles = new ArrayList<>();
+
+    public DeadlockLivelockAnswer() {}
+
+    /// @return true if no terminal configuration was found
+    public boolean deadlockFree() {
+        return deadlocks.isEmpty();
+    }
+
+    /// @return true if no cycle of non-progress actions was found
+    public boolean livelockFree() {
+        return nonProgressCycles.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "DeadlockLivelockAnswer{\n\t" +
+                "deadlocks=" + deadlocks +
+                ",\n\tnonProgressCycles=\n\t\t" + nonProgressCycles.stream().map(Object::toString).collect(Collectors.joining(";\n\t\t")) +
+                "\n}";
+    }
+}
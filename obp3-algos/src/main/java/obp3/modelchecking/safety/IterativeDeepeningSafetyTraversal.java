@@ -0,0 +1,186 @@
+package obp3.modelchecking.safety;
+
+import obp3.modelchecking.EmptinessCheckerAnswer;
+import obp3.modelchecking.EmptinessCheckerExecutable;
+import obp3.modelchecking.EmptinessCheckerStatus;
+import obp3.runtime.sli.IRootedGraph;
+import obp3.runtime.sli.Step;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/// A bounded safety check that raises its depth bound geometrically, to find a short violation.
+///
+/// The first iteration is a depth-first traversal bounded by {@code initialBound}; each next one doubles the bound,
+/// up to {@code maxBound} (or without limit if it is negative), until a violation is found,
+/// or an iteration cuts no configuration (the state space is complete).
+///
+/// The iterations do not restart from the roots. Every visited configuration keeps the minimal depth at which it
+/// was reached, and the configurations cut by the bound are kept as a frontier: the next iteration resumes
+/// from them. A configuration is expanded again only when it is reached at a smaller depth than before,
+/// since its subtree may have been cut by the bound. So the whole check costs about one bounded traversal,
+/// and the violation it finds is at most twice as deep as the shallowest one (for an initial bound of 1).
+///
+/// The trace of the violation follows the parents recorded with the minimal depths, from a root to the violation.
+public class IterativeDeepeningSafetyTraversal<V, A> implements EmptinessCheckerExecutable<V> {
+    static final int GROWTH_FACTOR = 2;
+
+    final IRootedGraph<V> graph;
+    final int initialBound;
+    final int maxBound;
+    final Function<V, A> reducer;
+    final Predicate<V> acceptingPredicate;
+
+    /// the minimal depth of the visited configurations, by reduced configuration
+    final Map<A, Visit<V>> visits = new HashMap<>();
+    /// the configurations cut by the bound of the current iteration
+    List<Cut<V>> frontier = new ArrayList<>();
+    final ArrayDeque<Frame<V>> stack = new ArrayDeque<>();
+    int bound;
+    long expansions = 0;
+
+    EmptinessCheckerAnswer<V> result = new EmptinessCheckerAnswer<>();
+    private final EmptinessCheckerStatus status = new EmptinessCheckerStatus();
+
+    static final class Visit<V> {
+        final V vertex;
+        int depth;
+        V parent;
+
+        Visit(V vertex, int depth, V parent) {
+            this.vertex = vertex;
+            this.depth = depth;
+            this.parent = parent;
+        }
+    }
+
+    /// a configuration reached at {@code depth}, the bound, and not expanded
+    record Cut<V>(Visit<V> visit, int depth) {}
+
+    record Frame<V>(Visit<V> visit, int depth, Iterator<V> neighbours) {}
+
+    public IterativeDeepeningSafetyTraversal(
+            IRootedGraph<V> graph,
+            int initialBound,
+            int maxBound,
+            Function<V, A> reducer,
+            Predicate<V> acceptingPredicate) {
+        if (initialBound <= 0) {
+            throw new IllegalArgumentException("Initial bound must be greater than 0, got: " + initialBound);
+        }
+        this.graph = graph;
+        this.initialBound = maxBound < 0 ? initialBound : Math.min(initialBound, maxBound);
+        this.maxBound = maxBound;
+        this.reducer = reducer;
+        this.acceptingPredicate = acceptingPredicate;
+    }
+
+    @SuppressWarnings("unchecked")
+    A key(V vertex) {
+        return reducer == null ? (A) vertex : reducer.apply(vertex);
+    }
+
+    /// @return the bound of the last iteration
+    public int bound() {
+        return bound;
+    }
+
+    /// @return the number of configurations expanded, counting the re-expansions at smaller depths
+    public long expansions() {
+        return expansions;
+    }
+
+    @Override
+    public EmptinessCheckerAnswer<V> run(Predicate<EmptinessCheckerStatus> hasToTerminatePredicate) {
+        bound = initialBound;
+        for (var roots = graph.roots(); roots.hasNext(); ) {
+            var root = roots.next();
+            var key = key(root);
+            var visit = visits.get(key);
+            if (visit == null) {
+                visit = new Visit<>(root, 0, null);
+                visits.put(key, visit);
+                if (accepts(visit)) return result;
+            } else if (visit.depth > 0) {
+                //reached from an earlier root, its subtree may have been cut: expand it again as a root
+                visit.depth = 0;
+                visit.parent = null;
+            } else {
+                continue;
+            }
+            if (!explore(visit, 0, hasToTerminatePredicate)) return result;
+        }
+        while (!frontier.isEmpty() && bound != maxBound) {
+            bound = bound > Integer.MAX_VALUE / GROWTH_FACTOR ? Integer.MAX_VALUE : bound * GROWTH_FACTOR;
+            if (maxBound >= 0) bound = Math.min(bound, maxBound);
+            var cuts = frontier;
+            frontier = new ArrayList<>();
+            for (var cut : cuts) {
+                //reached again at a smaller depth, it was already expanded from there
+                if (cut.visit().depth < cut.depth()) continue;
+                if (!explore(cut.visit(), cut.depth(), hasToTerminatePredicate)) return result;
+            }
+        }
+        return result;
+    }
+
+    /// Explores the configurations under the visit, down to the bound.
+    /// @return false if a violation was found or the termination was requested
+    boolean explore(Visit<V> start, int depth, Predicate<EmptinessCheckerStatus> hasToTerminatePredicate) {
+        if (!expand(start, depth)) return true;
+        while (!stack.isEmpty()) {
+            status.knownSize = visits.size();
+            status.worklistSize = stack.size();
+            if (hasToTerminatePredicate.test(status)) return false;
+            var frame = stack.peek();
+            if (!frame.neighbours().hasNext()) {
+                stack.pop();
+                continue;
+            }
+            var neighbour = frame.neighbours().next();
+            int neighbourDepth = frame.depth() + 1;
+            var key = key(neighbour);
+            var visit = visits.get(key);
+            if (visit == null) {
+                visit = new Visit<>(neighbour, neighbourDepth, frame.visit().vertex);
+                visits.put(key, visit);
+                if (accepts(visit)) return false;
+            } else if (visit.depth > neighbourDepth) {
+                //reached at a smaller depth, its subtree may have been cut: expand it again
+                visit.depth = neighbourDepth;
+                visit.parent = frame.visit().vertex;
+            } else {
+                continue;
+            }
+            expand(visit, neighbourDepth);
+        }
+        return true;
+    }
+
+    /// Pushes the visit if it is above the bound, adds it to the frontier otherwise.
+    /// @return true if it was pushed
+    boolean expand(Visit<V> visit, int depth) {
+        if (depth >= bound) {
+            frontier.add(new Cut<>(visit, depth));
+            return false;
+        }
+        expansions++;
+        stack.push(new Frame<>(visit, depth, graph.neighbours(visit.vertex)));
+        return true;
+    }
+
+    boolean accepts(Visit<V> visit) {
+        if (!acceptingPredicate.test(visit.vertex)) return false;
+        result.holds = false;
+        result.witness = new Step<>(visit.parent, Optional.empty(), visit.vertex);
+        List<V> trace = new ArrayList<>();
+        for (var current = visit; ; current = visits.get(key(current.parent))) {
+            trace.add(current.vertex);
+            if (current.parent == null) break;
+        }
+        result.trace = trace.reversed();
+        stack.clear();
+        return true;
+    }
+}
@@ -93,6 +93,15 @@ public record BuchiModelCheckerModel<MA, MC, PA, PC>(
         };
     }
 
+    /**
+     * The single check of the iterative deepening bound, shared by all the builders of a Buchi model checker.
+     */
+    static void checkNoIterativeDeepening(int iterativeDeepeningBound) {
+        if (iterativeDeepeningBound > 0) {
+            throw new IllegalStateException("Iterative deepening is for the safety checks, a bounded search cannot close the accepting cycles.");
+        }
+    }
+
     public BuchiModelCheckerBuilder<MA, MC, PA, PC> builder() {
         return new BuchiModelCheckerBuilder<>();
     }
@@ -106,6 +115,7 @@ public record BuchiModelCheckerModel<MA, MC, PA, PC>(
         }
 
         public BuchiModelCheckerModel<MA, MC, PA, PC> build() {
+            checkNoIterativeDeepening(iterativeDeepeningBound);
             return new BuchiModelCheckerModel<>(
                     modelSemantics, atomicPropositionEvaluator, propertySemanticsProvider, acceptingPredicateForProduct,
                     emptinessCheckerAlgorithm, traversalStrategy, depthBound, reducer);
@@ -32,6 +32,7 @@ public class ModelCheckerBuilder<MA, MC, PA, PC> {
     private DepthFirstTraversal.Algorithm traversalStrategy = DepthFirstTraversal.Algorithm.WHILE;
     private boolean isBuchi = false;
     private int depthBound = -1;
+    private int iterativeDeepeningBound = 0;
     private Function reducer = Function.identity();
 
     public static <MA, MC, PA, PC> ModelCheckerBuilder<MA, MC, PA, PC> builder() {
@@ -98,6 +99,19 @@ public class ModelCheckerBuilder<MA, MC, PA, PC> {
         return this;
     }
 
+    /**
+     * Raise the depth bound geometrically from initialBound (up to the depth bound, if any) until a violation is found,
+     * keeping the minimal depth of the visited states across the iterations. For the safety checks only.
+     * The traversalStrategy is not used then.
+     */
+    public ModelCheckerBuilder<MA, MC, PA, PC> iterativeDeepening(int initialBound) {
+        if (initialBound <= 0) {
+            throw new IllegalArgumentException("Initial bound must be greater than 0, got: " + initialBound);
+        }
+        this.iterativeDeepeningBound = initialBound;
+        return this;
+    }
+
     public ModelCheckerBuilder<MA, MC, PA, PC> reducer(Function reducer) {
         this.reducer = reducer;
         return this;
@@ -125,7 +139,8 @@ public class ModelCheckerBuilder<MA, MC, PA, PC> {
                 acceptingPredicateForModel,
                 traversalStrategy,
                 depthBound,
-                reducer
+                reducer,
+                iterativeDeepeningBound
         );
     }
 
@@ -151,7 +166,8 @@ public class ModelCheckerBuilder<MA, MC, PA, PC> {
                 acceptingPredicateForProduct,
                 traversalStrategy,
                 depthBound,
-                reducer
+                reducer,
+                iterativeDeepeningBound
         );
     }
 
@@ -170,6 +186,7 @@ public class ModelCheckerBuilder<MA, MC, PA, PC> {
         if (!isBuchi) {
             throw new IllegalStateException("buchi must be set to true for BuchiModelCheckerModel. Call buchi(true).");
         }
+        BuchiModelCheckerModel.checkNoIterativeDeepening(iterativeDeepeningBound);
         return new BuchiModelCheckerModel<>(
                 modelSemantics,
                 atomicPropositionEvaluator,
@@ -13,6 +13,7 @@ public class ModelCheckerBuilderBase<MA, MC, RT, SELF extends ModelCheckerBuilde
     Predicate<MC> acceptingPredicate;
     DepthFirstTraversal.Algorithm traversalStrategy;
     int depthBound = -1;
+    int iterativeDeepeningBound = 0;
     Function<RT, ?> reducer = Function.identity();
 
     @SuppressWarnings("unchecked")
@@ -54,6 +55,18 @@ public class ModelCheckerBuilderBase<MA, MC, RT, SELF extends ModelCheckerBuilde
         return self();
     }
 
+    /**
+     * Raise the depth bound geometrically from initialBound (up to the depth bound, if any) until a violation is found.
+     * For the safety checks only, and it replaces the traversalStrategy: the iterations run their own depth-first search.
+     */
+    public SELF iterativeDeepening(int initialBound) {
+        if (initialBound <= 0) {
+            throw new IllegalArgumentException("Initial bound must be greater than 0, got: " + initialBound);
+        }
+        this.iterativeDeepeningBound = initialBound;
+        return self();
+    }
+
     public SELF reducer(Function<RT, ?> reducer) {
         this.reducer = reducer;
         return self();
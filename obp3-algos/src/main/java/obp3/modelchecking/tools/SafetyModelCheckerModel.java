@@ -1,6 +1,7 @@
 package obp3.modelchecking.tools;
 
 import obp3.modelchecking.EmptinessCheckerExecutable;
+import obp3.modelchecking.safety.IterativeDeepeningSafetyTraversal;
 import obp3.modelchecking.safety.SafetyDepthFirstTraversal;
 import obp3.runtime.sli.DependentSemanticRelation;
 import obp3.runtime.sli.SemanticRelation;
@@ -17,6 +18,8 @@ import java.util.function.Function;
 /**
  * Safety model checker with property semantics - checks product of model and property states.
  * Requires all four type parameters: MA, MC, PA, PC.
+ * With a positive iterativeDeepeningBound, the depth bound is raised geometrically from it, up to depthBound.
+ * The traversalStrategy only applies without iterative deepening.
  */
 public record SafetyModelCheckerModel<MA, MC, PA, PC>(
         SemanticRelation<MA, MC> modelSemantics,
@@ -25,7 +28,20 @@ public record SafetyModelCheckerModel<MA, MC, PA, PC>(
         BiPredicate<Product<MC, PC>, Product<SemanticRelation<MA, MC>, DependentSemanticRelation<Step<MA, MC>, PA, PC>>> acceptingPredicateForProduct,
         DepthFirstTraversal.Algorithm traversalStrategy,
         int depthBound,
-        Function<Product<MC, PC>, ?> reducer) implements ModelCheckerModel<Product<MC, PC>> {
+        Function<Product<MC, PC>, ?> reducer,
+        int iterativeDeepeningBound) implements ModelCheckerModel<Product<MC, PC>> {
+
+    public SafetyModelCheckerModel(
+            SemanticRelation<MA, MC> modelSemantics,
+            BiPredicate<String, Step<MA,MC>> atomicPropositionEvaluator,
+            Function<BiPredicate<String, Step<MA,MC>>, DependentSemanticRelation<Step<MA, MC>, PA, PC>> propertySemanticsProvider,
+            BiPredicate<Product<MC, PC>, Product<SemanticRelation<MA, MC>, DependentSemanticRelation<Step<MA, MC>, PA, PC>>> acceptingPredicateForProduct,
+            DepthFirstTraversal.Algorithm traversalStrategy,
+            int depthBound,
+            Function<Product<MC, PC>, ?> reducer) {
+        this(modelSemantics, atomicPropositionEvaluator, propertySemanticsProvider, acceptingPredicateForProduct,
+                traversalStrategy, depthBound, reducer, 0);
+    }
 
     @Override
     public EmptinessCheckerExecutable<Product<MC, PC>> modelChecker() {
@@ -33,6 +49,14 @@ public record SafetyModelCheckerModel<MA, MC, PA, PC>(
         var propertySemantics = this.propertySemanticsProvider.apply(atomEvaluator);
         var product = new StepSynchronousProductSemantics<>(new StepProductParameters<>(modelSemantics, propertySemantics));
         var rootedGraph = new SemanticRelation2RootedGraph<>(product);
+        if (this.iterativeDeepeningBound > 0) {
+            return new IterativeDeepeningSafetyTraversal<>(
+                    rootedGraph,
+                    this.iterativeDeepeningBound,
+                    this.depthBound,
+                    this.reducer,
+                    (c) -> this.acceptingPredicateForProduct.test(c, new Product<>(modelSemantics, propertySemantics)));
+        }
 
         return new SafetyDepthFirstTraversal<>(
                 this.traversalStrategy,
@@ -50,7 +74,7 @@ public record SafetyModelCheckerModel<MA, MC, PA, PC>(
         public SafetyModelCheckerModel<MA, MC, PA, PC> build() {
             return new SafetyModelCheckerModel<>(
                     modelSemantics, atomicPropositionEvaluator, propertySemanticsProvider, acceptingPredicateForProduct,
-                    traversalStrategy, depthBound, reducer);
+                    traversalStrategy, depthBound, reducer, iterativeDeepeningBound);
         }
     }
 
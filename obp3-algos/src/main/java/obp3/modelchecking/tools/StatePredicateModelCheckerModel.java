@@ -1,6 +1,7 @@
 package obp3.modelchecking.tools;
 
 import obp3.modelchecking.EmptinessCheckerExecutable;
+import obp3.modelchecking.safety.IterativeDeepeningSafetyTraversal;
 import obp3.modelchecking.safety.SafetyDepthFirstTraversal;
 import obp3.runtime.sli.SemanticRelation;
 import obp3.sli.core.operators.SemanticRelation2RootedGraph;
@@ -12,17 +13,37 @@ import java.util.function.Predicate;
 /**
  * Safety model checker without property semantics - only checks model states directly.
  * Only requires MA and MC type parameters.
+ * With a positive iterativeDeepeningBound, the depth bound is raised geometrically from it, up to depthBound.
+ * The traversalStrategy only applies without iterative deepening.
  */
 public record StatePredicateModelCheckerModel<MA, MC>(
         SemanticRelation<MA, MC> modelSemantics,
         Predicate<MC> acceptingPredicate,
         DepthFirstTraversal.Algorithm traversalStrategy,
         int depthBound,
-        Function<MC, ?> reducer) implements ModelCheckerModel<MC> {
+        Function<MC, ?> reducer,
+        int iterativeDeepeningBound) implements ModelCheckerModel<MC> {
+
+    public StatePredicateModelCheckerModel(
+            SemanticRelation<MA, MC> modelSemantics,
+            Predicate<MC> acceptingPredicate,
+            DepthFirstTraversal.Algorithm traversalStrategy,
+            int depthBound,
+            Function<MC, ?> reducer) {
+        this(modelSemantics, acceptingPredicate, traversalStrategy, depthBound, reducer, 0);
+    }
 
     @Override
     public EmptinessCheckerExecutable<MC> modelChecker() {
         var rootedGraph = new SemanticRelation2RootedGraph<>(this.modelSemantics);
+        if (this.iterativeDeepeningBound > 0) {
+            return new IterativeDeepeningSafetyTraversal<>(
+                    rootedGraph,
+                    this.iterativeDeepeningBound,
+                    this.depthBound,
+                    this.reducer,
+                    this.acceptingPredicate);
+        }
         return new SafetyDepthFirstTraversal<>(
                 this.traversalStrategy,
                 rootedGraph,
@@ -38,7 +59,7 @@ public record StatePredicateModelCheckerModel<MA, MC>(
         public StatePredicateModelCheckerModel<MA, MC> build() {
             return new StatePredicateModelCheckerModel<>(
                     modelSemantics, acceptingPredicate,
-                    traversalStrategy, depthBound, reducer);
+                    traversalStrategy, depthBound, reducer, iterativeDeepeningBound);
         }
     }
 }
@@ -31,7 +31,7 @@ public class XModelCheckerBuilder<MA, MC, PA, PC> extends ModelCheckerBuilderWit
         }
 
         if (isBuchi) {
-            return new BuchiModelCheckerModel.BuchiModelCheckerBuilder<MA, MC, PA, PC>()
+            var buchi = new BuchiModelCheckerModel.BuchiModelCheckerBuilder<MA, MC, PA, PC>()
                     .modelSemantics(modelSemantics)
                     .atomicPropositionEvaluator(atomicPropositionEvaluator)
                     .propertySemantics(propertySemanticsProvider)
@@ -39,20 +39,25 @@ public class XModelCheckerBuilder<MA, MC, PA, PC> extends ModelCheckerBuilderWit
                     .emptinessCheckerAlgorithm(emptinessCheckerAlgorithm)
                     .traversalStrategy(traversalStrategy)
                     .depthBound(depthBound)
-                    .reducer(reducer)
-                    .build()
-                    .modelChecker();
+                    .reducer(reducer);
+            //rejected by build()
+            if (iterativeDeepeningBound > 0) {
+                buchi.iterativeDeepening(iterativeDeepeningBound);
+            }
+            return buchi.build().modelChecker();
         }
-        return new SafetyModelCheckerModel.SafetyModelCheckerBuilder<MA, MC, PA, PC>()
+        var safety = new SafetyModelCheckerModel.SafetyModelCheckerBuilder<MA, MC, PA, PC>()
                 .modelSemantics(modelSemantics)
                 .atomicPropositionEvaluator(atomicPropositionEvaluator)
                 .propertySemantics(propertySemanticsProvider)
                 .acceptingPredicateForProduct(acceptingPredicateForProduct)
                 .traversalStrategy(traversalStrategy)
                 .depthBound(depthBound)
-                .reducer(reducer)
-                .build()
-                .modelChecker();
+                .reducer(reducer);
+        if (iterativeDeepeningBound > 0) {
+            safety.iterativeDeepening(iterativeDeepeningBound);
+        }
+        return safety.build().modelChecker();
     }
 
 }
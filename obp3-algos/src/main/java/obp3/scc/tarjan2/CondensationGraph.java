@@ -0,0 +1,176 @@
+package obp3.scc.tarjan2;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/// The condensation of a graph: its strongly connected components, and the edges between them, which form a DAG.
+///
+/// It is built by the {@link CondensationTarjanCallbacks} during the Tarjan traversal, so the queries on the
+/// components (reachability, attractors) do not traverse the state graph again.
+///
+/// The components are numbered from 0 in the order Tarjan completes them, which is a reverse topological order:
+/// every edge goes from a component to a component with a smaller id.
+/// The queries are single passes over the ids in that order.
+///
+/// The representation is compact, in the CSR style, a component {@code c} has
+/// - its members in {@code members[memberStart[c] .. memberStart[c + 1])}, as vertex ids of the {@link DenseTarjanMemory}
+/// - its successors in {@code targets[edgeStart[c] .. edgeStart[c + 1])}, without duplicates
+///
+/// Both are appended when the component completes, so the arrays are filled in order, without a final pass.
+public class CondensationGraph<V> {
+    final DenseTarjanMemory<V> memory;
+    int count = 0;
+    /// the component of each vertex id, -1 while its component is not complete
+    int[] componentOf = new int[16];
+    int[] members = new int[16];
+    int[] memberStart = new int[17];
+    int[] targets = new int[16];
+    int edgeCount = 0;
+    int[] edgeStart = new int[17];
+    /// the components with a cycle, more than one member or a self-loop
+    final BitSet cyclic = new BitSet();
+
+    CondensationGraph(DenseTarjanMemory<V> memory) {
+        this.memory = memory;
+        Arrays.fill(componentOf, -1);
+    }
+
+    /// @return the Tarjan state of the traversal, with the vertex ids of the members
+    public DenseTarjanMemory<V> memory() {
+        return memory;
+    }
+
+    /// @return the number of components
+    public int componentCount() {
+        return count;
+    }
+
+    /// @return the number of edges between components
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /// @return the component of the vertex, or -1 if it was not reached or its component is not complete
+    public int componentOf(V vertex) {
+        int id = memory.idOf(vertex);
+        return id < 0 ? -1 : componentOfId(id);
+    }
+
+    /// @return the component of the vertex id of the {@link DenseTarjanMemory}, or -1 if it is not complete
+    public int componentOfId(int id) {
+        return id >= componentOf.length ? -1 : componentOf[id];
+    }
+
+    /// @return the number of vertices of the component
+    public int size(int component) {
+        return memberStart[component + 1] - memberStart[component];
+    }
+
+    public List<V> members(int component) {
+        List<V> result = new ArrayList<>(size(component));
+        for (int i = memberStart[component]; i < memberStart[component + 1]; i++) {
+            result.add(memory.vertex(members[i]));
+        }
+        return result;
+    }
+
+    public int outDegree(int component) {
+        return edgeStart[component + 1] - edgeStart[component];
+    }
+
+    public void forEachSuccessor(int component, IntConsumer action) {
+        for (int i = edgeStart[component]; i < edgeStart[component + 1]; i++) {
+            action.accept(targets[i]);
+        }
+    }
+
+    /// @return true if the component has no successor component
+    public boolean isTerminal(int component) {
+        return edgeStart[component + 1] == edgeStart[component];
+    }
+
+    /// @return true if the component contains a cycle: it has several vertices, or a single vertex with a self-loop
+    public boolean isCyclic(int component) {
+        return cyclic.get(component);
+    }
+
+    /// The components reachable from a component, including itself.
+    /// The successors have smaller ids, so one descending pass from {@code from} finds them all.
+    public BitSet reachableFrom(int from) {
+        var reached = new BitSet(from + 1);
+        reached.set(from);
+        for (int c = from; c >= 0; c = reached.previousSetBit(c - 1)) {
+            forEachSuccessor(c, reached::set);
+        }
+        return reached;
+    }
+
+    /// The attractor of the target components: the components from which a target is reachable, the targets included.
+    /// The successors have smaller ids, so one ascending pass decides every component,
+    /// and the result answers the reachability question for all the sources at once.
+    public BitSet attractor(IntPredicate target) {
+        var attractor = new BitSet(count);
+        for (int c = 0; c < count; c++) {
+            if (target.test(c)) {
+                attractor.set(c);
+                continue;
+            }
+            for (int i = edgeStart[c]; i < edgeStart[c + 1]; i++) {
+                if (attractor.get(targets[i])) {
+                    attractor.set(c);
+                    break;
+                }
+            }
+        }
+        return attractor;
+    }
+
+    /// @return true if a target component is reachable from the component, stopping at the first one found
+    public boolean canReach(int from, IntPredicate target) {
+        var visited = new BitSet(from + 1);
+        var stack = new ArrayDeque<Integer>();
+        stack.push(from);
+        visited.set(from);
+        while (!stack.isEmpty()) {
+            int c = stack.pop();
+            if (target.test(c)) return true;
+            for (int i = edgeStart[c]; i < edgeStart[c + 1]; i++) {
+                int next = targets[i];
+                if (visited.get(next)) continue;
+                visited.set(next);
+                stack.push(next);
+            }
+        }
+        return false;
+    }
+
+    /// Appends a completed component, with its members and the deduplicated ids of its successor components.
+    /// @return the id of the new component
+    int addComponent(int[] memberIds, int memberCount, int[] successors, int successorCount, boolean selfLoop) {
+        int c = count++;
+        if (c + 2 > memberStart.length) {
+            memberStart = Arrays.copyOf(memberStart, memberStart.length * 2);
+            edgeStart = Arrays.copyOf(edgeStart, edgeStart.length * 2);
+        }
+        int first = memberStart[c];
+        while (first + memberCount > members.length) members = Arrays.copyOf(members, members.length * 2);
+        for (int i = 0; i < memberCount; i++) {
+            int id = memberIds[i];
+            if (id >= componentOf.length) {
+                int old = componentOf.length;
+                componentOf = Arrays.copyOf(componentOf, Math.max(old * 2, id + 1));
+                Arrays.fill(componentOf, old, componentOf.length, -1);
+            }
+            componentOf[id] = c;
+            members[first + i] = id;
+        }
+        memberStart[c + 1] = first + memberCount;
+        while (edgeCount + successorCount > targets.length) targets = Arrays.copyOf(targets, targets.length * 2);
+        System.arraycopy(successors, 0, targets, edgeCount, successorCount);
+        edgeCount += successorCount;
+        edgeStart[c + 1] = edgeCount;
+        if (memberCount > 1 || selfLoop) cyclic.set(c);
+        return c;
+    }
+}
@@ -0,0 +1,41 @@
+package obp3.scc.tarjan2;
+
+import obp3.utils.Either;
+import obp3.runtime.IExecutable;
+import obp3.runtime.sli.IRootedGraph;
+import obp3.sli.core.operators.product.Product;
+import obp3.traversal.dfs.DepthFirstTraversal;
+import obp3.traversal.dfs.domain.IDepthFirstTraversalConfiguration;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/// The {@link DenseTarjanStronglyConnectedComponentsAlgoT} that also builds the {@link CondensationGraph}
+/// of the graph, during the same traversal, for the later reachability and attractor queries on the components.
+public class CondensationStronglyConnectedComponentsAlgoT<V, A> implements IExecutable<Either<IDepthFirstTraversalConfiguration<V, A>, Product<IDepthFirstTraversalConfiguration<V, A>, Boolean>>, CondensationGraph<V>> {
+
+    final CondensationTarjanCallbacks<V, A> tarjanCallbacks = new CondensationTarjanCallbacks<>();
+    final IExecutable<Either<IDepthFirstTraversalConfiguration<V, A>, Product<IDepthFirstTraversalConfiguration<V, A>, Boolean>>, IDepthFirstTraversalConfiguration<V, A>> algorithm;
+
+    public CondensationStronglyConnectedComponentsAlgoT(IRootedGraph<V> graph) {
+        this(DepthFirstTraversal.Algorithm.WHILE, graph, -1, null);
+    }
+
+    public CondensationStronglyConnectedComponentsAlgoT(IRootedGraph<V> graph, int depthBound, Function<V, A> reducer) {
+        this(DepthFirstTraversal.Algorithm.WHILE, graph, depthBound, reducer);
+    }
+
+    public CondensationStronglyConnectedComponentsAlgoT(DepthFirstTraversal.Algorithm traversalAlgorithm, IRootedGraph<V> graph) {
+        this(traversalAlgorithm, graph, -1, null);
+    }
+
+    public CondensationStronglyConnectedComponentsAlgoT(DepthFirstTraversal.Algorithm traversalAlgorithm, IRootedGraph<V> graph, int depthBound, Function<V, A> reducer) {
+        algorithm = new DepthFirstTraversal<>(traversalAlgorithm, graph, depthBound, reducer, tarjanCallbacks);
+    }
+
+    @Override
+    public CondensationGraph<V> run(Predicate<Either<IDepthFirstTraversalConfiguration<V, A>, Product<IDepthFirstTraversalConfiguration<V, A>, Boolean>>> hasToTerminatePredicate) {
+        algorithm.run(hasToTerminatePredicate);
+        return tarjanCallbacks.condensation;
+    }
+}
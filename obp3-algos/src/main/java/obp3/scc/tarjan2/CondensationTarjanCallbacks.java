@@ -0,0 +1,104 @@
+package obp3.scc.tarjan2;
+
+import obp3.traversal.dfs.domain.IDepthFirstTraversalConfiguration;
+
+import java.util.Arrays;
+
+/// The {@link DenseTarjanCallbacks} that also build the {@link CondensationGraph} of the traversed graph.
+///
+/// An edge {@code v -> w} is decided when it is seen: if the component of {@code w} is complete, it is an edge between
+/// components, otherwise {@code w} is on the Tarjan stack, and it is in the component of {@code v}.
+/// The tree edges are seen when {@code w} exits, the others in {@code onKnown}.
+/// The component of {@code v} is not complete yet, so the target component is pushed on a pending stack.
+/// The pending edges of the vertices of a component are above the height of the stack when its leader was entered:
+/// the components completed in between have popped theirs. When the component completes, its pending edges
+/// are popped, deduplicated, and appended to the graph.
+public class CondensationTarjanCallbacks<V, AV> extends DenseTarjanCallbacks<V, AV> {
+    /// the pending target of a self-loop
+    private static final int SELF_LOOP = -1;
+
+    public final CondensationGraph<V> condensation;
+    private int[] pending = new int[16];
+    private int pendingCount = 0;
+    /// the pending stack heights at the entry of the vertices of the DFS stack, parallel to {@link #path}
+    private int[] marks = new int[16];
+    /// the last component that added each component as a successor, to deduplicate the edges
+    private int[] lastSource = new int[16];
+    private int[] scratch = new int[16];
+
+    public CondensationTarjanCallbacks() {
+        this(new DenseTarjanMemory<>());
+    }
+
+    public CondensationTarjanCallbacks(DenseTarjanMemory<V> memory) {
+        super(memory);
+        condensation = new CondensationGraph<>(memory);
+    }
+
+    @Override
+    public boolean onEntry(V source, V vertex, IDepthFirstTraversalConfiguration<V, AV> configuration) {
+        if (depth == marks.length) marks = Arrays.copyOf(marks, depth * 2);
+        marks[depth] = pendingCount;
+        return super.onEntry(source, vertex, configuration);
+    }
+
+    @Override
+    protected void known(int v, int w) {
+        super.known(v, w);
+        if (v >= 0) {
+            edge(v, w);
+        }
+    }
+
+    @Override
+    protected void exit(int v, int w) {
+        boolean lead = memory.isLead(w);
+        int followers = memory.followerCount;
+        super.exit(v, w);
+        if (lead) {
+            complete(w, followers, marks[depth]);
+        }
+        if (v >= 0) {
+            edge(v, w);
+        }
+    }
+
+    private void edge(int source, int target) {
+        int c = condensation.componentOfId(target);
+        if (c < 0 && source != target) return;
+        if (pendingCount == pending.length) pending = Arrays.copyOf(pending, pendingCount * 2);
+        pending[pendingCount++] = c < 0 ? SELF_LOOP : c;
+    }
+
+    /// Appends the component led by {@code leader}: the leader and the followers popped by its exit,
+    /// with the pending edges above {@code mark}.
+    private void complete(int leader, int followersBefore, int mark) {
+        int memberCount = followersBefore - memory.followerCount + 1;
+        if (scratch.length < Math.max(memberCount, pendingCount - mark)) {
+            scratch = new int[Math.max(memberCount, pendingCount - mark) * 2];
+        }
+        //the popped followers are still in the array, above the new top
+        System.arraycopy(memory.followers, memory.followerCount, scratch, 0, memberCount - 1);
+        scratch[memberCount - 1] = leader;
+        int[] memberIds = Arrays.copyOf(scratch, memberCount);
+
+        int c = condensation.count;
+        if (c >= lastSource.length) {
+            int old = lastSource.length;
+            lastSource = Arrays.copyOf(lastSource, Math.max(old * 2, c + 1));
+        }
+        boolean selfLoop = false;
+        int successorCount = 0;
+        for (int i = mark; i < pendingCount; i++) {
+            int target = pending[i];
+            if (target == SELF_LOOP) {
+                selfLoop = true;
+            } else if (lastSource[target] != c + 1) {
+                lastSource[target] = c + 1;
+                scratch[successorCount++] = target;
+            }
+        }
+        pendingCount = mark;
+        condensation.addComponent(memberIds, memberCount, scratch, successorCount, selfLoop);
+    }
+}
@@ -0,0 +1,88 @@
+package obp3.scc.tarjan2;
+
+import obp3.traversal.dfs.domain.IDepthFirstTraversalConfiguration;
+import obp3.traversal.dfs.model.IDepthFirstTraversalCallbacksModel;
+
+import java.util.Arrays;
+
+/// The {@link TarjanCallbacks} over the dense ids and primitive arrays of a {@link DenseTarjanMemory}.
+public class DenseTarjanCallbacks<V, AV> implements IDepthFirstTraversalCallbacksModel<V, AV> {
+    public DenseTarjanMemory<V> memory;
+    /// the ids of the vertices of the DFS stack, so that the callbacks do not look their source up again
+    protected int[] path = new int[16];
+    /// the number of vertices on the DFS stack
+    protected int depth = 0;
+
+    public DenseTarjanCallbacks() {
+        this(new DenseTarjanMemory<>());
+    }
+
+    public DenseTarjanCallbacks(DenseTarjanMemory<V> memory) {
+        this.memory = memory;
+    }
+
+    /// @return the id of the vertex on top of the DFS stack, -1 under the roots
+    protected int top() {
+        return depth > 0 ? path[depth - 1] : -1;
+    }
+
+    @Override
+    public boolean onEntry(V source, V vertex, IDepthFirstTraversalConfiguration<V, AV> configuration) {
+        memory.time++;
+        int id = memory.intern(vertex);
+        memory.low[id] = memory.time;
+        memory.setLead(id, true);
+        if (depth == path.length) path = Arrays.copyOf(path, depth * 2);
+        path[depth++] = id;
+        return false;
+    }
+
+    @Override
+    public boolean onKnown(V source, V vertex, IDepthFirstTraversalConfiguration<V, AV> configuration) {
+        //the source is the top of the DFS stack
+        known(top(), memory.idOf(vertex));
+        return false;
+    }
+
+    /// The known edge {@code v -> w}, {@code v} is -1 for a root.
+    protected void known(int v, int w) {
+        //retreat on known
+        if (v >= 0 && memory.low[w] < memory.low[v]) {
+            memory.low[v] = memory.low[w];
+            memory.setLead(v, false);
+        }
+    }
+
+    @Override
+    public boolean onExit(V vertex, IDepthFirstTraversalConfiguration.StackFrame<V> frame, IDepthFirstTraversalConfiguration<V, AV> configuration) {
+        int w = path[--depth];
+        exit(top(), w);
+        return false;
+    }
+
+    /// The exit of {@code w} back to its parent {@code v}, -1 for a root; {@link #depth} is already the height of {@code w}.
+    protected void exit(int v, int w) {
+        var low = memory.low;
+        //retreat
+        if (v >= 0 && low[w] < low[v]) {
+            low[v] = low[w];
+            memory.setLead(v, false);
+        }
+        //postvisit
+        if (memory.isLead(w)) {
+            var followers = memory.followers;
+            while (memory.followerCount > 0) {
+                int x = followers[memory.followerCount - 1];
+                if (low[x] < low[w]) break;
+                //remove only after confirming
+                memory.followerCount--;
+                memory.ptr[x] = w;
+                low[x] = Integer.MAX_VALUE;
+            }
+            memory.ptr[w] = w;
+            low[w] = Integer.MAX_VALUE;
+        } else {
+            memory.pushFollower(w);
+        }
+    }
+}
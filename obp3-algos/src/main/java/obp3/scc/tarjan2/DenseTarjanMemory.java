@@ -0,0 +1,147 @@
+package obp3.scc.tarjan2;
+
+import obp3.utils.Hashable;
+
+import java.util.*;
+
+/// The state of the Tarjan T algorithm in parallel primitive arrays, indexed by dense vertex ids.
+///
+/// {@link TarjanMemory} keeps a {@link obp3.scc.TarjanVertexData} object per vertex in a {@link HashMap},
+/// with a boxed time and a deque of vertices, about 80 bytes per vertex before the vertex itself.
+/// Here a vertex gets the next int id when it is entered, and its data is
+/// - its {@code low} value, in an {@code int[]}
+/// - its {@code lead} flag, in a bitset
+/// - the id of the leader of its component ({@code ptr}), in an {@code int[]}, -1 while it is not assigned
+///
+/// The followers are an {@code int[]} stack of ids.
+/// The vertex to id index is an open addressing table of ids (linear probing, ids are stored as {@code id + 1},
+/// 0 is a free slot) over the {@code vertices} array, so the vertices are not boxed in entries.
+/// A vertex costs about 8 bytes of Tarjan data, 4 bytes for its reference, 6 bytes of index at the 2/3 load factor,
+/// and at most 4 bytes of follower stack.
+public class DenseTarjanMemory<V> {
+    private static final double MAX_LOAD_FACTOR = 0.667;
+
+    final Hashable<V> hashable;
+    Object[] vertices;
+    int[] low;
+    int[] ptr;
+    long[] lead;
+    int size = 0;
+
+    int[] followers;
+    int followerCount = 0;
+    int time = 0;
+
+    /// the ids + 1 of the vertices, 0 for a free slot
+    int[] index;
+
+    public DenseTarjanMemory() {
+        this(Hashable.standard(), 16);
+    }
+
+    /// @param hashable the equality of the vertices
+    /// @param capacity the initial number of vertices
+    public DenseTarjanMemory(Hashable<V> hashable, int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("the capacity should be positive, got " + capacity);
+        this.hashable = hashable;
+        vertices = new Object[capacity];
+        low = new int[capacity];
+        ptr = new int[capacity];
+        lead = new long[(capacity + 63) >>> 6];
+        followers = new int[capacity];
+        index = new int[(int) (capacity / MAX_LOAD_FACTOR) + 1];
+    }
+
+    /// @return the number of vertices that got an id
+    public int size() {
+        return size;
+    }
+
+    /// @return the vertex of the id
+    @SuppressWarnings("unchecked")
+    public V vertex(int id) {
+        return (V) vertices[id];
+    }
+
+    /// @return the id of the leader of the component of the vertex id, or -1 if its component is not complete yet
+    public int componentOf(int id) {
+        return ptr[id];
+    }
+
+    /// @return the id of the vertex, or -1 if it was never entered
+    public int idOf(V vertex) {
+        int slot = Math.floorMod(hashable.hash(vertex), index.length);
+        while (index[slot] != 0) {
+            int id = index[slot] - 1;
+            if (hashable.equal(vertex, vertex(id))) return id;
+            slot = slot + 1 == index.length ? 0 : slot + 1;
+        }
+        return -1;
+    }
+
+    /// @return the id of the vertex, given the next id if it has none
+    int intern(V vertex) {
+        int slot = Math.floorMod(hashable.hash(vertex), index.length);
+        while (index[slot] != 0) {
+            int id = index[slot] - 1;
+            if (hashable.equal(vertex, vertex(id))) return id;
+            slot = slot + 1 == index.length ? 0 : slot + 1;
+        }
+        int id = size++;
+        if (id == vertices.length) grow();
+        vertices[id] = vertex;
+        ptr[id] = -1;
+        if (size > index.length * MAX_LOAD_FACTOR) {
+            rehash(index.length * 2);
+        } else {
+            index[slot] = id + 1;
+        }
+        return id;
+    }
+
+    private void grow() {
+        int capacity = vertices.length * 2;
+        vertices = Arrays.copyOf(vertices, capacity);
+        low = Arrays.copyOf(low, capacity);
+        ptr = Arrays.copyOf(ptr, capacity);
+        lead = Arrays.copyOf(lead, (capacity + 63) >>> 6);
+    }
+
+    /// reinserts the ids, in the order of the vertices, hashing them again
+    private void rehash(int capacity) {
+        index = new int[capacity];
+        for (int id = 0; id < size; id++) {
+            int slot = Math.floorMod(hashable.hash(vertex(id)), capacity);
+            while (index[slot] != 0) {
+                slot = slot + 1 == capacity ? 0 : slot + 1;
+            }
+            index[slot] = id + 1;
+        }
+    }
+
+    boolean isLead(int id) {
+        return (lead[id >>> 6] & (1L << id)) != 0;
+    }
+
+    void setLead(int id, boolean value) {
+        if (value) lead[id >>> 6] |= 1L << id;
+        else lead[id >>> 6] &= ~(1L << id);
+    }
+
+    void pushFollower(int id) {
+        if (followerCount == followers.length) {
+            followers = Arrays.copyOf(followers, followerCount * 2);
+        }
+        followers[followerCount++] = id;
+    }
+
+    /// @return the complete components, keyed by their leader, as {@link TarjanMemory#getStronglyConnectedComponents()} does
+    public Map<V, Set<V>> getStronglyConnectedComponents() {
+        Map<V, Set<V>> components = new HashMap<>();
+        for (int id = 0; id < size; id++) {
+            if (ptr[id] < 0) continue;
+            components.computeIfAbsent(vertex(ptr[id]), _ -> new HashSet<>()).add(vertex(id));
+        }
+        return components;
+    }
+}
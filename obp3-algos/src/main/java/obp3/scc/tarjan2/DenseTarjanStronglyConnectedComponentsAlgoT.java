@@ -0,0 +1,42 @@
+package obp3.scc.tarjan2;
+
+import obp3.utils.Either;
+import obp3.runtime.IExecutable;
+import obp3.runtime.sli.IRootedGraph;
+import obp3.sli.core.operators.product.Product;
+import obp3.traversal.dfs.DepthFirstTraversal;
+import obp3.traversal.dfs.domain.IDepthFirstTraversalConfiguration;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/// The {@link TarjanStronglyConnectedComponentsAlgoT}, with its state in a {@link DenseTarjanMemory}:
+/// the same traversal and callbacks, over dense vertex ids and primitive arrays instead of a map of vertex data,
+/// for the state graphs with tens of millions of vertices.
+public class DenseTarjanStronglyConnectedComponentsAlgoT<V, A> implements IExecutable<Either<IDepthFirstTraversalConfiguration<V, A>, Product<IDepthFirstTraversalConfiguration<V, A>, Boolean>>, DenseTarjanMemory<V>> {
+
+    final DenseTarjanCallbacks<V, A> tarjanCallbacks = new DenseTarjanCallbacks<>();
+    final IExecutable<Either<IDepthFirstTraversalConfiguration<V, A>, Product<IDepthFirstTraversalConfiguration<V, A>, Boolean>>, IDepthFirstTraversalConfiguration<V, A>> algorithm;
+
+    public DenseTarjanStronglyConnectedComponentsAlgoT(IRootedGraph<V> graph) {
+        this(DepthFirstTraversal.Algorithm.WHILE, graph, -1, null);
+    }
+
+    public DenseTarjanStronglyConnectedComponentsAlgoT(IRootedGraph<V> graph, int depthBound, Function<V, A> reducer) {
+        this(DepthFirstTraversal.Algorithm.WHILE, graph, depthBound, reducer);
+    }
+
+    public DenseTarjanStronglyConnectedComponentsAlgoT(DepthFirstTraversal.Algorithm traversalAlgorithm, IRootedGraph<V> graph) {
+        this(traversalAlgorithm, graph, -1, null);
+    }
+
+    public DenseTarjanStronglyConnectedComponentsAlgoT(DepthFirstTraversal.Algorithm traversalAlgorithm, IRootedGraph<V> graph, int depthBound, Function<V, A> reducer) {
+        algorithm = new DepthFirstTraversal<>(traversalAlgorithm, graph, depthBound, reducer, tarjanCallbacks);
+    }
+
+    @Override
+    public DenseTarjanMemory<V> run(Predicate<Either<IDepthFirstTraversalConfiguration<V, A>, Product<IDepthFirstTraversalConfiguration<V, A>, Boolean>>> hasToTerminatePredicate) {
+        algorithm.run(hasToTerminatePredicate);
+        return tarjanCallbacks.memory;
+    }
+}
@@ -0,0 +1,109 @@
+package obp3.sli.core.csr;
+
+import obp3.runtime.sli.IRootedGraph;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+/// Explores a rooted graph once and records it in the compressed sparse row format of {@link CsrRootedGraph}.
+///
+/// The vertices get dense ids in discovery order: the vertex ids are assigned breadth-first, and since the vertex i
+/// is expanded only after the vertices 0 ... i-1, its successors can be streamed to the file as they come.
+/// Only the vertex → id map and the offsets stay in memory.
+/// {@link CsrRecording#vertices()} maps the ids back to the vertices, to compute the atomic propositions of later analyses.
+public class CsrRecorder<V> {
+    final IRootedGraph<V> graph;
+
+    public CsrRecorder(IRootedGraph<V> graph) {
+        this.graph = graph;
+    }
+
+    public record CsrRecording<V>(CsrRootedGraph graph, List<V> vertices) {
+        public BitSet label(Predicate<V> predicate) {
+            var bits = new BitSet(vertices.size());
+            for (int i = 0; i < vertices.size(); i++) {
+                if (predicate.test(vertices.get(i))) bits.set(i);
+            }
+            return bits;
+        }
+    }
+
+    public CsrRecording<V> record(Path file) throws IOException {
+        return record(file, () -> false);
+    }
+
+    /// records the graph into the file, the exploration stops early when hasToTerminate becomes true,
+    /// the unexpanded vertices are then recorded without successors
+    public CsrRecording<V> record(Path file, BooleanSupplier hasToTerminate) throws IOException {
+        var ids = new HashMap<V, Integer>();
+        var vertices = new ArrayList<V>();
+        var roots = new ArrayList<Integer>();
+        long[] offsets = new long[1024];
+        long edgeCount = 0;
+
+        try (var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.READ, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(CsrRootedGraph.HEADER_BYTES);
+            var out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+
+            for (var iterator = graph.roots(); iterator.hasNext(); ) {
+                roots.add(idOf(iterator.next(), ids, vertices));
+            }
+            int expanded = 0;
+            for (; expanded < vertices.size() && !hasToTerminate.getAsBoolean(); expanded++) {
+                if (expanded + 1 >= offsets.length) offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                offsets[expanded] = edgeCount;
+                for (var iterator = graph.neighbours(vertices.get(expanded)); iterator.hasNext(); ) {
+                    out.writeInt(idOf(iterator.next(), ids, vertices));
+                    edgeCount++;
+                }
+            }
+            int vertexCount = vertices.size();
+            if (vertexCount + 1 > offsets.length) offsets = Arrays.copyOf(offsets, vertexCount + 1);
+            //the vertices left unexpanded have no successors
+            Arrays.fill(offsets, expanded, vertexCount + 1, edgeCount);
+
+            long position = CsrRootedGraph.HEADER_BYTES + edgeCount * Integer.BYTES;
+            for (long i = position; i < CsrRootedGraph.align(position); i++) {
+                out.writeByte(0);
+            }
+            for (int i = 0; i <= vertexCount; i++) {
+                out.writeLong(offsets[i]);
+            }
+            for (int root : roots) {
+                out.writeInt(root);
+            }
+            out.flush();
+
+            var header = ByteBuffer.allocate(CsrRootedGraph.HEADER_BYTES)
+                    .putInt(CsrRootedGraph.MAGIC)
+                    .putInt(roots.size())
+                    .putLong(vertexCount)
+                    .putLong(edgeCount)
+                    .rewind();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+        return new CsrRecording<>(CsrRootedGraph.open(file), vertices);
+    }
+
+    private static <V> int idOf(V vertex, Map<V, Integer> ids, List<V> vertices) {
+        return ids.computeIfAbsent(vertex, _ -> {
+            if (vertices.size() == Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("too many vertices for int ids");
+            }
+            vertices.add(vertex);
+            return vertices.size() - 1;
+        });
+    }
+}
@@ -0,0 +1,170 @@
+package obp3.sli.core.csr;
+
+import obp3.runtime.sli.IRootedGraph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/// A read-only {@link IRootedGraph} over a compressed sparse row file written by {@link CsrRecorder}.
+///
+/// The vertices are the ints [0, vertexCount), the successors of v are
+/// {@code targets[offsets[v]] ... targets[offsets[v + 1] - 1]}.
+/// The file is memory-mapped, so the analyses run directly over the page cache, without the semantics.
+///
+/// File layout (big endian):
+/// - header: magic {@code "CSR1"}, rootCount (int), vertexCount (long), edgeCount (long), padded to {@link #HEADER_BYTES};
+/// - targets: edgeCount ints, padded to 8 bytes;
+/// - offsets: vertexCount + 1 longs;
+/// - roots: rootCount ints.
+public class CsrRootedGraph implements IRootedGraph<Integer> {
+    static final int MAGIC = 0x43535231;
+    static final int HEADER_BYTES = 32;
+    /// a MappedByteBuffer cannot exceed 2GB, so the file is mapped in segments of this size
+    static final int DEFAULT_SEGMENT_BYTES = 1 << 30;
+
+    final Path file;
+    final int rootCount;
+    final long vertexCount;
+    final long edgeCount;
+    final long targetsStart;
+    final long offsetsStart;
+    final long rootsStart;
+
+    private final ByteBuffer[] segments;
+    private final int segmentShift;
+    private final long segmentMask;
+
+    CsrRootedGraph(Path file, int segmentBytes) throws IOException {
+        if (Integer.bitCount(segmentBytes) != 1 || segmentBytes < 8) {
+            throw new IllegalArgumentException("the segment size must be a power of two, at least 8, got " + segmentBytes);
+        }
+        this.file = file;
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException(file + " is not a CSR graph file");
+            }
+            var header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining()) {
+                channel.read(header, header.position());
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException(file + " is not a CSR graph file");
+            }
+            this.rootCount = header.getInt();
+            this.vertexCount = header.getLong();
+            this.edgeCount = header.getLong();
+            this.targetsStart = HEADER_BYTES;
+            this.offsetsStart = align(targetsStart + edgeCount * Integer.BYTES);
+            this.rootsStart = offsetsStart + (vertexCount + 1) * Long.BYTES;
+            long size = rootsStart + (long) rootCount * Integer.BYTES;
+            if (channel.size() < size) {
+                throw new IOException(file + " is truncated, expected " + size + " bytes, found " + channel.size());
+            }
+            this.segmentShift = Integer.numberOfTrailingZeros(segmentBytes);
+            this.segmentMask = segmentBytes - 1;
+            int count = (int) ((size + segmentMask) >>> segmentShift);
+            this.segments = new ByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long position = (long) i << segmentShift;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(segmentBytes, size - position));
+            }
+        }
+    }
+
+    public static CsrRootedGraph open(Path file) throws IOException {
+        return new CsrRootedGraph(file, DEFAULT_SEGMENT_BYTES);
+    }
+
+    static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    //the regions are 8-aligned and the segments are powers of two, so an int or a long never straddles two segments
+    private int intAt(long position) {
+        return segments[(int) (position >>> segmentShift)].getInt((int) (position & segmentMask));
+    }
+
+    private long longAt(long position) {
+        return segments[(int) (position >>> segmentShift)].getLong((int) (position & segmentMask));
+    }
+
+    public long vertexCount() {
+        return vertexCount;
+    }
+
+    public long edgeCount() {
+        return edgeCount;
+    }
+
+    public int root(int index) {
+        return intAt(rootsStart + (long) index * Integer.BYTES);
+    }
+
+    public long offset(int vertex) {
+        return longAt(offsetsStart + (long) vertex * Long.BYTES);
+    }
+
+    public int degree(int vertex) {
+        return (int) (offset(vertex + 1) - offset(vertex));
+    }
+
+    public int target(long edge) {
+        return intAt(targetsStart + edge * Integer.BYTES);
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt roots() {
+        return new PrimitiveIterator.OfInt() {
+            int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < rootCount;
+            }
+
+            @Override
+            public int nextInt() {
+                if (index >= rootCount) throw new NoSuchElementException();
+                return root(index++);
+            }
+        };
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt neighbours(Integer vertex) {
+        if (vertex < 0 || vertex >= vertexCount) {
+            throw new IndexOutOfBoundsException("vertex " + vertex + " out of [0, " + vertexCount + ")");
+        }
+        long start = offset(vertex);
+        long end = offset(vertex + 1);
+        return new PrimitiveIterator.OfInt() {
+            long edge = start;
+
+            @Override
+            public boolean hasNext() {
+                return edge < end;
+            }
+
+            @Override
+            public int nextInt() {
+                if (edge >= end) throw new NoSuchElementException();
+                return target(edge++);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "CsrRootedGraph{" +
+                "file=" + file +
+                ", vertexCount=" + vertexCount +
+                ", edgeCount=" + edgeCount +
+                '}';
+    }
+}
@@ -1,8 +1,11 @@
 package obp3.sli.core.operators;
 
+import obp3.jfr.FlightEvents;
+import obp3.jfr.SuccessorsEvent;
 import obp3.runtime.sli.IRootedGraph;
 import obp3.runtime.sli.SemanticRelation;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 
@@ -20,6 +23,9 @@ public class SemanticRelation2RootedGraph<A, C> implements IRootedGraph<C> {
 
     @Override
     public Iterator<C> neighbours(C c) {
+        if (FlightEvents.ENABLED) {
+            return recordedNeighbours(c);
+        }
         var actions = operand.actions(c);
         if (actions.isEmpty())
             return Collections.emptyIterator();
@@ -28,4 +34,24 @@ public class SemanticRelation2RootedGraph<A, C> implements IRootedGraph<C> {
                 .flatMap(a -> operand.execute(a, c).stream())
                 .iterator();
     }
+
+    /// When recording, the successors are computed eagerly so that the event spans both
+    /// the actions and the executions, instead of the lazy iteration interleaved with the traversal.
+    private Iterator<C> recordedNeighbours(C c) {
+        var event = new SuccessorsEvent();
+        event.begin();
+        var actions = operand.actions(c);
+        var successors = new ArrayList<C>();
+        for (var action : actions) {
+            successors.addAll(operand.execute(action, c));
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.semantics = operand.getClass().getSimpleName();
+            event.actions = actions.size();
+            event.successors = successors.size();
+            event.commit();
+        }
+        return successors.iterator();
+    }
 }
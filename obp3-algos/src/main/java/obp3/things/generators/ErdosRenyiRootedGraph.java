@@ -0,0 +1,63 @@
+package obp3.things.generators;
+
+import obp3.runtime.sli.IRootedGraph;
+
+import java.util.Iterator;
+
+import static obp3.things.generators.GeneratorHash.*;
+
+/// A directed Erdős–Rényi graph G(n, d/n) over the vertices [0, n), rooted in 0.
+///
+/// The out-degree of a vertex follows the Poisson limit of the binomial law (mean {@code averageDegree}),
+/// and each successor is drawn uniformly in [0, n). Duplicate successors are possible, as in a multigraph.
+public class ErdosRenyiRootedGraph implements IRootedGraph<Long> {
+    final long size;
+    final double averageDegree;
+    final long seed;
+    private final double emptyProbability;
+
+    public ErdosRenyiRootedGraph(long size, double averageDegree, long seed) {
+        if (size <= 0) throw new IllegalArgumentException("the size must be positive, got " + size);
+        if (averageDegree < 0 || averageDegree > 500) {
+            throw new IllegalArgumentException("the average degree must be in [0, 500], got " + averageDegree);
+        }
+        this.size = size;
+        this.averageDegree = averageDegree;
+        this.seed = seed;
+        this.emptyProbability = Math.exp(-averageDegree);
+    }
+
+    @Override
+    public Iterator<Long> roots() {
+        return successors(1, _ -> 0L);
+    }
+
+    @Override
+    public Iterator<Long> neighbours(Long v) {
+        long vertex = v;
+        return successors(degree(vertex), i -> below(hash(seed, vertex, i + 1), size));
+    }
+
+    /// inverse transform sampling of the Poisson law
+    int degree(long vertex) {
+        double u = unit(hash(seed, vertex, 0));
+        double probability = emptyProbability;
+        double cumulative = probability;
+        int k = 0;
+        while (u > cumulative && probability > 0) {
+            k++;
+            probability *= averageDegree / k;
+            cumulative += probability;
+        }
+        return k;
+    }
+
+    @Override
+    public String toString() {
+        return "ErdosRenyiRootedGraph{" +
+                "size=" + size +
+                ", averageDegree=" + averageDegree +
+                ", seed=" + seed +
+                '}';
+    }
+}
@@ -0,0 +1,59 @@
+package obp3.things.generators;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntToLongFunction;
+
+/// Stateless hashing used by the synthetic graph generators.
+///
+/// Every random choice of a generator is a pure function of its seed and of the vertex,
+/// so the neighbours of a vertex are the same on every call and on every machine,
+/// and nothing has to be stored whatever the size of the graph.
+public final class GeneratorHash {
+    private GeneratorHash() {}
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /// the SplitMix64 finalizer
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    public static long hash(long seed, long a) {
+        return mix(seed + GOLDEN_GAMMA * (a + 1));
+    }
+
+    public static long hash(long seed, long a, long b) {
+        return mix(hash(seed, a) + GOLDEN_GAMMA * (b + 1));
+    }
+
+    /// maps a hash uniformly to [0, bound), bound must be positive
+    public static long below(long hash, long bound) {
+        return Math.unsignedMultiplyHigh(hash, bound);
+    }
+
+    /// maps a hash uniformly to [0, 1)
+    public static double unit(long hash) {
+        return (hash >>> 11) * 0x1.0p-53;
+    }
+
+    /// the successors {@code successor(0) ... successor(count - 1)}, computed on demand
+    static Iterator<Long> successors(int count, IntToLongFunction successor) {
+        return new Iterator<>() {
+            int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < count;
+            }
+
+            @Override
+            public Long next() {
+                if (index >= count) throw new NoSuchElementException();
+                return successor.applyAsLong(index++);
+            }
+        };
+    }
+}
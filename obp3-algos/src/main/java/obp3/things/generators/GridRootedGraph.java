@@ -0,0 +1,88 @@
+package obp3.things.generators;
+
+import obp3.runtime.sli.IRootedGraph;
+
+import java.util.Iterator;
+
+import static obp3.things.generators.GeneratorHash.successors;
+
+/// A rows × columns grid rooted in the corner 0, the vertex {@code r * columns + c} is the cell (r, c).
+///
+/// When {@code torus} is set the borders wrap around. A directed grid only moves right and down
+/// (so it is a DAG unless it is a torus), an undirected one moves in the four directions.
+public class GridRootedGraph implements IRootedGraph<Long> {
+    final long rows;
+    final long columns;
+    final boolean torus;
+    final boolean directed;
+
+    public GridRootedGraph(long rows, long columns, boolean torus, boolean directed) {
+        if (rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException("the grid dimensions must be positive, got " + rows + "x" + columns);
+        }
+        if (rows > Long.MAX_VALUE / columns) {
+            throw new IllegalArgumentException("the " + rows + "x" + columns + " grid has more vertices than a long can number");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.torus = torus;
+        this.directed = directed;
+    }
+
+    public static GridRootedGraph torus(long rows, long columns) {
+        return new GridRootedGraph(rows, columns, true, false);
+    }
+
+    @Override
+    public Iterator<Long> roots() {
+        return successors(1, _ -> 0L);
+    }
+
+    @Override
+    public Iterator<Long> neighbours(Long v) {
+        long row = v / columns;
+        long column = v % columns;
+        //right, down, left, up; -1 when the move falls off the grid
+        long[] moves = new long[directed ? 2 : 4];
+        int count = 0;
+        count = add(moves, count, row, column + 1);
+        count = add(moves, count, row + 1, column);
+        if (!directed) {
+            count = add(moves, count, row, column - 1);
+            count = add(moves, count, row - 1, column);
+        }
+        var targets = moves;
+        return successors(count, i -> targets[i]);
+    }
+
+    private int add(long[] moves, int count, long row, long column) {
+        if (torus) {
+            row = Math.floorMod(row, rows);
+            column = Math.floorMod(column, columns);
+        } else if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            return count;
+        }
+        long target = row * columns + column;
+        //a torus of width 1 or 2 maps several moves to the same cell
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == target) return count;
+        }
+        moves[count] = target;
+        return count + 1;
+    }
+
+    @Override
+    public boolean hasCycles() {
+        return torus || !directed;
+    }
+
+    @Override
+    public String toString() {
+        return "GridRootedGraph{" +
+                "rows=" + rows +
+                ", columns=" + columns +
+                ", torus=" + torus +
+                ", directed=" + directed +
+                '}';
+    }
+}
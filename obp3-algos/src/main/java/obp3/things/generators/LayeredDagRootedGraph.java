@@ -0,0 +1,75 @@
+package obp3.things.generators;
+
+import obp3.runtime.sli.IRootedGraph;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+import static obp3.things.generators.GeneratorHash.*;
+
+/// A DAG of {@code layers} layers of {@code width} vertices, rooted in the first vertex of the first layer.
+///
+/// The vertex {@code layer * width + index} has {@code degree} successors in the next layer:
+/// the one with the same index, and {@code degree - 1} chosen by hashing.
+/// The straight edges guarantee that the layer l is reached at depth l.
+public class LayeredDagRootedGraph implements IRootedGraph<Long> {
+    final int layers;
+    final long width;
+    final int degree;
+    final long seed;
+
+    public LayeredDagRootedGraph(int layers, long width, int degree, long seed) {
+        if (layers <= 0 || width <= 0 || degree <= 0) {
+            throw new IllegalArgumentException("layers, width and degree must be positive");
+        }
+        if (width > Long.MAX_VALUE / layers) {
+            throw new IllegalArgumentException(layers + " layers of width " + width + " have more vertices than a long can number");
+        }
+        this.layers = layers;
+        this.width = width;
+        this.degree = degree;
+        this.seed = seed;
+    }
+
+    public long size() {
+        return layers * width;
+    }
+
+    public int layer(long vertex) {
+        return (int) (vertex / width);
+    }
+
+    public long vertex(int layer, long index) {
+        return layer * width + index;
+    }
+
+    @Override
+    public Iterator<Long> roots() {
+        return successors(1, _ -> 0L);
+    }
+
+    @Override
+    public Iterator<Long> neighbours(Long v) {
+        long vertex = v;
+        int layer = layer(vertex);
+        if (layer == layers - 1) return Collections.emptyIterator();
+        long next = (layer + 1) * width;
+        long index = vertex % width;
+        return successors(degree, i -> next + (i == 0 ? index : below(hash(seed, vertex, i), width)));
+    }
+
+    @Override
+    public boolean hasCycles() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "LayeredDagRootedGraph{" +
+                "layers=" + layers +
+                ", width=" + width +
+                ", degree=" + degree +
+                ", seed=" + seed +
+                '}';
+    }
+}
@@ -0,0 +1,97 @@
+package obp3.things.generators;
+
+import obp3.runtime.sli.IRootedGraph;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static obp3.things.generators.GeneratorHash.*;
+
+/// A {@link LayeredDagRootedGraph} with an accepting cycle planted at a controlled depth, for Büchi benchmarks.
+///
+/// The cycle has {@code cycleLength} extra vertices, numbered after the DAG ones, and is entered from the first vertex
+/// of the layer {@code cycleDepth}; its last vertex is the accepting one. With a negative depth nothing is planted
+/// and the graph has no cycle at all.
+/// A fraction {@code decoyRate} of the DAG vertices are accepting too, they trigger nested searches that find nothing.
+public class PlantedCycleRootedGraph implements IRootedGraph<Long> {
+    final LayeredDagRootedGraph dag;
+    final int cycleDepth;
+    final int cycleLength;
+    final double decoyRate;
+
+    public PlantedCycleRootedGraph(LayeredDagRootedGraph dag, int cycleDepth, int cycleLength, double decoyRate) {
+        if (cycleDepth >= dag.layers) {
+            throw new IllegalArgumentException("the cycle depth " + cycleDepth + " is beyond the " + dag.layers + " layers");
+        }
+        if (cycleDepth >= 0 && cycleLength <= 0) {
+            throw new IllegalArgumentException("the planted cycle needs at least one vertex");
+        }
+        this.dag = dag;
+        this.cycleDepth = cycleDepth;
+        this.cycleLength = cycleLength;
+        this.decoyRate = decoyRate;
+    }
+
+    public PlantedCycleRootedGraph(int layers, long width, int degree, int cycleDepth, int cycleLength, long seed) {
+        this(new LayeredDagRootedGraph(layers, width, degree, seed), cycleDepth, cycleLength, 0.001);
+    }
+
+    public boolean isPlanted() {
+        return cycleDepth >= 0;
+    }
+
+    public boolean isAccepting(Long v) {
+        long vertex = v;
+        long cycleStart = dag.size();
+        if (vertex >= cycleStart) return vertex == cycleStart + cycleLength - 1;
+        return unit(hash(dag.seed, vertex, -1)) < decoyRate;
+    }
+
+    @Override
+    public Iterator<Long> roots() {
+        return dag.roots();
+    }
+
+    @Override
+    public Iterator<Long> neighbours(Long v) {
+        long vertex = v;
+        long cycleStart = dag.size();
+        if (vertex >= cycleStart) {
+            long next = cycleStart + (vertex - cycleStart + 1) % cycleLength;
+            return successors(1, _ -> next);
+        }
+        var neighbours = dag.neighbours(v);
+        if (!isPlanted() || vertex != dag.vertex(cycleDepth, 0)) return neighbours;
+        return new Iterator<>() {
+            boolean entered = false;
+
+            @Override
+            public boolean hasNext() {
+                return neighbours.hasNext() || !entered;
+            }
+
+            @Override
+            public Long next() {
+                if (neighbours.hasNext()) return neighbours.next();
+                if (entered) throw new NoSuchElementException();
+                entered = true;
+                return cycleStart;
+            }
+        };
+    }
+
+    @Override
+    public boolean hasCycles() {
+        return isPlanted();
+    }
+
+    @Override
+    public String toString() {
+        return "PlantedCycleRootedGraph{" +
+                "dag=" + dag +
+                ", cycleDepth=" + cycleDepth +
+                ", cycleLength=" + cycleLength +
+                ", decoyRate=" + decoyRate +
+                '}';
+    }
+}
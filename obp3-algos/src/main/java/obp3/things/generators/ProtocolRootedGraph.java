@@ -0,0 +1,97 @@
+package obp3.things.generators;
+
+import obp3.runtime.sli.IRootedGraph;
+
+import java.util.Iterator;
+
+import static obp3.things.generators.GeneratorHash.*;
+
+/// A BEEM-like protocol: the asynchronous interleaving of {@code processes} identical processes
+/// with {@code localStates} local states, competing for a critical section.
+///
+/// A global state is the mixed-radix encoding of the local states, the process p being the digit p,
+/// so the protocol has up to {@code localStates ^ processes} states (e.g. 4^15 ≈ 10^9), all in the initial state 0.
+/// The process p in the local state s can:
+/// - move to {@code (s + 1) % localStates}, entering the critical section {@code localStates - 1}
+///   only when no other process is in it;
+/// - jump back to a local state chosen by hashing (p, s), never the critical one.
+///
+/// So mutual exclusion holds by construction, and {@link #criticalCount(long)} can be used as a safety property.
+public class ProtocolRootedGraph implements IRootedGraph<Long> {
+    final int processes;
+    final int localStates;
+    final long seed;
+    private final long[] weights;
+    private final int[][] jumps;
+
+    public ProtocolRootedGraph(int processes, int localStates, long seed) {
+        if (processes <= 0 || localStates < 2) {
+            throw new IllegalArgumentException("at least one process with two local states is needed");
+        }
+        this.processes = processes;
+        this.localStates = localStates;
+        this.seed = seed;
+        this.weights = new long[processes];
+        long weight = 1;
+        for (int p = 0; p < processes; p++) {
+            //the states are numbered by localStates^processes longs
+            if (weight > Long.MAX_VALUE / localStates) {
+                throw new IllegalArgumentException(processes + " processes of " + localStates + " local states have more states than a long can number");
+            }
+            weights[p] = weight;
+            weight *= localStates;
+        }
+        this.jumps = new int[processes][localStates];
+        for (int p = 0; p < processes; p++) {
+            for (int s = 0; s < localStates; s++) {
+                jumps[p][s] = (int) below(hash(seed, p, s), localStates - 1);
+            }
+        }
+    }
+
+    public int localState(long state, int process) {
+        return (int) (state / weights[process] % localStates);
+    }
+
+    public int criticalCount(long state) {
+        int count = 0;
+        for (int p = 0; p < processes; p++) {
+            if (localState(state, p) == localStates - 1) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public Iterator<Long> roots() {
+        return successors(1, _ -> 0L);
+    }
+
+    @Override
+    public Iterator<Long> neighbours(Long v) {
+        long state = v;
+        boolean criticalTaken = criticalCount(state) > 0;
+        long[] targets = new long[2 * processes];
+        int count = 0;
+        for (int p = 0; p < processes; p++) {
+            int local = localState(state, p);
+            int next = (local + 1) % localStates;
+            if (next != localStates - 1 || !criticalTaken) {
+                targets[count++] = state + (next - local) * weights[p];
+            }
+            int jump = jumps[p][local];
+            if (jump != local && jump != next) {
+                targets[count++] = state + (jump - local) * weights[p];
+            }
+        }
+        return successors(count, i -> targets[i]);
+    }
+
+    @Override
+    public String toString() {
+        return "ProtocolRootedGraph{" +
+                "processes=" + processes +
+                ", localStates=" + localStates +
+                ", seed=" + seed +
+                '}';
+    }
+}
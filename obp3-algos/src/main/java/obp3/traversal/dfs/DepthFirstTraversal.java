@@ -1,5 +1,7 @@
 package obp3.traversal.dfs;
 
+import obp3.jfr.FlightEvents;
+import obp3.jfr.TraversalEvent;
 import obp3.utils.Either;
 import obp3.runtime.IExecutable;
 import obp3.runtime.sli.IRootedGraph;
@@ -139,9 +141,30 @@ public class DepthFirstTraversal<V, A> implements IExecutable<Either<IDepthFirst
         };
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     public IDepthFirstTraversalConfiguration<V, A> run(Predicate<Either<IDepthFirstTraversalConfiguration<V, A>, Product<IDepthFirstTraversalConfiguration<V, A>, Boolean>>> hasToTerminatePredicate) {
+        if (!FlightEvents.ENABLED) {
+            return runAlgorithm(hasToTerminatePredicate);
+        }
+        var event = new TraversalEvent();
+        event.begin();
+        var configuration = runAlgorithm(hasToTerminatePredicate);
+        event.end();
+        if (event.shouldCommit()) {
+            event.algorithm = algorithm.getClass().getSimpleName();
+            //the relational traversal returns null when it never reached a configuration
+            if (configuration != null) {
+                event.graph = configuration.getModel().getGraph().getClass().getSimpleName();
+                event.knownSize = configuration.getKnown().size();
+                event.stackSize = configuration.stackSize();
+            }
+            event.commit();
+        }
+        return configuration;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    IDepthFirstTraversalConfiguration<V, A> runAlgorithm(Predicate<Either<IDepthFirstTraversalConfiguration<V, A>, Product<IDepthFirstTraversalConfiguration<V, A>, Boolean>>> hasToTerminatePredicate) {
         if (algorithm instanceof DepthFirstTraversalRelational relational) {
             return relational.run(c -> hasToTerminatePredicate.test((Either<IDepthFirstTraversalConfiguration<V, A>, Product<IDepthFirstTraversalConfiguration<V, A>, Boolean>>)c));
         }
@@ -50,7 +50,7 @@ public class Unificator {
         System.out.println("X occurs in: " + no + ", " + yes);
     }
 
-    Function<Var, UnificationAnswer<Term>> solveTop(Map<Term, Term> constraints) {
+    public Function<Var, UnificationAnswer<Term>> solveTop(Map<Term, Term> constraints) {
         // Preprocess: decompose all structural constraints into atomic constraints
         this.constraints = decomposeConstraints(constraints);
         return fixer;
@@ -70,10 +70,12 @@ public class Unificator {
             var rhs = entry.getValue();
             
             // If both sides are Apps with same name and arity, decompose
-            if (lhs instanceof App(String lName, List<Term> lArgs) &&
-                rhs instanceof App(String rName, List<Term> rArgs) &&
-                lName.equals(rName) && lArgs.size() == rArgs.size()) {
-                
+            if (lhs instanceof App lApp &&
+                rhs instanceof App rApp &&
+                lApp.name().equals(rApp.name()) && lApp.terms().size() == rApp.terms().size()) {
+                var lArgs = lApp.terms();
+                var rArgs = rApp.terms();
+
                 // Decompose: f(s1, s2, ...) = f(t1, t2, ...) becomes s1=t1, s2=t2, ...
                 for (int i = 0; i < lArgs.size(); i++) {
                     workQueue.add(Map.entry(lArgs.get(i), rArgs.get(i)));
@@ -159,8 +161,8 @@ public class Unificator {
         if (t instanceof Var tv) {
             return tv.equals(v);
         }
-        if (t instanceof App(String _, List<Term> args)) {
-            for (Term arg : args) {
+        if (t instanceof App app) {
+            for (Term arg : app.terms()) {
                 if (simpleOccursCheck(v, arg)) {
                     return true;
                 }
@@ -171,11 +173,13 @@ public class Unificator {
 
 
     boolean termEq(Term a, Term b) {
-        if (a instanceof Var(String aName) && b instanceof Var(String bName)) {
-            return aName.equals(bName);
+        if (a instanceof Var aVar && b instanceof Var bVar) {
+            return aVar.name().equals(bVar.name());
         }
-        if (a instanceof App(String aName, List<Term> aTerms) && b instanceof App(String bName, List<Term> bTerms)) {
-            if (!aName.equals(bName)) return false;
+        if (a instanceof App aApp && b instanceof App bApp) {
+            var aTerms = aApp.terms();
+            var bTerms = bApp.terms();
+            if (!aApp.name().equals(bApp.name())) return false;
             if (aTerms.size() != bTerms.size()) return false;
             for (int i = 0; i < aTerms.size(); i++) {
                 if (!termEq(aTerms.get(i), bTerms.get(i))) return false;
@@ -215,7 +219,7 @@ public class Unificator {
         var rr = new ToRootedGraph(t, mapper);
         var traversal = new SafetyDepthFirstTraversal<>(
                 DepthFirstTraversal.Algorithm.WHILE,
-                rr, -1, Function.identity(), (node) -> node instanceof Var(var x) && x.equals(v.name()));
+                rr, -1, Function.identity(), (node) -> node instanceof Var x && x.name().equals(v.name()));
         return !traversal.runAlone().holds;
     }
 
@@ -97,7 +97,7 @@ public class Unificator1 {
 
 
     Map<Var, UnificationAnswer<Term>> substitutions = new HashMap<>();
-    UnificationAnswer<Term> substitution(Var v) {
+    public UnificationAnswer<Term> substitution(Var v) {
         return substitutions.getOrDefault(v, UnificationAnswer.unknown());
     }
 
@@ -110,7 +110,7 @@ public class Unificator1 {
     }
 
 
-    Optional<Function<Var, UnificationAnswer<Term>>> unify(Term lhs, Term rhs, Function<Var, UnificationAnswer<Term>> mapper) {
+    public Optional<Function<Var, UnificationAnswer<Term>>> unify(Term lhs, Term rhs, Function<Var, UnificationAnswer<Term>> mapper) {
         var t1 = substitutionMaker.normalize(lhs, mapper);
         var t2 = substitutionMaker.normalize(rhs, mapper);
         //if they are the same
@@ -126,8 +126,10 @@ public class Unificator1 {
         if (t2 instanceof Var v) {
             return unify(t2, t1, mapper);
         }
-        if (t1 instanceof App(String name1, List<Term> args1) && t2 instanceof App(String name2,List<Term> args2)) {
-            if (!name1.equals(name2) || args1.size() != args2.size()) return Optional.empty();
+        if (t1 instanceof App app1 && t2 instanceof App app2) {
+            var args1 = app1.terms();
+            var args2 = app2.terms();
+            if (!app1.name().equals(app2.name()) || args1.size() != args2.size()) return Optional.empty();
             return IntStream.range(0, args1.size())
                     .boxed().
                     reduce(
@@ -145,11 +147,13 @@ public class Unificator1 {
     SubstitutionMaker substitutionMaker = new SubstitutionMaker();
 
     boolean termEq(Term a, Term b) {
-        if (a instanceof Var(String aName) && b instanceof Var(String bName)) {
-            return aName.equals(bName);
+        if (a instanceof Var aVar && b instanceof Var bVar) {
+            return aVar.name().equals(bVar.name());
         }
-        if (a instanceof App(String aName, List<Term> aTerms) && b instanceof App(String bName, List<Term> bTerms)) {
-            if (!aName.equals(bName)) return false;
+        if (a instanceof App aApp && b instanceof App bApp) {
+            var aTerms = aApp.terms();
+            var bTerms = bApp.terms();
+            if (!aApp.name().equals(bApp.name())) return false;
             if (aTerms.size() != bTerms.size()) return false;
             for (int i = 0; i < aTerms.size(); i++) {
                 if (!termEq(aTerms.get(i), bTerms.get(i))) return false;
@@ -163,7 +167,7 @@ public class Unificator1 {
         var rr = new ToRootedGraph(t, mapper);
         var traversal = new SafetyDepthFirstTraversal<>(
                 DepthFirstTraversal.Algorithm.WHILE,
-                rr, -1, Function.identity(), (node) -> node instanceof Var(var x) && x.equals(v.name()));
+                rr, -1, Function.identity(), (node) -> node instanceof Var x && x.name().equals(v.name()));
         return !traversal.runAlone().holds;
     }
 
@@ -0,0 +1,289 @@
+package obp3.unification;
+
+import obp3.unification.syntax.App;
+import obp3.unification.syntax.Term;
+import obp3.unification.syntax.Var;
+
+import java.util.*;
+import java.util.function.Function;
+
+/// A union-find unification engine, answering the same questions as {@link Unificator} without a fixed point.
+///
+/// Each variable is a node of a union-find forest (path compression, union by rank), and each class may be bound
+/// to one structure. Unifying two classes merges them and unifies their structures, so the constraints are closed
+/// in near-linear time, with a worklist of pending equations instead of recursion.
+///
+/// The occurs check is deferred: after the closure, one Tarjan pass over the graph "class → classes of the variables
+/// of its structure" finds the cyclic classes, instead of a traversal for every binding.
+///
+/// The answers follow {@link Unificator}:
+/// - a variable without constraint is {@link UnificationAnswer#unknown()}, as the representative of a free class;
+/// - the other variables of a free class are bound to the representative;
+/// - a class whose structures clash, or which occurs in its own structure, is a failure,
+///   and its variables stay as they are in the solutions of the other classes;
+/// - a clash between two structures outside any class, such as `f(X) = g(Y)`, binds nothing.
+public class UnionFindUnificator {
+    private final Map<Var, Integer> ids = new HashMap<>();
+    private Var[] vars = new Var[16];
+    private int[] parent = new int[16];
+    private byte[] rank = new byte[16];
+    private App[] structure = new App[16];
+    private String[] failure = new String[16];
+    private int count = 0;
+
+    private Term[] resolved;
+
+    /// an equation, and the class whose structures produced it (-1 for the input constraints)
+    private record Equation(Term lhs, Term rhs, int owner) {}
+
+    public static Function<Var, UnificationAnswer<Term>> solve(Map<Term, Term> constraints) {
+        return new UnionFindUnificator().solveTop(constraints);
+    }
+
+    public Function<Var, UnificationAnswer<Term>> solveTop(Map<Term, Term> constraints) {
+        ArrayDeque<Equation> work = new ArrayDeque<>();
+        for (var entry : constraints.entrySet()) {
+            work.add(new Equation(entry.getKey(), entry.getValue(), -1));
+        }
+        while (!work.isEmpty()) {
+            unify(work.poll(), work);
+        }
+        occursCheck();
+        resolved = new Term[count];
+        return this::answer;
+    }
+
+    private void unify(Equation equation, ArrayDeque<Equation> work) {
+        Term lhs = equation.lhs();
+        Term rhs = equation.rhs();
+        if (lhs == rhs) return;
+        if (lhs instanceof Var lv && rhs instanceof Var rv) {
+            int left = find(id(lv));
+            int right = find(id(rv));
+            if (left == right) return;
+            var leftStructure = structure[left];
+            var rightStructure = structure[right];
+            int root = union(left, right);
+            if (leftStructure != null && rightStructure != null) {
+                structure[root] = rightStructure;
+                work.add(new Equation(leftStructure, rightStructure, root));
+            } else {
+                structure[root] = leftStructure != null ? leftStructure : rightStructure;
+            }
+            return;
+        }
+        if (lhs instanceof Var lv) {
+            bind(find(id(lv)), (App) rhs, work);
+            return;
+        }
+        if (rhs instanceof Var rv) {
+            bind(find(id(rv)), (App) lhs, work);
+            return;
+        }
+        var left = (App) lhs;
+        var right = (App) rhs;
+        if (!left.name().equals(right.name()) || left.terms().size() != right.terms().size()) {
+            if (equation.owner() >= 0) {
+                fail(equation.owner(), "Conflicting constraints for " + vars[find(equation.owner())] + ": " + left + " vs " + right);
+            }
+            return;
+        }
+        //the owner of the sub-equations may have been merged since, find it again when failing
+        for (int i = 0; i < left.terms().size(); i++) {
+            work.add(new Equation(left.terms().get(i), right.terms().get(i), equation.owner()));
+        }
+    }
+
+    private void bind(int root, App term, ArrayDeque<Equation> work) {
+        if (structure[root] == null) {
+            structure[root] = term;
+        } else {
+            work.add(new Equation(structure[root], term, root));
+        }
+    }
+
+    private void fail(int node, String reason) {
+        int root = find(node);
+        if (failure[root] == null) failure[root] = reason;
+    }
+
+    private int id(Var v) {
+        Integer id = ids.get(v);
+        if (id != null) return id;
+        if (count == parent.length) {
+            int capacity = count * 2;
+            vars = Arrays.copyOf(vars, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            rank = Arrays.copyOf(rank, capacity);
+            structure = Arrays.copyOf(structure, capacity);
+            failure = Arrays.copyOf(failure, capacity);
+        }
+        vars[count] = v;
+        parent[count] = count;
+        ids.put(v, count);
+        return count++;
+    }
+
+    /// @return the root of the class of the variable, -1 for a variable only seen inside a structure:
+    /// it is in no equation, so it is a free class of its own
+    private int classOf(Var v) {
+        Integer id = ids.get(v);
+        return id == null ? -1 : find(id);
+    }
+
+    int find(int node) {
+        int root = node;
+        while (parent[root] != root) root = parent[root];
+        //path compression
+        while (parent[node] != root) {
+            int next = parent[node];
+            parent[node] = root;
+            node = next;
+        }
+        return root;
+    }
+
+    /// union by rank of two roots, the right one wins the ties
+    private int union(int left, int right) {
+        if (rank[left] > rank[right]) {
+            parent[right] = left;
+            mergeFailure(right, left);
+            return left;
+        }
+        if (rank[left] == rank[right]) rank[right]++;
+        parent[left] = right;
+        mergeFailure(left, right);
+        return right;
+    }
+
+    private void mergeFailure(int from, int to) {
+        if (failure[to] == null) failure[to] = failure[from];
+    }
+
+    /// Marks the classes on a cycle of the structure graph, with an iterative Tarjan.
+    private void occursCheck() {
+        int[] index = new int[count];
+        int[] low = new int[count];
+        boolean[] onStack = new boolean[count];
+        int[] stack = new int[count];
+        int stackSize = 0;
+        int[] callNode = new int[count];
+        int[] callEdge = new int[count];
+        int next = 1;
+        for (int start = 0; start < count; start++) {
+            if (parent[start] != start || index[start] != 0 || structure[start] == null) continue;
+            int depth = 0;
+            callNode[0] = start;
+            callEdge[0] = 0;
+            index[start] = low[start] = next++;
+            stack[stackSize++] = start;
+            onStack[start] = true;
+            while (depth >= 0) {
+                int node = callNode[depth];
+                List<Var> children = variables(node);
+                if (callEdge[depth] < children.size()) {
+                    int child = classOf(children.get(callEdge[depth]++));
+                    if (child < 0) {
+                        continue;
+                    }
+                    if (child == node) {
+                        fail(node, "Occurs check: " + vars[node] + " occurs in " + structure[node]);
+                    } else if (index[child] == 0) {
+                        index[child] = low[child] = next++;
+                        stack[stackSize++] = child;
+                        onStack[child] = true;
+                        callNode[++depth] = child;
+                        callEdge[depth] = 0;
+                    } else if (onStack[child]) {
+                        low[node] = Math.min(low[node], index[child]);
+                    }
+                    continue;
+                }
+                if (low[node] == index[node]) {
+                    int member;
+                    boolean cyclic = stack[stackSize - 1] != node;
+                    do {
+                        member = stack[--stackSize];
+                        onStack[member] = false;
+                        if (cyclic) {
+                            fail(member, "Occurs check: " + vars[member] + " occurs in " + structure[member]);
+                        }
+                    } while (member != node);
+                }
+                depth--;
+                if (depth >= 0) {
+                    int caller = callNode[depth];
+                    low[caller] = Math.min(low[caller], low[node]);
+                }
+            }
+        }
+    }
+
+    private final Map<Integer, List<Var>> structureVariables = new HashMap<>();
+
+    private List<Var> variables(int root) {
+        var structure = this.structure[root];
+        if (structure == null || structure.isGround()) return List.of();
+        return structureVariables.computeIfAbsent(root, _ -> {
+            List<Var> result = new ArrayList<>();
+            ArrayDeque<Term> todo = new ArrayDeque<>();
+            todo.push(structure);
+            while (!todo.isEmpty()) {
+                switch (todo.pop()) {
+                    case Var v -> result.add(v);
+                    case App app -> {
+                        if (!app.isGround()) app.terms().forEach(todo::push);
+                    }
+                }
+            }
+            return result;
+        });
+    }
+
+    UnificationAnswer<Term> answer(Var v) {
+        Integer id = ids.get(v);
+        if (id == null) return UnificationAnswer.unknown();
+        int root = find(id);
+        if (failure[root] != null) return UnificationAnswer.failure(failure[root]);
+        if (structure[root] == null) {
+            return root == id ? UnificationAnswer.unknown() : UnificationAnswer.of(vars[root]);
+        }
+        return UnificationAnswer.of(resolve(root));
+    }
+
+    /// The structure of the class with the variables replaced by their solutions, memoized per class.
+    /// The classes it refers to are resolved first, with an explicit stack, so that long chains of bindings do not
+    /// overflow the Java stack: only the depth of a single structure is recursive.
+    private Term resolve(int root) {
+        if (resolved[root] != null) return resolved[root];
+        ArrayDeque<Integer> todo = new ArrayDeque<>();
+        todo.push(root);
+        while (!todo.isEmpty()) {
+            int node = todo.peek();
+            if (resolved[node] != null) {
+                todo.pop();
+                continue;
+            }
+            boolean ready = true;
+            for (Var v : variables(node)) {
+                int child = classOf(v);
+                if (child >= 0 && failure[child] == null && structure[child] != null && resolved[child] == null) {
+                    todo.push(child);
+                    ready = false;
+                }
+            }
+            if (ready) {
+                resolved[node] = structure[node].substitute(this::solution);
+                todo.pop();
+            }
+        }
+        return resolved[root];
+    }
+
+    private Term solution(Var v) {
+        int root = classOf(v);
+        if (root < 0 || failure[root] != null) return v;
+        if (structure[root] == null) return vars[root];
+        return resolve(root);
+    }
+}
@@ -1,19 +1,70 @@
 package obp3.unification.syntax;
 
-import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
 import java.util.function.Function;
 
-public record App(String name, List<Term> terms) implements Term {
+public final class App implements Term {
+    private final String name;
+    private final List<Term> terms;
+    private final int hash;
+    private final boolean ground;
+    /// written once, by {@link Terms} when it interns this term
+    int tag = -1;
+
+    public App(String name, List<Term> terms) {
+        this.name = name;
+        this.terms = List.copyOf(terms);
+        this.hash = 31 * name.hashCode() + this.terms.hashCode();
+        boolean ground = true;
+        for (Term term : this.terms) {
+            ground &= term.isGround();
+        }
+        this.ground = ground;
+    }
+
     public App(String name, Term... terms) {
-        this(name, Arrays.asList(terms));
+        this(name, List.of(terms));
+    }
+
+    @Override
+    public String name() {
+        return name;
     }
+
+    public List<Term> terms() {
+        return terms;
+    }
+
     @Override
     public <I, O> O accept(Visitor<I, O> visitor, I input) {
         return visitor.visit(this, input);
     }
 
+    @Override
+    public boolean isGround() {
+        return ground;
+    }
+
+    @Override
+    public Term node() {
+        return this;
+    }
+
+    @Override
+    public int tag() {
+        return tag;
+    }
+
+    @Override
+    public int hashKey() {
+        return hash;
+    }
+
+    @Override
+    public boolean isHashConsed() {
+        return tag > 0;
+    }
+
     @Override
     public String toString() {
         return name + (!terms.isEmpty() ? "(" + terms.stream().map(Object::toString).reduce("", (a, b) -> a.isEmpty() ? b : a + ", " + b)+ ")" : "")
@@ -23,19 +74,33 @@ public record App(String name, List<Term> terms) implements Term {
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        App app = (App) o;
-        return name.equals(app.name) && terms.equals(app.terms);
+        if (!(o instanceof App app)) return false;
+        //two hash-consed terms are the same object iff they are equal
+        if (tag > 0 && app.tag > 0) return false;
+        return hash == app.hash && name.equals(app.name) && terms.equals(app.terms);
     }
     
     @Override
     public int hashCode() {
-        return 31 * name.hashCode() + Objects.hashCode(terms);
+        return hash;
     }
 
+    /// Returns this term if no variable changes, in particular if it is ground.
+    /// The substitution of a hash-consed term is hash-consed.
     @Override
     public Term substitute(Function<Var, Term> mapper) {
-        List<Term> newTerms = terms.stream().map(t -> t.substitute(mapper)).toList();
-        return new App(name, newTerms.toArray(new Term[0]));
+        if (ground) return this;
+        Term[] newTerms = null;
+        for (int i = 0; i < terms.size(); i++) {
+            Term term = terms.get(i);
+            Term newTerm = term.substitute(mapper);
+            if (newTerm != term && newTerms == null) {
+                newTerms = terms.toArray(new Term[0]);
+            }
+            if (newTerms != null) newTerms[i] = newTerm;
+        }
+        if (newTerms == null) return this;
+        var result = new App(name, newTerms);
+        return tag > 0 ? Terms.hashCons(result) : result;
     }
 }
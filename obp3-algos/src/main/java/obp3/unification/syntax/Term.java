@@ -1,14 +1,20 @@
 package obp3.unification.syntax;
 
-import obp3.unification.UnificationAnswer;
+import obp3.hashcons.HashConsed;
 
 import java.util.function.Function;
 
-public sealed interface Term permits Var, App {
+/// A first-order term.
+///
+/// The terms can be hash-consed through {@link Terms}: a hash-consed term is the unique representative of its structure,
+/// it is equal only to itself, and the substitutions of hash-consed terms are hash-consed.
+/// The other terms compare structurally, with their hash computed once at construction.
+public sealed interface Term extends HashConsed<Term> permits Var, App {
     default <I, O> O accept(Visitor<I, O> visitor, I input) {
         return visitor.visit(this, input);
     }
     Term substitute(Function<Var, Term> mapper);
     String name();
+    /// @return true if the term has no variable
+    boolean isGround();
 }
-
@@ -0,0 +1,65 @@
+package obp3.unification.syntax;
+
+import obp3.hashcons.ConcurrentHashConsTable;
+import obp3.utils.Hashable;
+
+import java.util.List;
+
+/// The hash-consing of the {@link Term}s.
+///
+/// The hash-consed terms are interned in one process-wide table, so that their tags never collide:
+/// two hash-consed terms are equal iff they are the same object, and their hash is computed once.
+/// Only this class tags the terms, once, when they are interned.
+///
+/// The table is a {@link ConcurrentHashConsTable#weak} one: it does not keep its terms alive, so the renamed rules,
+/// calls and answers of a finished engine run are reclaimed once nothing else references them,
+/// and the threads hash-consing terms (such as the tasks of {@code SLGSolver.solveAll}) only contend on the same shard.
+public final class Terms {
+    private static final ConcurrentHashConsTable<Term> TABLE = ConcurrentHashConsTable.weak(Hashable.standard(), Terms::tag);
+
+    private Terms() {}
+
+    /// Tags the term, the only write of its tag.
+    private static Term tag(Term term, int tag, int hashKey) {
+        switch (term) {
+            case App app -> app.tag = tag;
+            case Var var -> var.tag = tag;
+        }
+        return term;
+    }
+
+    /// @return the unique representative of the term, whose subterms are hash-consed too
+    public static Term hashCons(Term term) {
+        if (term.isHashConsed()) return term;
+        if (term instanceof App app) {
+            Term[] terms = null;
+            for (int i = 0; i < app.terms().size(); i++) {
+                Term subterm = app.terms().get(i);
+                Term shared = hashCons(subterm);
+                if (shared != subterm && terms == null) {
+                    terms = app.terms().toArray(new Term[0]);
+                }
+                if (terms != null) terms[i] = shared;
+            }
+            if (terms != null) term = new App(app.name(), terms);
+        }
+        return TABLE.hashCons(term).node();
+    }
+
+    public static App app(String name, Term... terms) {
+        return (App) hashCons(new App(name, terms));
+    }
+
+    public static App app(String name, List<Term> terms) {
+        return (App) hashCons(new App(name, terms));
+    }
+
+    public static Var var(String name) {
+        return (Var) hashCons(new Var(name));
+    }
+
+    /// @return the number of entries of the table, including the reclaimed terms that are not expunged yet
+    public static int size() {
+        return TABLE.size();
+    }
+}
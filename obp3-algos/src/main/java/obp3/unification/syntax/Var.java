@@ -6,12 +6,64 @@ import obp3.unification.UnificationAnswer;
 
 import java.util.function.Function;
 
-public record Var(String name) implements Term {
+public final class Var implements Term {
+    private final String name;
+    /// written once, by {@link Terms} when it interns this term
+    int tag = -1;
+
+    public Var(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
     @Override
     public <I, O> O accept(Visitor<I, O> visitor, I input) {
         return visitor.visit(this, input);
     }
 
+    @Override
+    public boolean isGround() {
+        return false;
+    }
+
+    @Override
+    public Term node() {
+        return this;
+    }
+
+    @Override
+    public int tag() {
+        return tag;
+    }
+
+    @Override
+    public int hashKey() {
+        return name.hashCode();
+    }
+
+    @Override
+    public boolean isHashConsed() {
+        return tag > 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Var var)) return false;
+        //two hash-consed variables are the same object iff they are equal
+        if (tag > 0 && var.tag > 0) return false;
+        return name.equals(var.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
     @Override
     public String toString() {
         return "?"+name;
@@ -27,7 +79,7 @@ public record Var(String name) implements Term {
         var rr = new ToRootedGraph(term, mapper);
         var traversal = new SafetyDepthFirstTraversal<>(
                 DepthFirstTraversal.Algorithm.WHILE,
-                rr, -1, Function.identity(), (node) -> node instanceof Var(var x) && x.equals(this.name()));
+                rr, -1, Function.identity(), (node) -> node instanceof Var x && x.name.equals(this.name));
         return !traversal.runAlone().holds;
     }
 }
@@ -2,6 +2,7 @@ package obp3.uslg.syntax;
 
 import obp3.unification.syntax.App;
 import obp3.unification.syntax.Term;
+import obp3.unification.syntax.Terms;
 import obp3.unification.syntax.Var;
 
 import java.util.HashMap;
@@ -26,7 +27,7 @@ public class AlphaEquivalence {
                 // resolved to a non-Var term — canonicalize it recursively
                 yield toCanonical(resolved, substitution, nameGen);
             }
-            case App a -> new App(a.name(), a.terms().stream().map(t -> toCanonical(t, substitution, nameGen)).toList());
+            case App a -> Terms.app(a.name(), a.terms().stream().map(t -> toCanonical(t, substitution, nameGen)).toList());
         };
     }
 
@@ -35,10 +36,10 @@ public class AlphaEquivalence {
         private Map<Var, Integer> mapping = new HashMap<>();
         public Var getOrCreate(Var v) {
             var idx = mapping.get(v);
-            if (idx != null) { return new Var("V" + idx); }
+            if (idx != null) { return Terms.var("V" + idx); }
             idx = counter++;
             mapping.put(v, idx);
-            return new Var("V" + idx);
+            return Terms.var("V" + idx);
         }
     }
 }
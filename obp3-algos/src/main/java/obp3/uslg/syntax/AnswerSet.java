@@ -1,30 +1,31 @@
 package obp3.uslg.syntax;
 
+import obp3.datastructures.collections.persistent.PersistentHashSet;
 import obp3.fixer.Lattice;
 
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.Set;
 
+/// An immutable set of answers, backed by a {@link PersistentHashSet}: the new versions share the answers of the old ones.
 public class AnswerSet {
-    private final Set<Substitution> answers;
+    private final PersistentHashSet<Substitution> answers;
     public AnswerSet() {
-        this.answers = new HashSet<>();
+        this.answers = PersistentHashSet.empty();
     }
     public AnswerSet(Collection<Substitution> answers) {
-        this.answers = new HashSet<>(answers);
+        this.answers = PersistentHashSet.copyOf(answers);
+    }
+    private AnswerSet(PersistentHashSet<Substitution> answers) {
+        this.answers = answers;
     }
     public AnswerSet add(Substitution answer) {
-        var newAnswers = new HashSet<>(answers);
-        newAnswers.add(answer);
-        return new AnswerSet(newAnswers);
+        var newAnswers = answers.plus(answer);
+        return newAnswers == answers ? this : new AnswerSet(newAnswers);
     }
 
     public AnswerSet union(AnswerSet other) {
-        var newAnswers = new HashSet<>(answers);
-        newAnswers.addAll(other.answers);
-        return new AnswerSet(newAnswers);
+        var newAnswers = answers.union(other.answers);
+        return newAnswers == answers ? this : new AnswerSet(newAnswers);
     }
 
     public boolean contains(Substitution answer) {
@@ -32,7 +33,7 @@ public class AnswerSet {
     }
 
     public Set<Substitution> answers() {
-        return Collections.unmodifiableSet(answers);
+        return answers;
     }
 
     public boolean isEmpty() {
@@ -0,0 +1,167 @@
+package obp3.uslg.syntax;
+
+import obp3.unification.syntax.App;
+import obp3.unification.syntax.Term;
+import obp3.unification.syntax.Var;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/// A discrimination tree: an index of terms retrieving the values of the terms that may unify with a query.
+///
+/// A term is stored along the path of its symbols in pre-order, each function symbol with its arity and each variable
+/// as the wildcard `*`. Since the arities are in the keys, the paths of complete terms are never prefixes of each other.
+/// The retrieval follows the symbols of the query, and in each node also:
+/// - the `*` branch, an indexed variable standing for the whole query subterm;
+/// - for a query variable, all the branches, skipping one whole indexed subterm.
+///
+/// The variables are not distinguished, so the retrieval over-approximates: `f(X, X)` is found for `f(a, b)`.
+/// The candidates still have to be unified, but the clauses with another constant in an indexed position are never seen.
+public class DiscriminationTree<V> {
+    record Key(String name, int arity) {}
+    static final Key STAR = new Key(null, 0);
+
+    static final class Node<V> {
+        final Map<Key, Node<V>> children = new HashMap<>();
+        final List<V> values = new ArrayList<>();
+
+        boolean isEmpty() {
+            return children.isEmpty() && values.isEmpty();
+        }
+    }
+
+    /// the query subterms remaining to be matched, shared between the branches of the retrieval
+    record Pending(Term term, Pending next) {}
+
+    final Node<V> root = new Node<>();
+    int size = 0;
+
+    public int size() {
+        return size;
+    }
+
+    public void add(Term term, V value) {
+        var node = root;
+        for (Key key : path(term)) {
+            node = node.children.computeIfAbsent(key, _ -> new Node<>());
+        }
+        node.values.add(value);
+        size++;
+    }
+
+    public void clear() {
+        root.children.clear();
+        root.values.clear();
+        size = 0;
+    }
+
+    /// Removes one occurrence of the value stored for the term.
+    /// @return false if the value was not stored for the term
+    public boolean remove(Term term, V value) {
+        var keys = path(term);
+        List<Node<V>> nodes = new ArrayList<>(keys.size() + 1);
+        var node = root;
+        nodes.add(node);
+        for (Key key : keys) {
+            node = node.children.get(key);
+            if (node == null) return false;
+            nodes.add(node);
+        }
+        if (!node.values.remove(value)) return false;
+        size--;
+        //prune the empty branch
+        for (int i = keys.size(); i > 0 && nodes.get(i).isEmpty(); i--) {
+            nodes.get(i - 1).children.remove(keys.get(i - 1));
+        }
+        return true;
+    }
+
+    /// @return the values of the indexed terms that may unify with the query
+    public List<V> unifiable(Term query) {
+        List<V> result = new ArrayList<>();
+        forEachUnifiable(query, result::add);
+        return result;
+    }
+
+    public void forEachUnifiable(Term query, Consumer<? super V> action) {
+        unifiable(root, new Pending(query, null), action);
+    }
+
+    public void forEach(Consumer<? super V> action) {
+        skip(root, 1, null, action);
+    }
+
+    private void unifiable(Node<V> node, Pending pending, Consumer<? super V> action) {
+        if (pending == null) {
+            node.values.forEach(action);
+            return;
+        }
+        Pending rest = pending.next();
+        switch (pending.term()) {
+            case Var _ -> skip(node, 1, rest, action);
+            case App app -> {
+                var star = node.children.get(STAR);
+                if (star != null) unifiable(star, rest, action);
+                var child = node.children.get(new Key(app.name(), app.terms().size()));
+                if (child != null) unifiable(child, push(app.terms(), rest), action);
+            }
+        }
+    }
+
+    /// skips the given number of indexed subterms, then continues with the pending query subterms
+    private void skip(Node<V> node, int subterms, Pending rest, Consumer<? super V> action) {
+        if (subterms == 0) {
+            unifiable(node, rest, action);
+            return;
+        }
+        for (var entry : node.children.entrySet()) {
+            skip(entry.getValue(), subterms - 1 + entry.getKey().arity(), rest, action);
+        }
+    }
+
+    private static Pending push(List<Term> terms, Pending rest) {
+        for (int i = terms.size() - 1; i >= 0; i--) {
+            rest = new Pending(terms.get(i), rest);
+        }
+        return rest;
+    }
+
+    static List<Key> path(Term term) {
+        List<Key> path = new ArrayList<>();
+        ArrayDeque<Term> stack = new ArrayDeque<>();
+        stack.push(term);
+        while (!stack.isEmpty()) {
+            switch (stack.pop()) {
+                case Var _ -> path.add(STAR);
+                case App app -> {
+                    path.add(new Key(app.name(), app.terms().size()));
+                    for (int i = app.terms().size() - 1; i >= 0; i--) {
+                        stack.push(app.terms().get(i));
+                    }
+                }
+            }
+        }
+        return path;
+    }
+
+    /// One-way matching: binds the variables of the pattern so that it becomes the instance,
+    /// the variables of the instance are constants.
+    /// @return false if the instance is not an instance of the pattern, the bindings are then partial
+    static boolean matches(Term pattern, Term instance, Map<Var, Term> bindings) {
+        return switch (pattern) {
+            case Var v -> {
+                var bound = bindings.putIfAbsent(v, instance);
+                yield bound == null || bound.equals(instance);
+            }
+            case App p -> {
+                if (!(instance instanceof App i) || !p.name().equals(i.name()) || p.terms().size() != i.terms().size()) {
+                    yield false;
+                }
+                for (int k = 0; k < p.terms().size(); k++) {
+                    if (!matches(p.terms().get(k), i.terms().get(k), bindings)) yield false;
+                }
+                yield true;
+            }
+        };
+    }
+}
@@ -1,36 +1,132 @@
 package obp3.uslg.syntax;
 
-import obp3.fixer.Fixer;
+import obp3.fixer.IncrementalFixer;
 import obp3.unification.syntax.App;
 import obp3.unification.syntax.Term;
+import obp3.unification.syntax.Terms;
 import obp3.unification.syntax.Var;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class SLGSolver {
-    Fixer<Term, AnswerSet> fixer = new Fixer<>(
+    /// How the tabled calls are computed.
+    public enum Evaluation {
+        /// the answer set of a call is the least fixed point of its equations, recomputed by the {@link IncrementalFixer}
+        /// each time a dependency grows
+        NAIVE,
+        /// only the new answers are propagated to the suspended consumers, see {@link SemiNaiveEvaluation}
+        SEMI_NAIVE
+    }
+
+    IncrementalFixer<Term, AnswerSet> fixer = new IncrementalFixer<>(
             this::equations,
             AnswerSet.toLattice(),
             HashMap::new
     );
-    Map<String, List<Rule>> rules;
+    /// the rules indexed by their heads
+    DiscriminationTree<Rule> rules = new DiscriminationTree<>();
     IdentityHashMap<Rule, Rule> renamedRuleCache = new IdentityHashMap<>();
+    final Evaluation evaluation;
+    /// the complete semi-naive tables, shared by the evaluations of {@link #solve} and {@link #solveAll}
+    final ConcurrentHashMap<Term, SemiNaiveEvaluation.Table> completeTables = new ConcurrentHashMap<>();
+    final SemiNaiveEvaluation semiNaive = new SemiNaiveEvaluation(this);
 
     public SLGSolver(List<Rule> rules) {
-        this.rules = rules.stream().collect(
-                Collectors.groupingBy(r -> r.head().name())
-        );
+        this(rules, Evaluation.NAIVE);
+    }
+
+    public SLGSolver(List<Rule> rules, Evaluation evaluation) {
+        for (Rule rule : rules) {
+            var shared = hashCons(rule);
+            this.rules.add(shared.head(), shared);
+        }
+        this.evaluation = evaluation;
+    }
+
+    /// Adds rules between queries.
+    /// The program is positive, so the answers can only grow: the tabled calls of the predicates of the new rules
+    /// are updated from their current answers, and the other tables are reused as is.
+    public void addRules(List<Rule> newRules) {
+        for (Rule rule : newRules) {
+            var shared = hashCons(rule);
+            rules.add(shared.head(), shared);
+        }
+        fixer.update(tabledCalls(newRules));
+        //the complete semi-naive tables dropped their consumers, they are recomputed on demand
+        semiNaive.clear();
+    }
+
+    /// Removes rules between queries, the tabled calls depending on their predicates are recomputed on demand.
+    public void removeRules(List<Rule> oldRules) {
+        Set<Rule> removed = new HashSet<>();
+        for (Rule rule : oldRules) {
+            var shared = hashCons(rule);
+            if (rules.remove(shared.head(), shared)) removed.add(shared);
+        }
+        //the cache is by identity, drop the renamings of the removed rules so that their terms can be reclaimed
+        renamedRuleCache.keySet().removeIf(removed::contains);
+        fixer.invalidate(tabledCalls(oldRules));
+        semiNaive.clear();
+    }
+
+    /// The terms of the rules are hash-consed, so the terms derived from them by substitution are hash-consed too:
+    /// the tables and substitutions then compare them by identity.
+    static Rule hashCons(Rule rule) {
+        return new Rule(Terms.hashCons(rule.head()), rule.body().stream().map(Terms::hashCons).toList());
+    }
+
+    List<Term> tabledCalls(List<Rule> changedRules) {
+        var names = changedRules.stream().map(r -> r.head().name()).collect(Collectors.toSet());
+        return fixer.fixedNodes().stream().filter(call -> names.contains(call.name())).toList();
     }
 
     public AnswerSet solve(Term term) {
         var canonicalTerm = AlphaEquivalence.toCanonical(term, Substitution.empty());
-        var as = fixer.apply(canonicalTerm);
+        var as = switch (evaluation) {
+            case NAIVE -> fixer.apply(canonicalTerm);
+            case SEMI_NAIVE -> semiNaive.answers(canonicalTerm);
+        };
         // Map canonical answers back to user variables
         return mapBackToUserVars(term, canonicalTerm, as);
     }
 
+    /// Solves a batch of queries concurrently, and completes the future of each query as soon as its answers are known.
+    ///
+    /// The batch always uses the semi-naive evaluation, whatever the {@link Evaluation} of the solver.
+    /// The queries are canonicalized first, the variants share one evaluation task.
+    /// The unit of work is the query, not a strongly-connected group of subgoals: each task runs its own
+    /// {@link SemiNaiveEvaluation} over all the subgoals reachable from its query, with private incomplete tables.
+    /// It reads the tables completed by the other tasks and by the previous queries, and publishes its own complete
+    /// tables when it finishes. An incomplete subgoal shared by several queries is therefore computed again by every
+    /// task that reaches it before it is published; the first task to publish it wins.
+    ///
+    /// The rules must not be changed until the batch completes.
+    public List<CompletableFuture<AnswerSet>> solveAll(List<Term> queries, Executor executor) {
+        //the renamed rules are shared by the tasks, the cache is filled before they start
+        rules.forEach(this::renamedRule);
+        Map<Term, CompletableFuture<AnswerSet>> tasks = new HashMap<>();
+        List<CompletableFuture<AnswerSet>> results = new ArrayList<>(queries.size());
+        for (Term query : queries) {
+            var canonicalTerm = AlphaEquivalence.toCanonical(query, Substitution.empty());
+            var task = tasks.computeIfAbsent(canonicalTerm, call -> CompletableFuture.supplyAsync(
+                    () -> new SemiNaiveEvaluation(this).answers(call), executor));
+            results.add(task.thenApply(as -> mapBackToUserVars(query, canonicalTerm, as)));
+        }
+        return results;
+    }
+
+    /// Solves a batch of queries on the common fork-join pool, and waits for all the answers.
+    /// @return the answers of each query, in the order of the queries
+    public List<AnswerSet> solveAll(List<Term> queries) {
+        return solveAll(queries, ForkJoinPool.commonPool()).stream().map(CompletableFuture::join).toList();
+    }
+
     AnswerSet mapBackToUserVars(Term userTerm, Term canonicalTerm, AnswerSet canonicalAnswers) {
         AnswerSet result = new AnswerSet();
         Set<Var> userVars = collectVars(userTerm);
@@ -49,7 +145,7 @@ public class SLGSolver {
         Map<Var, Var> renaming = new HashMap<>();
         int id = System.identityHashCode(rule);
         int[] localCounter = {0};
-        Function<Var, Term> mapper = v -> renaming.computeIfAbsent(v, _ -> new Var("_R" + id + "_" + localCounter[0]++));
+        Function<Var, Term> mapper = v -> renaming.computeIfAbsent(v, _ -> Terms.var("_R" + id + "_" + localCounter[0]++));
         return rule.substitute(mapper);
     }
 
@@ -59,7 +155,7 @@ public class SLGSolver {
 
     AnswerSet equations(Term call, Function<Term, AnswerSet> request) {
         Set<Var> callVars = collectVars(call);
-        AnswerSet result = new AnswerSet();
+        List<Substitution> result = new ArrayList<>();
         for (Rule rule : applicable(call)) {
             Rule fresh = renamedRule(rule);
             Optional<Substitution> mgu = Unifier.unify(fresh.head(), call, Substitution.empty());
@@ -70,14 +166,15 @@ public class SLGSolver {
             // Project answers to only the call's variables
             for (Substitution s : solutions.answers()) {
                 Substitution projected = projectResolved(s, callVars);
-                result = result.add(projected);
+                result.add(projected);
             }
         }
-        return result;
+        return new AnswerSet(result);
     }
 
+    /// @return the rules whose heads may unify with the goal
     List<Rule> applicable(Term goal) {
-        return rules.getOrDefault(goal.name(), List.of());
+        return rules.unifiable(goal);
     }
 
     AnswerSet solveConjunction(List<Term> goals, Substitution substitution, Function<Term, AnswerSet> request) {
@@ -0,0 +1,180 @@
+package obp3.uslg.syntax;
+
+import obp3.unification.syntax.Term;
+import obp3.unification.syntax.Var;
+
+import java.util.*;
+
+/// Semi-naive evaluation of the tabled calls of an {@link SLGSolver}.
+///
+/// Each canonical call has an append-only answer table and a list of consumers.
+/// A consumer is a conjunction suspended on a call: when the call gets a new answer, only this answer (the delta)
+/// is sent to the consumer, which resumes the rest of its conjunction with it.
+/// So every (consumer, answer) pair is joined exactly once, instead of re-joining all the answers of all
+/// the dependencies each time one of them grows, as the naive {@link obp3.fixer.Fixer} equations do.
+/// Transitive closures become linear in the number of answers.
+///
+/// The resumptions go through an agenda instead of the Java stack, so deep recursions do not overflow.
+/// The tables are complete when the agenda is empty; the complete tables forget their consumers,
+/// and a later call on them only reads their answers.
+///
+/// The complete calls are indexed in a {@link DiscriminationTree}: a new call that is an instance of a complete call
+/// with ground answers is not evaluated, its answers are retrieved from the answer index of the more general table.
+///
+/// The complete tables are published in {@link SLGSolver#completeTables}, shared by all the evaluations of the solver:
+/// the concurrent evaluations of {@link SLGSolver#solveAll} read the tables completed by the others,
+/// and keep their incomplete tables private. A complete table is never modified again, except for its answer index.
+class SemiNaiveEvaluation {
+    final SLGSolver solver;
+    /// the tables of this evaluation, and the complete tables it imported
+    final Map<Term, Table> tables = new HashMap<>();
+    final ArrayDeque<Resumption> agenda = new ArrayDeque<>();
+    /// the tables created since the last completion
+    final List<Table> open = new ArrayList<>();
+    final DiscriminationTree<Table> completeCalls = new DiscriminationTree<>();
+    long resumptions = 0;
+
+    SemiNaiveEvaluation(SLGSolver solver) {
+        this.solver = solver;
+    }
+
+    static final class Table {
+        final Term call;
+        final Set<Var> callVars;
+        final List<Substitution> answers = new ArrayList<>();
+        final Set<Substitution> known = new HashSet<>();
+        List<Consumer> consumers = new ArrayList<>();
+        boolean complete = false;
+        /// the resolved answers, built on demand for a complete table if they are all ground
+        DiscriminationTree<Term> answerIndex;
+        boolean indexable = true;
+
+        Table(Term call) {
+            this.call = call;
+            this.callVars = SLGSolver.collectVars(call);
+        }
+
+        synchronized DiscriminationTree<Term> answerIndex() {
+            if (answerIndex != null || !indexable) return answerIndex;
+            var index = new DiscriminationTree<Term>();
+            for (Substitution answer : answers) {
+                Term resolved = call.substitute(answer::get);
+                if (!SLGSolver.collectVars(resolved).isEmpty()) {
+                    indexable = false;
+                    return null;
+                }
+                index.add(resolved, resolved);
+            }
+            return answerIndex = index;
+        }
+    }
+
+    /// the conjunction {@code first, rest} of the owner, under the substitution, waiting for the answers of {@code canonicalFirst}
+    record Consumer(Table owner, Term first, Term canonicalFirst, List<Term> rest, Substitution substitution) {}
+
+    record Resumption(Consumer consumer, Substitution answer) {}
+
+    AnswerSet answers(Term canonicalCall) {
+        var table = table(canonicalCall);
+        while (!agenda.isEmpty()) {
+            resume(agenda.poll());
+        }
+        for (var complete : open) {
+            complete.complete = true;
+            complete.consumers = List.of();
+            completeCalls.add(complete.call, complete);
+            solver.completeTables.putIfAbsent(complete.call, complete);
+        }
+        open.clear();
+        return new AnswerSet(table.answers);
+    }
+
+    void clear() {
+        tables.clear();
+        agenda.clear();
+        open.clear();
+        completeCalls.clear();
+        solver.completeTables.clear();
+    }
+
+    /// the table of the call, created and evaluated with all the applicable rules if needed
+    Table table(Term canonicalCall) {
+        var table = tables.get(canonicalCall);
+        if (table != null) return table;
+        table = solver.completeTables.get(canonicalCall);
+        if (table != null) {
+            tables.put(canonicalCall, table);
+            completeCalls.add(canonicalCall, table);
+            return table;
+        }
+        table = new Table(canonicalCall);
+        tables.put(canonicalCall, table);
+        if (subsumed(table)) return table;
+        open.add(table);
+        for (Rule rule : solver.applicable(canonicalCall)) {
+            Rule fresh = solver.renamedRule(rule);
+            Optional<Substitution> mgu = Unifier.unify(fresh.head(), canonicalCall, Substitution.empty());
+            if (mgu.isEmpty()) continue;
+            Substitution substitution = mgu.get();
+            var goals = fresh.body().stream().map(term -> term.substitute(substitution::get)).toList();
+            proceed(table, goals, substitution);
+        }
+        return table;
+    }
+
+    /// Fills the table from the answers of a complete table of a more general call, if there is one.
+    boolean subsumed(Table table) {
+        for (Table general : completeCalls.unifiable(table.call)) {
+            if (!DiscriminationTree.matches(general.call, table.call, new HashMap<>())) continue;
+            var index = general.answerIndex();
+            if (index == null) continue;
+            index.forEachUnifiable(table.call, answer -> {
+                var bindings = new HashMap<Var, Term>();
+                if (DiscriminationTree.matches(table.call, answer, bindings)) {
+                    addAnswer(table, new Substitution(bindings));
+                }
+            });
+            table.complete = true;
+            table.consumers = List.of();
+            return true;
+        }
+        return false;
+    }
+
+    void proceed(Table owner, List<Term> goals, Substitution substitution) {
+        if (goals.isEmpty()) {
+            addAnswer(owner, solver.projectResolved(substitution, owner.callVars));
+            return;
+        }
+        Term first = goals.getFirst();
+        Term canonicalFirst = AlphaEquivalence.toCanonical(first, substitution);
+        var consumer = new Consumer(owner, first, canonicalFirst, goals.subList(1, goals.size()), substitution);
+        var producer = table(canonicalFirst);
+        if (!producer.complete) {
+            producer.consumers.add(consumer);
+        }
+        //the answers already there, the later ones are sent by addAnswer
+        for (Substitution answer : List.copyOf(producer.answers)) {
+            agenda.add(new Resumption(consumer, answer));
+        }
+    }
+
+    void resume(Resumption resumption) {
+        resumptions++;
+        var consumer = resumption.consumer();
+        Term resolved = consumer.canonicalFirst().substitute(resumption.answer()::get);
+        Optional<Substitution> applied = Unifier.unify(consumer.first(), resolved, consumer.substitution());
+        if (applied.isEmpty()) return;
+        Substitution newSubstitution = applied.get();
+        var newGoals = consumer.rest().stream().map(term -> term.substitute(newSubstitution::get)).toList();
+        proceed(consumer.owner(), newGoals, newSubstitution);
+    }
+
+    void addAnswer(Table table, Substitution answer) {
+        if (!table.known.add(answer)) return;
+        table.answers.add(answer);
+        for (Consumer consumer : table.consumers) {
+            agenda.add(new Resumption(consumer, answer));
+        }
+    }
+}
@@ -1,17 +1,23 @@
 package obp3.uslg.syntax;
 
+import obp3.datastructures.collections.persistent.PersistentHashMap;
 import obp3.unification.syntax.Term;
 import obp3.unification.syntax.Var;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
+/// The bindings are a {@link PersistentHashMap}: extending a substitution shares the bindings of the previous one.
 public record Substitution(Map<Var, Term> bindings) {
+    private static final Substitution EMPTY = new Substitution(PersistentHashMap.empty());
+
+    public Substitution {
+        bindings = PersistentHashMap.copyOf(bindings);
+    }
+
     public static Substitution empty() {
-        return new Substitution(new HashMap<>());
+        return EMPTY;
     }
     public boolean contains(Var variable) {
         return bindings.containsKey(variable);
@@ -26,14 +32,12 @@ public record Substitution(Map<Var, Term> bindings) {
     }
 
     public Substitution compose(Substitution other) {
-        // Apply this substitution to the terms in the other substitution
-        Map<Var, Term> newBindings = other.bindings.entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        entry -> entry.getValue().substitute(this::get)
-                ));
-        // Add the bindings from this substitution
-        newBindings.putAll(this.bindings);
+        // Apply this substitution to the terms in the other substitution, the bindings of this substitution win
+        var newBindings = persistentBindings();
+        for (var entry : other.bindings.entrySet()) {
+            if (bindings.containsKey(entry.getKey())) continue;
+            newBindings = newBindings.plus(entry.getKey(), entry.getValue().substitute(this::get));
+        }
         return new Substitution(newBindings);
     }
 
@@ -53,18 +57,21 @@ public record Substitution(Map<Var, Term> bindings) {
         if (variable.occursIn(term, this::get)) {
             return Optional.empty(); // Occurs check failed
         }
-        var newBindings = new HashMap<>(bindings);
-        newBindings.put(variable, term);
-        return Optional.of(new Substitution(newBindings));
+        return Optional.of(new Substitution(persistentBindings().plus(variable, term)));
     }
 
     public Substitution project(Set<Var> variables) {
-        var projected = new HashMap<Var, Term>();
+        PersistentHashMap<Var, Term> projected = PersistentHashMap.empty();
         for (Var v : variables) {
-            if (bindings.containsKey(v)) {
-                projected.put(v, bindings.get(v));
+            Term term = bindings.get(v);
+            if (term != null) {
+                projected = projected.plus(v, term);
             }
         }
         return new Substitution(projected);
     }
+
+    private PersistentHashMap<Var, Term> persistentBindings() {
+        return (PersistentHashMap<Var, Term>) bindings;
+    }
 }
@@ -24,10 +24,10 @@ public class Unifier {
         if (t2 instanceof Var v) {
             return unify(t2, t1, substitution);
         }
-        if (       t1 instanceof App(String name1, List<Term> args1)
-                && t2 instanceof App(String name2, List<Term> args2))
-        {
-            if (!name1.equals(name2) || args1.size() != args2.size()) return Optional.empty();
+        if (t1 instanceof App app1 && t2 instanceof App app2) {
+            var args1 = app1.terms();
+            var args2 = app2.terms();
+            if (!app1.name().equals(app2.name()) || args1.size() != args2.size()) return Optional.empty();
             return IntStream.range(0, args1.size())
                     .boxed().
                     reduce(
@@ -4,6 +4,7 @@ import obp3.utils.Hashable;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -877,4 +878,68 @@ class LinearScanHashMapTest {
         assertEquals(0, map.size());
         assertTrue(map.isEmpty());
     }
+
+    @Nested
+    @DisplayName("Robin Hood probing")
+    class RobinHood {
+        @Test
+        @DisplayName("Random operations should agree with HashMap under colliding hashes")
+        void testAgainstHashMap() {
+            var map = new LinearScanHashMap<Integer, Integer>(4, Hashable.from(Integer::equals, i -> i % 32),
+                    AbstractLinearProbingTable.Probing.ROBIN_HOOD);
+            Map<Integer, Integer> expected = new HashMap<>();
+            var random = new Random(3);
+            for (int step = 0; step < 20_000; step++) {
+                int key = random.nextInt(1_000);
+                switch (random.nextInt(3)) {
+                    case 0, 1 -> assertEquals(expected.put(key, step), map.put(key, step));
+                    default -> assertEquals(expected.remove(key), map.remove(key));
+                }
+            }
+            assertEquals(expected.size(), map.size());
+            for (int key = 0; key < 1_000; key++) {
+                assertEquals(expected.get(key), map.get(key), "key " + key);
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+            assertEquals(expected.entrySet(), map.entrySet());
+        }
+
+        @Test
+        @DisplayName("compute() should hit the existing entry")
+        void testCompute() {
+            var map = new LinearScanHashMap<String, Integer>(16, Hashable.standard(), AbstractLinearProbingTable.Probing.ROBIN_HOOD);
+            for (int i = 0; i < 100; i++) {
+                map.merge("k" + (i % 10), 1, Integer::sum);
+            }
+            assertEquals(10, map.size());
+            for (int i = 0; i < 10; i++) assertEquals(10, map.get("k" + i));
+            map.put(null, 0);
+            assertEquals(0, map.remove(null));
+            assertFalse(map.containsKey(null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Incremental resize")
+    class IncrementalResize {
+        @Test
+        @DisplayName("Random operations during resizes should agree with HashMap")
+        void testAgainstHashMap() {
+            for (var probing : AbstractLinearProbingTable.Probing.values()) {
+                var map = new LinearScanHashMap<Integer, Integer>(2, Hashable.standard(), probing, true);
+                Map<Integer, Integer> expected = new HashMap<>();
+                var random = new Random(5);
+                for (int step = 0; step < 30_000; step++) {
+                    int key = random.nextInt(5_000);
+                    switch (random.nextInt(4)) {
+                        case 0, 1 -> assertEquals(expected.put(key, step), map.put(key, step));
+                        case 2 -> assertEquals(expected.get(key), map.get(key));
+                        default -> assertEquals(expected.remove(key), map.remove(key));
+                    }
+                }
+                assertEquals(expected.size(), map.size());
+                assertEquals(expected.entrySet(), map.entrySet());
+            }
+        }
+    }
 }
@@ -4,6 +4,13 @@ import obp3.utils.Hashable;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("LinearScanHashSet Tests")
@@ -755,4 +762,195 @@ class LinearScanHashSetTest {
         assertEquals(0, set.size());
         assertTrue(set.isEmpty());
     }
+
+    /** Counts the calls to the hash and equality functions. */
+    static final class CountingHashable implements Hashable<Integer> {
+        int hashCalls = 0;
+        int equalCalls = 0;
+
+        @Override
+        public int hash(Integer x) {
+            hashCalls++;
+            return x % 100;
+        }
+
+        @Override
+        public boolean equal(Integer x, Integer y) {
+            equalCalls++;
+            return x.equals(y);
+        }
+    }
+
+    @Test
+    @DisplayName("Growth should reuse the cached hashes")
+    void testGrowthReusesHashes() {
+        for (var probing : AbstractLinearProbingTable.Probing.values()) {
+            var hashable = new CountingHashable();
+            var set = new LinearScanHashSet<>(2, hashable, probing);
+            for (int i = 0; i < 1000; i++) set.add(i);
+            assertTrue(set.capacity() >= 1024);
+            assertEquals(1000, hashable.hashCalls, probing.toString());
+            for (int i = 0; i < 1000; i++) assertTrue(set.contains(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Probes should only compare the keys with the same hash")
+    void testHashesComparedFirst() {
+        for (var probing : AbstractLinearProbingTable.Probing.values()) {
+            var hashable = new CountingHashable();
+            var set = new LinearScanHashSet<>(256, hashable, probing);
+            //100 distinct hashes, 2 keys for each
+            for (int i = 0; i < 200; i++) set.add(i);
+            hashable.equalCalls = 0;
+            //one cluster of 200 keys: a key is compared with itself, and at most with the other key of its hash
+            for (int i = 0; i < 200; i++) assertTrue(set.contains(i));
+            assertTrue(hashable.equalCalls <= 400, probing + ": " + hashable.equalCalls);
+            hashable.equalCalls = 0;
+            for (int i = 1000; i < 1100; i++) assertFalse(set.contains(i + 1));
+            assertTrue(hashable.equalCalls <= 200, probing + ": " + hashable.equalCalls);
+        }
+    }
+
+    @Nested
+    @DisplayName("Robin Hood probing")
+    class RobinHood {
+        private LinearScanHashSet<Integer> robinHood(Hashable<Integer> hashable) {
+            return new LinearScanHashSet<>(16, hashable, AbstractLinearProbingTable.Probing.ROBIN_HOOD);
+        }
+
+        @Test
+        @DisplayName("Set should fill up to 0.9 before growing")
+        void testLoadFactor() {
+            var set = robinHood(Hashable.standard());
+            assertEquals(AbstractLinearProbingTable.Probing.ROBIN_HOOD, set.probing());
+            for (int i = 0; i < 14; i++) set.add(i);
+            assertEquals(16, set.capacity());
+            set.add(14);
+            set.add(15);
+            assertEquals(32, set.capacity());
+            for (int i = 0; i < 16; i++) assertTrue(set.contains(i));
+        }
+
+        @Test
+        @DisplayName("Random operations should agree with HashSet under colliding hashes")
+        void testAgainstHashSet() {
+            //only 64 distinct hashes, to make long clusters
+            var set = robinHood(Hashable.from(Integer::equals, i -> i % 64));
+            Set<Integer> expected = new HashSet<>();
+            var random = new Random(42);
+            for (int step = 0; step < 20_000; step++) {
+                int value = random.nextInt(2_000);
+                switch (random.nextInt(3)) {
+                    case 0, 1 -> assertEquals(expected.add(value), set.add(value));
+                    default -> assertEquals(expected.remove(value), set.remove(value));
+                }
+                assertEquals(expected.size(), set.size());
+            }
+            for (int value = 0; value < 2_000; value++) {
+                assertEquals(expected.contains(value), set.contains(value), "value " + value);
+            }
+            assertEquals(expected, new HashSet<>(set));
+        }
+
+        @Test
+        @DisplayName("Removals should leave no tombstones")
+        void testBackwardShift() {
+            var set = robinHood(Hashable.from(Integer::equals, i -> 3));
+            for (int i = 0; i < 10; i++) set.add(i);
+            assertTrue(set.remove(0));
+            assertTrue(set.remove(5));
+            //the cluster is compacted: it starts at its home slot and has no hole
+            for (int i = 3; i < 3 + 8; i++) assertTrue(set.isActiveSlot(i));
+            assertFalse(set.isActiveSlot(11));
+            assertEquals(7, set.maxProbeLength());
+            for (int i = 0; i < 10; i++) assertEquals(i != 0 && i != 5, set.contains(i));
+        }
+
+        @Test
+        @DisplayName("retainAll() should see the items shifted back into a removed slot")
+        void testRetainAll() {
+            var set = robinHood(Hashable.from(Integer::equals, i -> 0));
+            for (int i = 0; i < 10; i++) set.add(i);
+            assertTrue(set.retainAll(List.of(7, 8, 9)));
+            assertEquals(Set.of(7, 8, 9), new HashSet<>(set));
+        }
+
+        @Test
+        @DisplayName("Probe lengths should stay shorter than with plain linear probing at the same load")
+        void testProbeLength() {
+            var linear = new LinearScanHashSet<Integer>(1 << 14, Hashable.standard(), AbstractLinearProbingTable.Probing.LINEAR);
+            var set = new LinearScanHashSet<Integer>(1 << 14, Hashable.standard(), AbstractLinearProbingTable.Probing.ROBIN_HOOD);
+            var random = new Random(7);
+            //about 0.6 full, below the growth threshold of both
+            for (int i = 0; i < 10_000; i++) {
+                int value = random.nextInt();
+                linear.add(value);
+                set.add(value);
+            }
+            assertEquals(linear.capacity(), set.capacity());
+            assertTrue(set.maxProbeLength() <= linear.maxProbeLength(),
+                    set.maxProbeLength() + " > " + linear.maxProbeLength());
+            assertFalse(set.contains(null));
+            assertTrue(set.add(null));
+            assertTrue(set.contains(null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Incremental resize")
+    class IncrementalResize {
+        @Test
+        @DisplayName("Growth should spread the migration over the next operations")
+        void testMigrationIsSpread() {
+            for (var probing : AbstractLinearProbingTable.Probing.values()) {
+                var set = new LinearScanHashSet<Integer>(1024, Hashable.standard(), probing, true);
+                int i = 0;
+                while (set.capacity() == 1024) set.add(i++);
+                assertTrue(set.isResizing(), probing.toString());
+                //every element is reachable while its slot is not migrated yet
+                for (int j = 0; j < i; j++) assertTrue(set.contains(j), probing + ": " + j);
+                //1024 old slots, 64 per operation
+                assertFalse(set.isResizing(), probing.toString());
+                assertEquals(i, set.size());
+            }
+        }
+
+        @Test
+        @DisplayName("Random operations during resizes should agree with HashSet")
+        void testAgainstHashSet() {
+            for (var probing : AbstractLinearProbingTable.Probing.values()) {
+                var set = new LinearScanHashSet<Integer>(2, Hashable.from(Integer::equals, i -> i % 512), probing, true);
+                Set<Integer> expected = new HashSet<>();
+                var random = new Random(11);
+                int resizing = 0;
+                for (int step = 0; step < 30_000; step++) {
+                    int value = random.nextInt(5_000);
+                    switch (random.nextInt(4)) {
+                        case 0, 1 -> assertEquals(expected.add(value), set.add(value));
+                        case 2 -> assertEquals(expected.contains(value), set.contains(value));
+                        default -> assertEquals(expected.remove(value), set.remove(value));
+                    }
+                    assertEquals(expected.size(), set.size());
+                    if (set.isResizing()) resizing++;
+                }
+                assertTrue(resizing > 0, probing.toString());
+                assertEquals(expected, new HashSet<>(set));
+                assertFalse(set.isResizing());
+            }
+        }
+
+        @Test
+        @DisplayName("clear() should drop a resize in progress")
+        void testClearWhileResizing() {
+            var set = new LinearScanHashSet<Integer>(256, Hashable.standard(), AbstractLinearProbingTable.Probing.LINEAR, true);
+            int i = 0;
+            while (!set.isResizing()) set.add(i++);
+            set.clear();
+            assertFalse(set.isResizing());
+            assertTrue(set.isEmpty());
+            assertFalse(set.contains(0));
+            assertTrue(set.add(0));
+        }
+    }
 }
@@ -0,0 +1,58 @@
+package obp3.datastructures.collections.linearscan;
+
+import obp3.datastructures.collections.linearscan.AbstractLinearProbingTable.Probing;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LinearScanIntSet Tests")
+class LinearScanIntSetTest {
+
+    @ParameterizedTest
+    @EnumSource(Probing.class)
+    @DisplayName("Random operations should agree with a BitSet")
+    void testAgainstBitSet(Probing probing) {
+        var set = new LinearScanIntSet(1, probing);
+        var expected = new BitSet();
+        var random = new Random(37);
+        for (int step = 0; step < 50_000; step++) {
+            int value = random.nextInt(3_000);
+            switch (random.nextInt(3)) {
+                case 0, 1 -> {
+                    assertEquals(!expected.get(value), set.add(value));
+                    expected.set(value);
+                }
+                default -> {
+                    assertEquals(expected.get(value), set.remove(value));
+                    expected.clear(value);
+                }
+            }
+        }
+        assertEquals(expected.cardinality(), set.size());
+        int[] values = set.toArray();
+        Arrays.sort(values);
+        assertArrayEquals(expected.stream().toArray(), values);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Probing.class)
+    @DisplayName("Negative values should not collide with their long widening")
+    void testNegativeValues(Probing probing) {
+        var set = new LinearScanIntSet(16, probing);
+        assertTrue(set.add(-1));
+        assertTrue(set.add(Integer.MIN_VALUE));
+        assertTrue(set.add(0));
+        assertTrue(set.contains(-1));
+        assertTrue(set.contains(Integer.MIN_VALUE));
+        assertFalse(set.contains(Integer.MAX_VALUE));
+        int[] sum = {0};
+        set.forEach(value -> sum[0]++);
+        assertEquals(3, sum[0]);
+    }
+}
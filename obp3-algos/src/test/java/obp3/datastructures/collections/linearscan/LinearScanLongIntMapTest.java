@@ -0,0 +1,76 @@
+package obp3.datastructures.collections.linearscan;
+
+import obp3.datastructures.collections.linearscan.AbstractLinearProbingTable.Probing;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LinearScanLongIntMap Tests")
+class LinearScanLongIntMapTest {
+
+    @Test
+    @DisplayName("Missing keys should be reported with the missing value")
+    void testMissingValue() {
+        var map = new LinearScanLongIntMap(8);
+        assertEquals(-1, map.missingValue());
+        assertEquals(-1, map.get(42));
+        assertEquals(-1, map.put(42, 7));
+        assertEquals(7, map.put(42, 8));
+        assertEquals(8, map.get(42));
+        assertEquals(3, map.getOrDefault(43, 3));
+        assertTrue(map.containsKey(42));
+        assertEquals(8, map.remove(42));
+        assertEquals(-1, map.remove(42));
+        var other = new LinearScanLongIntMap(8, Integer.MIN_VALUE, Probing.ROBIN_HOOD);
+        assertEquals(Integer.MIN_VALUE, other.get(0));
+    }
+
+    @Test
+    @DisplayName("computeIfAbsent() should number the new keys densely")
+    void testStateIds() {
+        var ids = new LinearScanLongIntMap(4);
+        var random = new Random(41);
+        long[] fingerprints = new long[1_000];
+        for (int i = 0; i < fingerprints.length; i++) fingerprints[i] = random.nextLong();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < fingerprints.length; i++) {
+                assertEquals(i, ids.computeIfAbsent(fingerprints[i], k -> ids.size()));
+            }
+        }
+        assertEquals(fingerprints.length, ids.size());
+    }
+
+    @ParameterizedTest
+    @EnumSource(Probing.class)
+    @DisplayName("Random operations should agree with HashMap")
+    void testAgainstHashMap(Probing probing) {
+        var map = new LinearScanLongIntMap(2, -1, probing);
+        Map<Long, Integer> expected = new HashMap<>();
+        var random = new Random(43);
+        for (int step = 0; step < 50_000; step++) {
+            long key = random.nextInt(2_000);
+            switch (random.nextInt(4)) {
+                case 0, 1 -> {
+                    assertEquals(expected.getOrDefault(key, -1), map.put(key, step));
+                    expected.put(key, step);
+                }
+                case 2 -> assertEquals(expected.getOrDefault(key, -1), map.get(key));
+                default -> {
+                    assertEquals(expected.getOrDefault(key, -1), map.remove(key));
+                    expected.remove(key);
+                }
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        Map<Long, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+    }
+}
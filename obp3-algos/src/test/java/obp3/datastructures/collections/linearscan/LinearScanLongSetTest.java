@@ -0,0 +1,92 @@
+package obp3.datastructures.collections.linearscan;
+
+import obp3.datastructures.collections.linearscan.AbstractLinearProbingTable.Probing;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LinearScanLongSet Tests")
+class LinearScanLongSetTest {
+
+    @Test
+    @DisplayName("Every long should be a valid element, including 0 and the extremes")
+    void testNoReservedValue() {
+        var set = new LinearScanLongSet(4);
+        long[] values = {0L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, 1L};
+        for (long value : values) {
+            assertFalse(set.contains(value));
+            assertTrue(set.add(value));
+            assertFalse(set.add(value));
+        }
+        assertEquals(values.length, set.size());
+        for (long value : values) assertTrue(set.contains(value));
+        long[] sorted = set.toArray();
+        Arrays.sort(sorted);
+        long[] expected = values.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, sorted);
+        assertTrue(set.remove(0L));
+        assertFalse(set.contains(0L));
+        assertFalse(set.remove(0L));
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(Long.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> new LinearScanLongSet(0));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Probing.class)
+    @DisplayName("Random operations should agree with HashSet")
+    void testAgainstHashSet(Probing probing) {
+        var set = new LinearScanLongSet(2, probing);
+        Set<Long> expected = new HashSet<>();
+        var random = new Random(31);
+        for (int step = 0; step < 50_000; step++) {
+            //a small range, for long clusters and many removals inside them
+            long value = random.nextInt(2_000) - 1_000L;
+            switch (random.nextInt(3)) {
+                case 0, 1 -> assertEquals(expected.add(value), set.add(value));
+                default -> assertEquals(expected.remove(value), set.remove(value));
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        for (long value = -1_000; value < 1_000; value++) {
+            assertEquals(expected.contains(value), set.contains(value), "value " + value);
+        }
+        Set<Long> actual = new HashSet<>();
+        set.forEach(actual::add);
+        assertEquals(expected, actual);
+        assertEquals(probing, set.probing());
+    }
+
+    @ParameterizedTest
+    @EnumSource(Probing.class)
+    @DisplayName("Removals should keep the keys reachable past the freed slot, without tombstones")
+    void testBackwardShift(Probing probing) {
+        var set = new LinearScanLongSet(64, probing);
+        //the keys of the same home slot, found by search
+        int home = AbstractPrimitiveProbingTable.hash(0) % 64;
+        long[] colliding = new long[8];
+        int count = 0;
+        for (long key = 0; count < colliding.length; key++) {
+            if (AbstractPrimitiveProbingTable.hash(key) % 64 == home) colliding[count++] = key;
+        }
+        for (long key : colliding) set.add(key);
+        assertTrue(set.remove(colliding[0]));
+        assertTrue(set.remove(colliding[3]));
+        for (int i = 0; i < colliding.length; i++) {
+            assertEquals(i != 0 && i != 3, set.contains(colliding[i]));
+        }
+        //the cluster is compacted back to its home slot
+        for (int i = 0; i < 6; i++) assertTrue(set.isOccupied((home + i) % 64));
+        assertFalse(set.isOccupied((home + 6) % 64));
+    }
+}
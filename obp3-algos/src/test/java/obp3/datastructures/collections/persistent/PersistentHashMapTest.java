@@ -0,0 +1,163 @@
+package obp3.datastructures.collections.persistent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PersistentHashMap: Map compliance, persistence of the old versions and hash collisions.
+ */
+@DisplayName("PersistentHashMap Tests")
+class PersistentHashMapTest {
+
+    /** A key whose hash is chosen, to force collisions and deep tries. */
+    record Key(int hash, String name) {
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    @Test
+    @DisplayName("plus() should return a new version and keep the old one")
+    void testPlusIsPersistent() {
+        PersistentHashMap<String, Integer> empty = PersistentHashMap.empty();
+        var one = empty.plus("a", 1);
+        var two = one.plus("b", 2);
+        var updated = two.plus("a", 10);
+
+        assertTrue(empty.isEmpty());
+        assertEquals(Map.of("a", 1), one);
+        assertEquals(Map.of("a", 1, "b", 2), two);
+        assertEquals(Map.of("a", 10, "b", 2), updated);
+        assertEquals(2, updated.size());
+    }
+
+    @Test
+    @DisplayName("plus() of the same binding and minus() of an absent key should return the same map")
+    void testNoChangeReturnsSameMap() {
+        var map = PersistentHashMap.<String, Integer>empty().plus("a", 1);
+        assertSame(map, map.plus("a", 1));
+        assertSame(map, map.minus("b"));
+        assertSame(map, PersistentHashMap.copyOf(map));
+    }
+
+    @Test
+    @DisplayName("minus() should remove the key and keep the old version")
+    void testMinus() {
+        var map = PersistentHashMap.<String, Integer>empty().plus("a", 1).plus("b", 2);
+        var removed = map.minus("a");
+        assertEquals(Map.of("b", 2), removed);
+        assertEquals(Map.of("a", 1, "b", 2), map);
+        assertTrue(removed.minus("b").isEmpty());
+    }
+
+    @Test
+    @DisplayName("null values are supported, null keys are rejected")
+    void testNulls() {
+        var map = PersistentHashMap.<String, Integer>empty().plus("a", null);
+        assertTrue(map.containsKey("a"));
+        assertNull(map.get("a"));
+        assertEquals(5, map.getOrDefault("b", 5));
+        assertThrows(NullPointerException.class, () -> map.plus(null, 1));
+        assertFalse(map.containsKey(null));
+    }
+
+    @Test
+    @DisplayName("keys with the same hash should share a collision node")
+    void testCollisions() {
+        PersistentHashMap<Key, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 10; i++) {
+            map = map.plus(new Key(42, "k" + i), i);
+        }
+        //a key with another hash reaching the collision node
+        map = map.plus(new Key(42 + (1 << 20), "other"), -1);
+        assertEquals(11, map.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, map.get(new Key(42, "k" + i)));
+        }
+        assertEquals(-1, map.get(new Key(42 + (1 << 20), "other")));
+        assertNull(map.get(new Key(42, "absent")));
+        for (int i = 0; i < 10; i++) {
+            map = map.minus(new Key(42, "k" + i));
+        }
+        assertEquals(Map.of(new Key(42 + (1 << 20), "other"), -1), map);
+    }
+
+    @Test
+    @DisplayName("the map should behave as a HashMap under random updates")
+    void testAgainstHashMap() {
+        var random = new Random(7);
+        Map<Key, Integer> reference = new HashMap<>();
+        PersistentHashMap<Key, Integer> map = PersistentHashMap.empty();
+        List<PersistentHashMap<Key, Integer>> versions = new ArrayList<>();
+        List<Map<Key, Integer>> snapshots = new ArrayList<>();
+        for (int step = 0; step < 20_000; step++) {
+            //few hash values in the high bits and the low bits, to exercise splits and collisions
+            int hash = random.nextInt(64) << random.nextInt(28) | random.nextInt(4);
+            var key = new Key(hash, "k" + random.nextInt(3));
+            if (random.nextInt(3) == 0) {
+                reference.remove(key);
+                map = map.minus(key);
+            } else {
+                reference.put(key, step);
+                map = map.plus(key, step);
+            }
+            assertEquals(reference.size(), map.size());
+            if (step % 2_000 == 0) {
+                versions.add(map);
+                snapshots.add(new HashMap<>(reference));
+            }
+        }
+        assertEquals(reference, map);
+        assertEquals(map, reference);
+        assertEquals(reference.hashCode(), map.hashCode());
+        for (var key : reference.keySet()) {
+            assertEquals(reference.get(key), map.get(key));
+        }
+        Map<Key, Integer> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertEquals(reference, iterated);
+        for (int i = 0; i < versions.size(); i++) {
+            assertEquals(snapshots.get(i), versions.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Map mutators should throw")
+    void testMutatorsThrow() {
+        var map = PersistentHashMap.<String, Integer>empty().plus("a", 1);
+        assertThrows(UnsupportedOperationException.class, () -> map.put("b", 2));
+        assertThrows(UnsupportedOperationException.class, () -> map.remove("a"));
+        assertThrows(UnsupportedOperationException.class, () -> map.entrySet().iterator().next().setValue(3));
+    }
+
+    @Test
+    @DisplayName("equal maps shared between threads should stay equal while their hash codes are cached")
+    void testEqualsAcrossThreads() throws Exception {
+        PersistentHashMap<Integer, Integer> a = PersistentHashMap.empty();
+        PersistentHashMap<Integer, Integer> b = PersistentHashMap.empty();
+        for (int i = 0; i < 1000; i++) {
+            a = a.plus(i, i);
+            b = b.plus(999 - i, 999 - i);
+        }
+        var left = a;
+        var right = b;
+        try (var executor = Executors.newFixedThreadPool(4)) {
+            var results = new ArrayList<Future<Boolean>>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> left.hashCode() == right.hashCode() && left.equals(right)));
+            }
+            for (var result : results) assertTrue(result.get());
+        }
+        //a hash code of 0 is not taken for "not computed yet"
+        var zero = PersistentHashMap.<Key, Integer>empty().plus(new Key(0, "z"), 0);
+        assertEquals(0, zero.hashCode());
+        assertEquals(Map.of(new Key(0, "z"), 0), zero);
+    }
+}
@@ -0,0 +1,58 @@
+package obp3.datastructures.collections.persistent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PersistentHashSet Tests")
+class PersistentHashSetTest {
+
+    @Test
+    @DisplayName("plus() and minus() should return new versions and keep the old ones")
+    void testPersistence() {
+        PersistentHashSet<String> empty = PersistentHashSet.empty();
+        var ab = empty.plus("a").plus("b");
+        var b = ab.minus("a");
+        assertEquals(Set.of(), empty);
+        assertEquals(Set.of("a", "b"), ab);
+        assertEquals(Set.of("b"), b);
+        assertSame(ab, ab.plus("a"));
+        assertSame(b, b.minus("a"));
+    }
+
+    @Test
+    @DisplayName("union() should share the larger set")
+    void testUnion() {
+        var large = PersistentHashSet.copyOf(List.of(1, 2, 3, 4));
+        var small = PersistentHashSet.copyOf(List.of(4, 5));
+        assertEquals(Set.of(1, 2, 3, 4, 5), small.union(large));
+        assertEquals(Set.of(1, 2, 3, 4, 5), large.union(small));
+        assertSame(large, large.union(Set.of(1, 2)));
+        assertSame(large, PersistentHashSet.copyOf(Set.of(3)).union(large));
+    }
+
+    @Test
+    @DisplayName("the set should behave as a HashSet")
+    void testAgainstHashSet() {
+        var random = new Random(3);
+        Set<Integer> reference = new HashSet<>();
+        PersistentHashSet<Integer> set = PersistentHashSet.empty();
+        for (int i = 0; i < 5_000; i++) {
+            int element = random.nextInt(1_000);
+            if (random.nextBoolean()) {
+                reference.add(element);
+                set = set.plus(element);
+            } else {
+                reference.remove(element);
+                set = set.minus(element);
+            }
+        }
+        assertEquals(reference, set);
+        assertEquals(reference.hashCode(), set.hashCode());
+        assertEquals(reference, new HashSet<>(set));
+        assertThrows(UnsupportedOperationException.class, () -> PersistentHashSet.<Integer>empty().add(1));
+    }
+}
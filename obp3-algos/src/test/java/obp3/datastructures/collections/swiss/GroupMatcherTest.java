@@ -0,0 +1,61 @@
+package obp3.datastructures.collections.swiss;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GroupMatcher Tests")
+class GroupMatcherTest {
+
+    /** The control bytes a table can hold: EMPTY, DELETED and the fingerprints. */
+    static byte randomControl(Random random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> AbstractSwissTable.EMPTY;
+            case 1 -> AbstractSwissTable.DELETED;
+            default -> (byte) random.nextInt(128);
+        };
+    }
+
+    static int naive(byte[] control, int offset, java.util.function.IntPredicate predicate) {
+        int mask = 0;
+        for (int i = 0; i < GroupMatcher.GROUP_SIZE; i++) {
+            if (predicate.test(control[offset + i])) mask |= 1 << i;
+        }
+        return mask;
+    }
+
+    @Test
+    @DisplayName("the scalar and the selected matchers should agree with a byte-by-byte comparison")
+    void testAgainstNaive() {
+        var random = new Random(17);
+        for (var matcher : List.of(new ScalarGroupMatcher(), GroupMatcher.best())) {
+            for (int round = 0; round < 10_000; round++) {
+                byte[] control = new byte[64];
+                for (int i = 0; i < control.length; i++) control[i] = randomControl(random);
+                int offset = 16 * random.nextInt(4);
+                byte fingerprint = (byte) random.nextInt(128);
+                control[offset + random.nextInt(16)] = fingerprint;
+                assertEquals(naive(control, offset, b -> b == fingerprint), matcher.match(control, offset, fingerprint));
+                assertEquals(naive(control, offset, b -> b == AbstractSwissTable.EMPTY), matcher.matchEmpty(control, offset));
+                assertEquals(naive(control, offset, b -> b < 0), matcher.matchAvailable(control, offset));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("the fingerprint 0 should not match the EMPTY and DELETED bytes")
+    void testZeroFingerprint() {
+        byte[] control = new byte[16];
+        java.util.Arrays.fill(control, AbstractSwissTable.EMPTY);
+        control[3] = 0;
+        control[9] = AbstractSwissTable.DELETED;
+        var matcher = new ScalarGroupMatcher();
+        assertEquals(1 << 3, matcher.match(control, 0, (byte) 0));
+        assertEquals(0xFFFF & ~(1 << 3) & ~(1 << 9), matcher.matchEmpty(control, 0));
+        assertEquals(0xFFFF & ~(1 << 3), matcher.matchAvailable(control, 0));
+    }
+}
@@ -0,0 +1,51 @@
+package obp3.datastructures.collections.swiss;
+
+import obp3.utils.Hashable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SwissHashMap Tests")
+class SwissHashMapTest {
+
+    @Test
+    @DisplayName("put(), get() and remove() should behave as a map")
+    void testBasics() {
+        var map = new SwissHashMap<String, Integer>(16);
+        assertNull(map.put("a", 1));
+        assertEquals(1, map.put("a", 2));
+        assertEquals(2, map.get("a"));
+        assertNull(map.put(null, null));
+        assertTrue(map.containsKey(null));
+        assertTrue(map.containsValue(null));
+        assertEquals(2, map.size());
+        assertNull(map.remove(null));
+        assertFalse(map.containsKey(null));
+        assertEquals(2, map.merge("a", 5, Integer::sum) - 5);
+        assertEquals(7, map.get("a"));
+    }
+
+    @Test
+    @DisplayName("Random operations should agree with HashMap")
+    void testAgainstHashMap() {
+        var map = new SwissHashMap<Integer, Integer>(16, Hashable.from(Integer::equals, i -> i % 100));
+        Map<Integer, Integer> expected = new HashMap<>();
+        var random = new Random(29);
+        for (int step = 0; step < 30_000; step++) {
+            int key = random.nextInt(2_000);
+            switch (random.nextInt(4)) {
+                case 0, 1 -> assertEquals(expected.put(key, step), map.put(key, step));
+                case 2 -> assertEquals(expected.get(key), map.get(key));
+                default -> assertEquals(expected.remove(key), map.remove(key));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.entrySet(), map.entrySet());
+        assertEquals(expected.keySet(), map.keySet());
+    }
+}
@@ -0,0 +1,117 @@
+package obp3.datastructures.collections.swiss;
+
+import obp3.utils.Hashable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SwissHashSet Tests")
+class SwissHashSetTest {
+
+    @Test
+    @DisplayName("New set should be empty, with a power of two capacity")
+    void testNewSet() {
+        var set = new SwissHashSet<String>(20);
+        assertTrue(set.isEmpty());
+        assertEquals(32, set.capacity());
+        assertEquals(16, new SwissHashSet<String>(1).capacity());
+        assertEquals(16, new SwissHashSet<String>(16).capacity());
+    }
+
+    @Test
+    @DisplayName("add(), contains() and get() should behave as a set")
+    void testBasics() {
+        var set = new SwissHashSet<String>(16);
+        assertTrue(set.add("a"));
+        assertFalse(set.add(new String("a")));
+        assertTrue(set.addIfAbsent("b"));
+        assertTrue(set.contains("a"));
+        assertFalse(set.contains("c"));
+        String canonical = "x";
+        set.add(canonical);
+        assertSame(canonical, set.get(new String("x")));
+        assertNull(set.get("y"));
+        assertTrue(set.add(null));
+        assertTrue(set.contains(null));
+        assertFalse(set.add(null));
+        assertEquals(4, set.size());
+        assertTrue(set.remove(null));
+        assertFalse(set.contains(null));
+        assertEquals(Set.of("a", "b", "x"), new HashSet<>(set));
+    }
+
+    @Test
+    @DisplayName("Random operations should agree with HashSet, with both matchers")
+    void testAgainstHashSet() {
+        for (var matcher : List.of(new ScalarGroupMatcher(), GroupMatcher.best())) {
+            //few distinct hashes: long probe sequences and many fingerprint matches
+            var set = new SwissHashSet<Integer>(16, Hashable.from(Integer::equals, i -> i % 200), matcher);
+            Set<Integer> expected = new HashSet<>();
+            var random = new Random(23);
+            for (int step = 0; step < 50_000; step++) {
+                int value = random.nextInt(3_000);
+                switch (random.nextInt(4)) {
+                    case 0, 1 -> assertEquals(expected.add(value), set.add(value));
+                    case 2 -> assertEquals(expected.contains(value), set.contains(value));
+                    default -> assertEquals(expected.remove(value), set.remove(value));
+                }
+                assertEquals(expected.size(), set.size());
+            }
+            for (int value = 0; value < 3_000; value++) {
+                assertEquals(expected.contains(value), set.contains(value), "value " + value);
+            }
+            assertEquals(expected, new HashSet<>(set));
+        }
+    }
+
+    @Test
+    @DisplayName("Churn should recycle the tombstones instead of growing")
+    void testTombstones() {
+        var set = new SwissHashSet<Integer>(64);
+        for (int round = 0; round < 1_000; round++) {
+            for (int i = 0; i < 20; i++) set.add(round * 20 + i);
+            for (int i = 0; i < 20; i++) assertTrue(set.remove(round * 20 + i));
+        }
+        assertTrue(set.isEmpty());
+        assertEquals(64, set.capacity());
+    }
+
+    @Test
+    @DisplayName("Growth should keep every element")
+    void testGrowth() {
+        var set = new SwissHashSet<Integer>(16);
+        for (int i = 0; i < 100_000; i++) assertTrue(set.add(i));
+        assertEquals(100_000, set.size());
+        assertTrue(set.capacity() >= 100_000 * 8 / 7);
+        for (int i = 0; i < 100_000; i++) assertTrue(set.contains(i));
+        assertFalse(set.contains(100_000));
+    }
+
+    @Test
+    @DisplayName("iterator() should yield each element once, and support remove()")
+    void testIterator() {
+        var set = new SwissHashSet<Integer>(16);
+        for (int i = 0; i < 100; i++) set.add(i);
+        Set<Integer> seen = new HashSet<>();
+        for (Iterator<Integer> it = set.iterator(); it.hasNext(); ) {
+            int value = it.next();
+            assertTrue(seen.add(value));
+            if (value % 2 == 0) it.remove();
+        }
+        assertEquals(100, seen.size());
+        assertEquals(50, set.size());
+        for (int i = 0; i < 100; i++) assertEquals(i % 2 == 1, set.contains(i));
+        assertTrue(set.retainAll(List.of(1, 3, 5)));
+        assertEquals(Set.of(1, 3, 5), new HashSet<>(set));
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.iterator().hasNext());
+    }
+}
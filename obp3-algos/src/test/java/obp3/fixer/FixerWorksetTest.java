@@ -0,0 +1,105 @@
+package obp3.fixer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Fixer workset strategies Tests")
+class FixerWorksetTest {
+
+    /// a chain of `count` cycles of `size` nodes, each cycle observing the next one
+    static List<Integer> successors(int node, int count, int size) {
+        int component = node / size;
+        int member = node % size;
+        var result = new ArrayList<Integer>();
+        result.add(component * size + (member + 1) % size);
+        if (member == 0 && component + 1 < count) {
+            result.add((component + 1) * size);
+        }
+        return result;
+    }
+
+    /// the set of the nodes reachable from a node
+    static BiFunction<Integer, Function<Integer, Set<Integer>>, Set<Integer>> reachable(int count, int size) {
+        return (node, request) -> {
+            var result = new HashSet<Integer>();
+            result.add(node);
+            for (var successor : successors(node, count, size)) {
+                result.addAll(request.apply(successor));
+            }
+            return result;
+        };
+    }
+
+    static final Lattice<Set<Integer>> SETS = new Lattice<>(Set.of(), Set::equals);
+
+    @ParameterizedTest
+    @EnumSource(Workset.Strategy.class)
+    @DisplayName("All the strategies compute the same least fixed point")
+    void testSameFixpoint(Workset.Strategy strategy) {
+        var fifo = new Fixer<>(reachable(20, 5), SETS, HashMap::new);
+        var other = new Fixer<>(reachable(20, 5), SETS, HashMap::new, strategy);
+        for (int node = 0; node < 100; node++) {
+            assertEquals(fifo.apply(node), other.apply(node), "node " + node);
+        }
+        assertEquals(Set.of(99, 95, 96, 97, 98), other.apply(99));
+        assertEquals(100, other.apply(0).size());
+    }
+
+    @Test
+    @DisplayName("The SCC priority stabilizes the inner cycles first and solves less")
+    void testSccPrioritySolvesLess() {
+        var fifo = new Fixer<>(reachable(50, 10), SETS, HashMap::new, Workset.Strategy.FIFO);
+        var scc = new Fixer<>(reachable(50, 10), SETS, HashMap::new, Workset.Strategy.SCC_PRIORITY);
+        assertEquals(fifo.apply(0), scc.apply(0));
+        assertTrue(scc.solveCount() < fifo.solveCount(), scc.solveCount() + " >= " + fifo.solveCount());
+    }
+
+    @Test
+    @DisplayName("The SCC priority workset keeps a node once")
+    void testSccWorksetDeduplicates() {
+        Map<Integer, Set<Integer>> children = new HashMap<>();
+        var workset = new SccPriorityWorkset<Integer>(children::get, HashMap::new);
+        workset.add(1);
+        workset.add(2);
+        workset.add(1);
+        assertEquals(2, workset.size());
+        assertEquals(1, workset.poll());
+        assertEquals(2, workset.poll());
+        assertTrue(workset.isEmpty());
+        assertNull(workset.poll());
+    }
+
+    @Test
+    @DisplayName("Components are solved children first")
+    void testSccWorksetOrder() {
+        //3 -> 2 -> 1, 1 <-> 0
+        Map<Integer, Set<Integer>> children = new HashMap<>(Map.of(
+                3, Set.of(2), 2, Set.of(1), 1, Set.of(0), 0, Set.of(1)));
+        var workset = new SccPriorityWorkset<Integer>(children::get, HashMap::new);
+        workset.add(3);
+        workset.add(2);
+        workset.add(0);
+        workset.add(1);
+        workset.dependenciesChanged(3);
+        var order = new ArrayList<Integer>();
+        while (!workset.isEmpty()) order.add(workset.poll());
+        assertEquals(List.of(0, 1, 2, 3), order);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Workset.Strategy.class)
+    @DisplayName("Identity maps are honored by the strategies")
+    void testIdentity(Workset.Strategy strategy) {
+        var fixer = new Fixer<Integer, Boolean>((n, request) -> n == 0 || request.apply(n - 1),
+                Lattice.BooleanLattice, IdentityHashMap::new, strategy);
+        assertTrue(fixer.apply(100));
+    }
+}
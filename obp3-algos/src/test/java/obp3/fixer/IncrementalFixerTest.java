@@ -0,0 +1,142 @@
+package obp3.fixer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IncrementalFixer Tests")
+class IncrementalFixerTest {
+    Map<Integer, List<Integer>> edges;
+
+    static final Lattice<Set<Integer>> SETS = new Lattice<>(Set.of(), Set::equals);
+
+    /// the set of the nodes reachable from a node in the current edges
+    BiFunction<Integer, Function<Integer, Set<Integer>>, Set<Integer>> reachable() {
+        return (node, request) -> {
+            var result = new HashSet<Integer>();
+            result.add(node);
+            for (var successor : edges.getOrDefault(node, List.of())) {
+                result.addAll(request.apply(successor));
+            }
+            return result;
+        };
+    }
+
+    @BeforeEach
+    void setUp() {
+        //two chains 0 -> 1 -> ... -> 9 and 10 -> 11 -> ... -> 19, with a cycle 5 <-> 6
+        edges = new HashMap<>();
+        for (int i = 0; i < 19; i++) {
+            if (i == 9) continue;
+            edges.computeIfAbsent(i, _ -> new ArrayList<>()).add(i + 1);
+        }
+        edges.get(6).add(5);
+    }
+
+    void assertFresh(IncrementalFixer<Integer, Set<Integer>> fixer) {
+        var fresh = new Fixer<>(reachable(), SETS, HashMap::new);
+        for (int node = 0; node < 20; node++) {
+            assertEquals(fresh.apply(node), fixer.apply(node), "node " + node);
+        }
+    }
+
+    @Test
+    @DisplayName("The cone follows the observers")
+    void testCone() {
+        var fixer = new IncrementalFixer<>(reachable(), SETS, HashMap::new);
+        fixer.apply(0);
+        fixer.apply(10);
+        assertEquals(Set.of(0, 1, 2, 3, 4, 5, 6), fixer.cone(List.of(6)));
+        assertEquals(Set.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), fixer.cone(List.of(9)));
+        assertEquals(Set.of(10), fixer.cone(List.of(10)));
+    }
+
+    @Test
+    @DisplayName("Growing changes are propagated from the current values")
+    void testUpdate() {
+        var fixer = new IncrementalFixer<>(reachable(), SETS, HashMap::new);
+        fixer.apply(0);
+        fixer.apply(10);
+        long before = fixer.solveCount();
+
+        edges.computeIfAbsent(9, _ -> new ArrayList<>()).add(15);
+        fixer.update(List.of(9));
+        long updateSolves = fixer.solveCount() - before;
+        //9 and its 9 observers, the other chain is reused
+        assertTrue(updateSolves <= 12, "solved " + updateSolves);
+        assertTrue(fixer.fixedNodes().contains(10));
+        assertEquals(Set.of(9, 15, 16, 17, 18, 19), fixer.apply(9));
+        assertFresh(fixer);
+    }
+
+    @Test
+    @DisplayName("Unchanged values stop the propagation")
+    void testUpdateCutoff() {
+        var fixer = new IncrementalFixer<>(reachable(), SETS, HashMap::new);
+        fixer.apply(0);
+        long before = fixer.solveCount();
+        //a redundant edge, 3 already reaches 7
+        edges.get(3).add(7);
+        fixer.update(List.of(3));
+        assertEquals(1, fixer.solveCount() - before);
+        assertFresh(fixer);
+    }
+
+    @Test
+    @DisplayName("Arbitrary changes invalidate the cone only")
+    void testInvalidate() {
+        var fixer = new IncrementalFixer<>(reachable(), SETS, HashMap::new);
+        fixer.apply(0);
+        fixer.apply(10);
+        edges.get(4).clear();
+        var cone = fixer.invalidate(List.of(4));
+        assertEquals(Set.of(0, 1, 2, 3, 4), cone);
+        assertFalse(fixer.fixedNodes().contains(2));
+        assertTrue(fixer.fixedNodes().contains(5));
+        assertEquals(Set.of(4), fixer.apply(4));
+        assertEquals(Set.of(0, 1, 2, 3, 4), fixer.apply(0));
+        assertFresh(fixer);
+
+        //and back
+        edges.get(4).add(5);
+        fixer.invalidate(List.of(4));
+        assertFresh(fixer);
+    }
+
+    @Test
+    @DisplayName("Dependencies on maximal and fixed nodes are recorded")
+    void testBooleanCone() {
+        var flags = new boolean[]{true, false, false};
+        var fixer = new IncrementalFixer<Integer, Boolean>((n, request) -> flags[n] || (n < 2 && request.apply(n + 1)),
+                Lattice.BooleanLattice, HashMap::new);
+        assertTrue(fixer.apply(0));
+        assertFalse(fixer.apply(1));
+        flags[0] = false;
+        flags[2] = true;
+        fixer.invalidate(List.of(0));
+        fixer.update(List.of(2));
+        assertTrue(fixer.apply(1));
+        assertTrue(fixer.apply(0));
+        flags[2] = false;
+        fixer.invalidate(List.of(2));
+        assertFalse(fixer.apply(0));
+    }
+
+    @Test
+    @DisplayName("Changes are refused during a resolution")
+    void testReentrantChange() {
+        var holder = new ArrayList<IncrementalFixer<Integer, Boolean>>();
+        var fixer = new IncrementalFixer<Integer, Boolean>((n, request) -> {
+            holder.getFirst().invalidate(List.of(n));
+            return true;
+        }, Lattice.BooleanLattice);
+        holder.add(fixer);
+        assertThrows(IllegalStateException.class, () -> fixer.apply(1));
+    }
+}
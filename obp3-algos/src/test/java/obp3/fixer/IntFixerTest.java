@@ -0,0 +1,108 @@
+package obp3.fixer;
+
+import obp3.things.generators.ErdosRenyiRootedGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IntFixer Tests")
+class IntFixerTest {
+
+    static int[][] successors(ErdosRenyiRootedGraph graph, int size) {
+        var result = new int[size][];
+        for (int vertex = 0; vertex < size; vertex++) {
+            var targets = new ArrayList<Long>();
+            graph.neighbours((long) vertex).forEachRemaining(targets::add);
+            result[vertex] = targets.stream().mapToInt(Long::intValue).toArray();
+        }
+        return result;
+    }
+
+    @Test
+    @DisplayName("Set-valued fixpoints agree with Fixer")
+    void testSetsAgreeWithFixer() {
+        int size = 400;
+        var edges = successors(new ErdosRenyiRootedGraph(size, 1.5, 2), size);
+        Lattice<Set<Integer>> lattice = new Lattice<>(Set.of(), Set::equals);
+        var fixer = new Fixer<Integer, Set<Integer>>((node, request) -> {
+            var result = new HashSet<Integer>(Set.of(node));
+            for (int successor : edges[node]) result.addAll(request.apply(successor));
+            return result;
+        }, lattice, HashMap::new);
+        var intFixer = new IntFixer<Set<Integer>>(size, (node, request) -> {
+            var result = new HashSet<Integer>(Set.of(node));
+            for (int successor : edges[node]) result.addAll(request.apply(successor));
+            return result;
+        }, lattice);
+        for (int node = 0; node < size; node++) {
+            assertEquals(fixer.apply(node), intFixer.apply(node), "node " + node);
+            assertTrue(intFixer.isFixed(node));
+        }
+    }
+
+    @Test
+    @DisplayName("Shortest distances on a cycle, with stale edges compacted")
+    void testDistances() {
+        //distance to 0 on the cycle i -> i+1 mod n, in a lattice of decreasing ints
+        int size = 5_000;
+        Lattice<Integer> lattice = new Lattice<>(Integer.MAX_VALUE, 0, Integer::equals);
+        var fixer = new IntFixer<Integer>(size, (node, request) -> {
+            if (node == 0) return 0;
+            int next = request.apply((node + 1) % size);
+            return next == Integer.MAX_VALUE ? next : next + 1;
+        }, lattice);
+        assertEquals(size - 1, fixer.apply(1));
+        assertEquals(0, fixer.apply(0));
+        assertEquals(1, fixer.apply(size - 1));
+    }
+
+    @Test
+    @DisplayName("The boolean bitset variant agrees with Fixer")
+    void testBooleanAgreesWithFixer() {
+        int size = 50_000;
+        var edges = successors(new ErdosRenyiRootedGraph(size, 1.1, 8), size);
+        var fixer = new Fixer<Integer, Boolean>((node, request) -> {
+            if (node % 101 == 0) return true;
+            for (int successor : edges[node]) if (request.apply(successor)) return true;
+            return false;
+        }, Lattice.BooleanLattice, HashMap::new);
+        var bitFixer = new IntBooleanFixer(size, (node, request) -> {
+            if (node % 101 == 0) return true;
+            for (int successor : edges[node]) if (request.test(successor)) return true;
+            return false;
+        });
+        for (int node = 0; node < size; node += 13) {
+            assertEquals(fixer.apply(node), bitFixer.apply(node), "node " + node);
+        }
+    }
+
+    @Test
+    @DisplayName("Millions of boolean variables")
+    void testMillions() {
+        int size = 2_000_000;
+        //i depends on i+1 and on 2i, only the last one is true
+        var fixer = new IntBooleanFixer(size, (node, request) ->
+                node == size - 1 || request.test(node + 1) || (2L * node < size && request.test(2 * node)));
+        assertTrue(fixer.apply(0));
+        assertTrue(fixer.isFixed(size / 2));
+    }
+
+    @Test
+    @DisplayName("A failing right-hand side rolls the run back")
+    void testRollback() {
+        var fail = new boolean[]{true};
+        var fixer = new IntBooleanFixer(10, (node, request) -> {
+            if (node == 5 && fail[0]) throw new IllegalStateException("boom");
+            return node == 9 || request.test(node + 1);
+        });
+        assertTrue(fixer.apply(7));
+        assertThrows(IllegalStateException.class, () -> fixer.apply(0));
+        assertFalse(fixer.isFixed(0));
+        assertTrue(fixer.isFixed(7));
+        fail[0] = false;
+        assertTrue(fixer.apply(0));
+    }
+}
@@ -0,0 +1,122 @@
+package obp3.fixer;
+
+import obp3.things.generators.ErdosRenyiRootedGraph;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ParallelFixer Tests")
+class ParallelFixerTest {
+    ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    static List<Long> successors(ErdosRenyiRootedGraph graph, long vertex) {
+        var result = new ArrayList<Long>();
+        graph.neighbours(vertex).forEachRemaining(result::add);
+        return result;
+    }
+
+    /// can the vertex reach a multiple of 97 ?
+    static BiFunction<Long, Function<Long, Boolean>, Boolean> reachesTarget(ErdosRenyiRootedGraph graph) {
+        return (vertex, request) -> {
+            if (vertex % 97 == 0) return true;
+            for (var successor : successors(graph, vertex)) {
+                if (request.apply(successor)) return true;
+            }
+            return false;
+        };
+    }
+
+    /// the set of vertices reachable from the vertex, a lattice without top
+    static BiFunction<Long, Function<Long, Set<Long>>, Set<Long>> reachable(ErdosRenyiRootedGraph graph) {
+        return (vertex, request) -> {
+            var result = new HashSet<Long>();
+            result.add(vertex);
+            for (var successor : successors(graph, vertex)) {
+                result.addAll(request.apply(successor));
+            }
+            return result;
+        };
+    }
+
+    @Test
+    @DisplayName("Boolean reachability agrees with the sequential Fixer")
+    void testBooleanAgreesWithFixer() {
+        var graph = new ErdosRenyiRootedGraph(20_000, 1.2, 5);
+        var sequential = new Fixer<>(reachesTarget(graph), Lattice.BooleanLattice, HashMap::new);
+        var parallel = new ParallelFixer<>(reachesTarget(graph), Lattice.BooleanLattice, pool, 2);
+        for (long vertex = 0; vertex < 20_000; vertex += 7) {
+            assertEquals(sequential.apply(vertex), parallel.apply(vertex), "vertex " + vertex);
+        }
+    }
+
+    @Test
+    @DisplayName("Set-valued fixpoints over cycles agree with the sequential Fixer")
+    void testSetsAgreeWithFixer() {
+        var graph = new ErdosRenyiRootedGraph(300, 1.5, 9);
+        Lattice<Set<Long>> lattice = new Lattice<>(Set.of(), Set::equals);
+        var sequential = new Fixer<>(reachable(graph), lattice, HashMap::new);
+        var parallel = new ParallelFixer<>(reachable(graph), lattice, pool, 2);
+        for (long vertex = 0; vertex < 300; vertex++) {
+            assertEquals(sequential.apply(vertex), parallel.apply(vertex), "vertex " + vertex);
+        }
+        assertTrue(parallel.rounds() > 0);
+    }
+
+    @Test
+    @DisplayName("Concurrent external callers get the same answers")
+    void testConcurrentCallers() {
+        var graph = new ErdosRenyiRootedGraph(5_000, 1.1, 3);
+        var sequential = new Fixer<>(reachesTarget(graph), Lattice.BooleanLattice, HashMap::new);
+        var parallel = new ParallelFixer<>(reachesTarget(graph), Lattice.BooleanLattice, pool, 2);
+        var answers = java.util.stream.LongStream.range(0, 5_000).parallel()
+                .boxed()
+                .collect(java.util.stream.Collectors.toConcurrentMap(v -> v, parallel));
+        for (long vertex = 0; vertex < 5_000; vertex++) {
+            assertEquals(sequential.apply(vertex), answers.get(vertex), "vertex " + vertex);
+        }
+    }
+
+    @Test
+    @DisplayName("A fixed value is memoized")
+    void testMemoization() {
+        var calls = new int[]{0};
+        var fixer = new ParallelFixer<Integer, Boolean>((n, request) -> {
+            synchronized (calls) { calls[0]++; }
+            return n == 0 || request.apply(n - 1);
+        }, Lattice.BooleanLattice, pool, 2);
+        assertTrue(fixer.apply(10));
+        int after = calls[0];
+        assertTrue(fixer.apply(10));
+        assertTrue(fixer.apply(5));
+        assertEquals(after, calls[0]);
+    }
+
+    @Test
+    @DisplayName("An exception in a right-hand side leaves the fixer usable")
+    void testException() {
+        var fixer = new ParallelFixer<Integer, Boolean>((n, request) -> {
+            if (n == 3) throw new IllegalStateException("boom");
+            return n == 0 || request.apply(n - 1);
+        }, Lattice.BooleanLattice, pool, 2);
+        assertThrows(RuntimeException.class, () -> fixer.apply(5));
+        assertTrue(fixer.apply(2));
+    }
+}
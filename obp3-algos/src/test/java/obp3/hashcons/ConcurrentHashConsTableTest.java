@@ -0,0 +1,96 @@
+package obp3.hashcons;
+
+import obp3.utils.Hashable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConcurrentHashConsTable Tests")
+class ConcurrentHashConsTableTest {
+
+    @Test
+    @DisplayName("equal values should share one node with a unique tag")
+    void testUniqueness() {
+        var table = new ConcurrentHashConsTable<String>(Hashable.standard(), StringNode::new, 8);
+        var a = table.hashCons("a");
+        assertSame(a, table.hashCons(new String("a")));
+        assertNotEquals(a.tag(), table.hashCons("b").tag());
+        assertEquals("a".hashCode(), a.hashKey());
+        assertEquals(2, table.size());
+        assertEquals(8, table.shardCount());
+    }
+
+    @Test
+    @DisplayName("the shard count should be rounded up to a power of two")
+    void testShardCount() {
+        assertEquals(1, new ConcurrentHashConsTable<String>(Hashable.standard(), StringNode::new, 1).shardCount());
+        assertEquals(16, new ConcurrentHashConsTable<String>(Hashable.standard(), StringNode::new, 9).shardCount());
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentHashConsTable<String>(Hashable.standard(), StringNode::new, 0));
+        var single = new ConcurrentHashConsTable<String>(Hashable.standard(), StringNode::new, 1);
+        assertSame(single.hashCons("x"), single.hashCons("x"));
+    }
+
+    @Test
+    @DisplayName("threads hash-consing the same values should get the same nodes")
+    void testConcurrentUniqueness() throws Exception {
+        var table = new ConcurrentHashConsTable<String>(Hashable.standard(), StringNode::new, 4);
+        int threads = 8;
+        int values = 1 << 14;
+        var executor = Executors.newFixedThreadPool(threads);
+        var start = new CountDownLatch(1);
+        try {
+            List<Future<HashConsed<String>[]>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    @SuppressWarnings("unchecked")
+                    HashConsed<String>[] nodes = new HashConsed[values];
+                    //each thread in its own order (an odd multiplier permutes a power of two), to interleave the insertions
+                    for (int i = 0; i < values; i++) {
+                        int value = (i * (2 * offset + 1)) % values;
+                        nodes[value] = table.hashCons("v" + value);
+                    }
+                    return nodes;
+                }));
+            }
+            start.countDown();
+            var first = results.getFirst().get();
+            for (var result : results) {
+                var nodes = result.get();
+                for (int i = 0; i < values; i++) {
+                    assertSame(first[i], nodes[i]);
+                }
+            }
+            Set<Integer> tags = new HashSet<>();
+            for (var node : first) tags.add(node.tag());
+            assertEquals(values, tags.size());
+            assertEquals(values, table.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("a weak table should share the live nodes, and reclaim the unreachable ones")
+    void testWeakShards() throws InterruptedException {
+        var table = ConcurrentHashConsTable.weak(Hashable.standard(), StringNode::new);
+        var kept = table.hashCons("kept");
+        Set<Integer> tags = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(tags.add(table.hashCons("v" + i).tag()));
+        }
+        assertFalse(tags.contains(kept.tag()));
+        //the shards expunge their reclaimed entries on insertion
+        int[] probe = {0};
+        assertTrue(WeakHashConsTableTest.collectUntil(() -> {
+            for (int i = 0; i < 64; i++) table.hashCons("p" + probe[0]++);
+            return table.size() < 500;
+        }), "size: " + table.size());
+        assertSame(kept, table.hashCons(new String("kept")));
+    }
+}
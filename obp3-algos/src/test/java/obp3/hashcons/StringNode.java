@@ -0,0 +1,9 @@
+package obp3.hashcons;
+
+/** The hash-consed node of a string, the fixture of the hash-consing table tests. */
+record StringNode(String value, int tag, int hashKey) implements HashConsed<String> {
+    @Override
+    public String node() {
+        return value;
+    }
+}
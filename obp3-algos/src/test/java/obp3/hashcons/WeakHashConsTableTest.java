@@ -0,0 +1,94 @@
+package obp3.hashcons;
+
+import obp3.utils.Hashable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WeakHashConsTable Tests")
+class WeakHashConsTableTest {
+
+    /** Runs the garbage collector until the condition holds, or gives up after a few seconds. */
+    static boolean collectUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            System.gc();
+            if (condition.getAsBoolean()) return true;
+            Thread.sleep(10);
+        }
+        return condition.getAsBoolean();
+    }
+
+    @Test
+    @DisplayName("equal values should share one node while it is alive")
+    void testUniqueness() {
+        var table = new WeakHashConsTable<String>(Hashable.standard(), StringNode::new);
+        var a = table.hashCons("a");
+        assertSame(a, table.hashCons(new String("a")));
+        assertNotEquals(a.tag(), table.hashCons("b").tag());
+        assertEquals("a".hashCode(), a.hashKey());
+        assertSame(a, table.hashCons((String) a.node()));
+    }
+
+    @Test
+    @DisplayName("the nodes should stay unique across resizes")
+    void testResize() {
+        var table = new WeakHashConsTable<String>(Hashable.standard(), StringNode::new, 1);
+        List<HashConsed<String>> nodes = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            nodes.add(table.hashCons("v" + i));
+        }
+        Set<Integer> tags = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            assertSame(nodes.get(i), table.hashCons("v" + i));
+            tags.add(nodes.get(i).tag());
+        }
+        assertEquals(1000, tags.size());
+        assertEquals(1000, table.liveCount());
+        assertThrows(IllegalArgumentException.class, () -> new WeakHashConsTable<String>(Hashable.standard(), StringNode::new, 0));
+    }
+
+    @Test
+    @DisplayName("the unreachable nodes should be reclaimed, the reachable ones kept")
+    void testReclamation() throws InterruptedException {
+        var table = new WeakHashConsTable<String>(Hashable.standard(), StringNode::new);
+        List<HashConsed<String>> kept = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            var node = table.hashCons("v" + i);
+            if (i % 2 == 0) kept.add(node);
+        }
+        //the cleared entries are enqueued asynchronously, wait for the expunged count
+        assertTrue(collectUntil(() -> table.deadCount() == 1000), "dead: " + table.deadCount());
+        assertEquals(kept.size(), table.liveCount());
+        assertEquals(1000, table.size());
+        for (var node : kept) {
+            assertSame(node, table.hashCons(node.node()));
+        }
+        //a reclaimed value gets a fresh node
+        var fresh = table.hashCons("v1");
+        assertTrue(kept.stream().noneMatch(node -> node.tag() == fresh.tag()));
+        assertEquals(1001, table.liveCount());
+    }
+
+    @Test
+    @DisplayName("the insertions should expunge the reclaimed entries, keeping the table bounded")
+    void testBoundedSize() throws InterruptedException {
+        var table = new WeakHashConsTable<String>(Hashable.standard(), StringNode::new);
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 1000; i++) {
+                table.hashCons("r" + round + "v" + i);
+            }
+            long dead = (round + 1) * 1000L;
+            assertTrue(collectUntil(() -> table.deadCount() == dead));
+        }
+        assertEquals(0, table.size());
+        assertEquals(10_000, table.deadCount());
+    }
+}
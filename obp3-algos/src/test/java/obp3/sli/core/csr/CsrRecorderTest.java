@@ -0,0 +1,103 @@
+package obp3.sli.core.csr;
+
+import obp3.modelchecking.buchi.ndfs.gs09.EmptinessCheckerBuchiGS09;
+import obp3.runtime.sli.IRootedGraph;
+import obp3.things.DictionaryRootedGraph;
+import obp3.things.generators.GridRootedGraph;
+import obp3.things.generators.PlantedCycleRootedGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CSR recording Tests")
+class CsrRecorderTest {
+    @TempDir
+    Path directory;
+
+    static <T> List<T> list(Iterator<T> iterator) {
+        var result = new ArrayList<T>();
+        iterator.forEachRemaining(result::add);
+        return result;
+    }
+
+    /// the recorded graph maps back to the original one, vertex by vertex
+    static <V> void assertSameGraph(IRootedGraph<V> original, CsrRecorder.CsrRecording<V> recording) {
+        var csr = recording.graph();
+        var vertices = recording.vertices();
+        assertEquals(list(original.roots()), list(csr.roots()).stream().map(vertices::get).toList());
+        for (int id = 0; id < csr.vertexCount(); id++) {
+            var expected = list(original.neighbours(vertices.get(id)));
+            var actual = list(csr.neighbours(id)).stream().map(vertices::get).toList();
+            assertEquals(expected, actual);
+            assertEquals(expected.size(), csr.degree(id));
+        }
+    }
+
+    @Test
+    @DisplayName("A dictionary graph is recorded and reopened")
+    void testDictionary() throws IOException {
+        var graph = DictionaryRootedGraph.example1();
+        var file = directory.resolve("example1.csr");
+        var recording = new CsrRecorder<>(graph).record(file);
+        assertEquals(6, recording.graph().vertexCount());
+        assertEquals(10, recording.graph().edgeCount());
+        assertSameGraph(graph, recording);
+
+        var reopened = CsrRootedGraph.open(file);
+        assertEquals(recording.graph().edgeCount(), reopened.edgeCount());
+        assertEquals(list(recording.graph().neighbours(0)), list(reopened.neighbours(0)));
+    }
+
+    @Test
+    @DisplayName("Small segments are read across their boundaries")
+    void testSegments() throws IOException {
+        var graph = GridRootedGraph.torus(20, 30);
+        var file = directory.resolve("torus.csr");
+        var recording = new CsrRecorder<>(graph).record(file);
+        assertEquals(600, recording.graph().vertexCount());
+        assertEquals(2400, recording.graph().edgeCount());
+        var segmented = new CsrRootedGraph(file, 64);
+        assertSameGraph(graph, new CsrRecorder.CsrRecording<>(segmented, recording.vertices()));
+    }
+
+    @Test
+    @DisplayName("Analyses run on the recorded graph with labels")
+    void testBuchiOnRecording() throws IOException {
+        var graph = new PlantedCycleRootedGraph(30, 10, 2, 20, 4, 3);
+        var recording = new CsrRecorder<>(graph).record(directory.resolve("planted.csr"));
+        var accepting = recording.label(graph::isAccepting);
+        var answer = new EmptinessCheckerBuchiGS09<>(recording.graph(), accepting::get).runAlone();
+        assertFalse(answer.holds);
+        assertTrue(answer.trace.stream().map(recording.vertices()::get).anyMatch(graph::isAccepting));
+    }
+
+    @Test
+    @DisplayName("An interrupted recording keeps the unexpanded vertices as leaves")
+    void testTermination() throws IOException {
+        var graph = GridRootedGraph.torus(10, 10);
+        var budget = new int[]{5};
+        var recording = new CsrRecorder<>(graph).record(directory.resolve("partial.csr"), () -> budget[0]-- <= 0);
+        var csr = recording.graph();
+        assertTrue(csr.vertexCount() > 5);
+        assertEquals(4, csr.degree(4));
+        assertEquals(0, csr.degree(5));
+        assertEquals(20, csr.edgeCount());
+    }
+
+    @Test
+    @DisplayName("Other files are rejected")
+    void testNotCsr() throws IOException {
+        var file = directory.resolve("garbage.csr");
+        Files.writeString(file, "this is not a graph, just some words");
+        assertThrows(IOException.class, () -> CsrRootedGraph.open(file));
+    }
+}
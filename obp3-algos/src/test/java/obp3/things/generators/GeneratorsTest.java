@@ -0,0 +1,134 @@
+package obp3.things.generators;
+
+import obp3.modelchecking.buchi.ndfs.gs09.EmptinessCheckerBuchiGS09;
+import obp3.runtime.sli.IRootedGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Synthetic graph generators Tests")
+class GeneratorsTest {
+
+    static List<Long> neighbours(IRootedGraph<Long> graph, long vertex) {
+        var result = new ArrayList<Long>();
+        graph.neighbours(vertex).forEachRemaining(result::add);
+        return result;
+    }
+
+    static Set<Long> reachable(IRootedGraph<Long> graph) {
+        var known = new HashSet<Long>();
+        var frontier = new ArrayDeque<Long>();
+        graph.roots().forEachRemaining(frontier::add);
+        while (!frontier.isEmpty()) {
+            var vertex = frontier.poll();
+            if (known.add(vertex)) {
+                graph.neighbours(vertex).forEachRemaining(frontier::add);
+            }
+        }
+        return known;
+    }
+
+    @Test
+    @DisplayName("Neighbours are a pure function of the seed and the vertex")
+    void testDeterminism() {
+        var graphs = List.<IRootedGraph<Long>>of(
+                new ErdosRenyiRootedGraph(1_000_000_000L, 4, 42),
+                new LayeredDagRootedGraph(1_000, 1_000_000, 3, 42),
+                new ProtocolRootedGraph(15, 4, 42),
+                new PlantedCycleRootedGraph(1_000, 1_000_000, 3, 500, 10, 42));
+        for (var graph : graphs) {
+            for (long vertex : new long[]{0, 1, 123_456_789, 999_999_999}) {
+                assertEquals(neighbours(graph, vertex), neighbours(graph, vertex), graph.toString());
+            }
+        }
+        var a = new ErdosRenyiRootedGraph(1_000, 4, 1);
+        var b = new ErdosRenyiRootedGraph(1_000, 4, 1);
+        assertEquals(reachable(a), reachable(b));
+    }
+
+    @Test
+    @DisplayName("Erdős–Rényi successors stay in range with the expected mean degree")
+    void testErdosRenyi() {
+        var graph = new ErdosRenyiRootedGraph(1_000_000_000L, 4, 7);
+        long edges = 0;
+        for (long vertex = 0; vertex < 10_000; vertex++) {
+            for (long target : neighbours(graph, vertex * 99_991)) {
+                assertTrue(target >= 0 && target < 1_000_000_000L);
+                edges++;
+            }
+        }
+        assertEquals(4.0, edges / 10_000.0, 0.1);
+        assertTrue(neighbours(new ErdosRenyiRootedGraph(10, 0, 7), 3).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new ErdosRenyiRootedGraph(0, 1, 7));
+    }
+
+    @Test
+    @DisplayName("Grids and tori reach all their cells")
+    void testGrid() {
+        assertEquals(12, reachable(new GridRootedGraph(3, 4, false, true)).size());
+        assertEquals(12, reachable(GridRootedGraph.torus(3, 4)).size());
+        assertEquals(List.of(1L, 4L), neighbours(new GridRootedGraph(3, 4, false, true), 0));
+        assertTrue(neighbours(new GridRootedGraph(3, 4, false, true), 11).isEmpty());
+        assertEquals(List.of(9L, 0L, 11L, 4L), neighbours(GridRootedGraph.torus(3, 4), 8));
+        assertEquals(List.of(1L, 0L), neighbours(GridRootedGraph.torus(1, 2), 0));
+        assertFalse(new GridRootedGraph(3, 4, false, true).hasCycles());
+
+        long side = 31_623;
+        var big = new GridRootedGraph(side, side, true, true);
+        assertEquals(List.of((side - 1) * side, side - 1), neighbours(big, side * side - 1));
+        assertThrows(IllegalArgumentException.class, () -> new GridRootedGraph(1L << 32, 1L << 32, false, true));
+    }
+
+    @Test
+    @DisplayName("Layered DAGs go one layer down at each step")
+    void testLayeredDag() {
+        var dag = new LayeredDagRootedGraph(10, 100, 3, 5);
+        for (long vertex = 0; vertex < dag.size(); vertex++) {
+            var successors = neighbours(dag, vertex);
+            if (dag.layer(vertex) == 9) {
+                assertTrue(successors.isEmpty());
+                continue;
+            }
+            assertEquals(3, successors.size());
+            assertEquals(vertex + 100, successors.getFirst());
+            for (long target : successors) {
+                assertEquals(dag.layer(vertex) + 1, dag.layer(target));
+            }
+        }
+        assertTrue(reachable(dag).contains(dag.vertex(9, 0)));
+        assertThrows(IllegalArgumentException.class, () -> new LayeredDagRootedGraph(4, Long.MAX_VALUE / 2, 3, 5));
+    }
+
+    @Test
+    @DisplayName("The protocol keeps mutual exclusion")
+    void testProtocol() {
+        var protocol = new ProtocolRootedGraph(4, 4, 3);
+        var states = reachable(protocol);
+        assertTrue(states.size() > 1);
+        assertTrue(states.size() <= 256);
+        for (long state : states) {
+            assertTrue(protocol.criticalCount(state) <= 1);
+            assertTrue(state >= 0 && state < 256);
+        }
+        assertTrue(states.stream().anyMatch(s -> protocol.criticalCount(s) == 1));
+        assertThrows(IllegalArgumentException.class, () -> new ProtocolRootedGraph(64, 4, 3));
+        assertEquals(31, new ProtocolRootedGraph(31, 4, 3).processes);
+    }
+
+    @Test
+    @DisplayName("The planted accepting cycle is found, and only when planted")
+    void testPlantedCycle() {
+        var planted = new PlantedCycleRootedGraph(50, 20, 2, 30, 5, 11);
+        var answer = new EmptinessCheckerBuchiGS09<>(planted, planted::isAccepting).runAlone();
+        assertFalse(answer.holds);
+        assertTrue(answer.trace.size() > 30);
+        assertTrue(answer.trace.contains(planted.dag.size() + 4));
+
+        var empty = new PlantedCycleRootedGraph(new LayeredDagRootedGraph(50, 20, 2, 11), -1, 0, 0.1);
+        assertTrue(new EmptinessCheckerBuchiGS09<>(empty, empty::isAccepting).runAlone().holds);
+        assertTrue(reachable(empty).stream().anyMatch(empty::isAccepting));
+    }
+}
@@ -0,0 +1,117 @@
+package obp3.unification;
+
+import obp3.unification.syntax.App;
+import obp3.unification.syntax.Term;
+import obp3.unification.syntax.Var;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnionFindUnificatorTest {
+
+    static Var v(String name) { return new Var(name); }
+    static App a(String name, Term... args) { return new App(name, args); }
+
+    /// the acyclic constraint sets of UnificatorTest, and sets with variables only inside the structures
+    static Stream<Map<Term, Term>> acyclic() {
+        return Stream.of(
+                Map.of(v("X"), a("a")),
+                Map.of(v("X"), v("Y"), v("Y"), v("Z"), v("Z"), a("a")),
+                Map.of(v("X"), a("f", v("Y")), v("Y"), a("g", v("Z")), v("Z"), a("h", a("a"))),
+                Map.of(v("X"), a("f", v("Y"), v("Z")), v("Y"), a("g", a("a")), v("Z"), a("h", v("W")), v("W"), a("b")),
+                Map.of(v("X"), a("a"), v("Y"), a("b"), v("Z"), a("f", v("X"), v("Y"))),
+                Map.of(v("Y"), a("g", v("X")), v("X"), a("a")),
+                Map.of(v("Y"), a("f", v("X"), v("X")), v("X"), a("a")),
+                Map.of(v("X"), a("a"), v("Y"), a("b"), v("Z"), v("X")),
+                Map.of(a("f", v("X"), a("g", v("Y"))), a("f", a("a"), a("g", a("b")))),
+                Map.of(a("f", v("X"), v("Y"), v("Z")), a("f", a("a"), a("b"), a("c"))),
+                Map.of(a("f", v("X"), v("Y")), a("f", v("Y"), a("a"))),
+                Map.of(a("f", v("X"), v("X")), a("f", a("a"), a("a"))),
+                Map.of(a("f", v("X"), v("X")), a("f", a("a"), a("b"))),
+                Map.of(a("f", v("X"), v("Y")), a("g", a("a"), a("b"))),
+                Map.of(a("f", v("X"), v("Y")), a("f", a("a"))),
+                Map.of(v("X"), v("Y")),
+                Map.of(v("X"), a("f", v("Y")), v("Y"), v("Z")),
+                Map.of(v("X"), a("f", v("Y"))),
+                Map.of(v("X"), a("g", v("Y"), v("Z")), v("Z"), a("a")),
+                Map.of(v("X"), a("f", v("Y")), v("Z"), a("g", v("X"))),
+                Map.of(v("X"), a("f", v("Y"), v("Y")), v("Z"), v("X")),
+                Map.of(a("f", v("X")), a("f", a("g", v("Y")))),
+                Map.of(v("X"), a("f", a("h", v("W"), v("T"))), v("T"), a("b"))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("acyclic")
+    void sameAnswersAsUnificator(Map<Term, Term> constraints) {
+        var expected = new Unificator().solveTop(constraints);
+        var actual = UnionFindUnificator.solve(constraints);
+        for (String name : List.of("X", "Y", "Z", "W", "T")) {
+            var e = expected.apply(v(name));
+            var r = actual.apply(v(name));
+            assertEquals(e.hasSolution(), r.hasSolution(), name + ": " + e + " vs " + r);
+            assertEquals(e.isFailure(), r.isFailure(), name + ": " + e + " vs " + r);
+            assertEquals(e.isUnknown(), r.isUnknown(), name + ": " + e + " vs " + r);
+            if (e.hasSolution()) assertEquals(e.toOptional(), r.toOptional(), name);
+        }
+    }
+
+    @Test
+    void occursCheckFailsTheCyclicClasses() {
+        var direct = UnionFindUnificator.solve(Map.of(v("X"), a("f", v("X"))));
+        assertTrue(direct.apply(v("X")).isFailure());
+        assertTrue(direct.apply(v("X")).failureReason().toString().contains("Occurs check"));
+
+        var indirect = UnionFindUnificator.solve(Map.of(
+                v("X"), a("f", v("Y")),
+                v("Y"), a("g", v("Z")),
+                v("Z"), a("h", v("X")),
+                v("W"), a("k", v("X"))));
+        for (String name : List.of("X", "Y", "Z")) {
+            assertTrue(indirect.apply(v(name)).failureReason().toString().contains("Occurs check"), name);
+        }
+        //W only refers to the cycle
+        assertEquals(Optional.of(a("k", v("X"))), indirect.apply(v("W")).toOptional());
+    }
+
+    @Test
+    void symmetricConstraints() {
+        //a structure on the left binds the variable on the right, which Unificator does not do
+        var valuation = UnionFindUnificator.solve(Map.of(a("g", v("X")), v("Y"), v("Y"), a("g", a("a"))));
+        assertEquals(Optional.of(a("a")), valuation.apply(v("X")).toOptional());
+        assertEquals(Optional.of(a("g", a("a"))), valuation.apply(v("Y")).toOptional());
+    }
+
+    @Test
+    void clashOfMergedStructuresFailsTheClass() {
+        var valuation = UnionFindUnificator.solve(Map.of(
+                v("X"), a("f", a("a")),
+                v("Y"), a("f", a("b")),
+                a("p", v("X")), a("p", v("Y"))));
+        assertTrue(valuation.apply(v("X")).isFailure());
+        assertTrue(valuation.apply(v("Y")).failureReason().toString().contains("Conflicting"));
+    }
+
+    @Test
+    void longChains() {
+        int length = 2_000;
+        Map<Term, Term> constraints = new HashMap<>();
+        for (int i = 0; i < length; i++) {
+            constraints.put(v("X" + i), a("s", v("X" + (i + 1))));
+            constraints.put(v("Y" + i), v("Y" + (i + 1)));
+        }
+        constraints.put(v("X" + length), a("z"));
+        constraints.put(v("Y" + length), a("z"));
+        Function<Var, UnificationAnswer<Term>> valuation = UnionFindUnificator.solve(constraints);
+        Term expected = a("z");
+        for (int i = length - 1; i >= 0; i--) expected = a("s", expected);
+        assertEquals(Optional.of(expected), valuation.apply(v("X0")).toOptional());
+        assertEquals(Optional.of(a("z")), valuation.apply(v("Y0")).toOptional());
+    }
+}
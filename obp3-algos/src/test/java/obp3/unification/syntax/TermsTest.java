@@ -0,0 +1,94 @@
+package obp3.unification.syntax;
+
+import obp3.hashcons.HashConsTable;
+import obp3.hashcons.HashConsed;
+import obp3.utils.Hashable;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TermsTest {
+
+    @Test
+    void hashConsedTermsAreShared() {
+        var t1 = Terms.app("f", Terms.app("a"), Terms.var("X"));
+        var t2 = Terms.hashCons(new App("f", new App("a"), new Var("X")));
+        assertSame(t1, t2);
+        assertSame(t1.terms().getFirst(), Terms.app("a"));
+        assertTrue(t1.isHashConsed());
+        assertTrue(t1.tag() > 0);
+        assertEquals(t1.hashKey(), t1.hashCode());
+    }
+
+    @Test
+    void equalityIsStructuralWithPlainTerms() {
+        var shared = Terms.app("g", Terms.var("X"), Terms.app("b"));
+        var plain = new App("g", new Var("X"), new App("b"));
+        assertFalse(plain.isHashConsed());
+        assertEquals(plain, shared);
+        assertEquals(shared, plain);
+        assertEquals(plain.hashCode(), shared.hashCode());
+        assertNotEquals(Terms.app("g", Terms.var("Y"), Terms.app("b")), shared);
+    }
+
+    @Test
+    void substitutionKeepsUnchangedTerms() {
+        var ground = new App("f", new App("a"), new App("b"));
+        assertTrue(ground.isGround());
+        assertSame(ground, ground.substitute(_ -> new App("c")));
+
+        var open = new App("f", new App("a"), new Var("X"));
+        assertFalse(open.isGround());
+        assertSame(open, open.substitute(v -> v));
+        assertSame(open.terms().getFirst(), ((App) open.substitute(_ -> new App("c"))).terms().getFirst());
+    }
+
+    @Test
+    void substitutionOfHashConsedTermsIsHashConsed() {
+        var open = Terms.app("h", Terms.var("X"), Terms.app("a"));
+        var mapping = Map.<Var, Term>of(new Var("X"), new App("b", new App("c")));
+        var result = open.substitute(v -> mapping.getOrDefault(v, v));
+        assertTrue(result.isHashConsed());
+        assertSame(Terms.app("h", Terms.app("b", Terms.app("c")), Terms.app("a")), result);
+    }
+
+    @Test
+    void termsAreImmutable() {
+        Term[] arguments = {new App("a")};
+        var app = new App("f", arguments);
+        arguments[0] = new App("b");
+        assertEquals(new App("f", new App("a")), app);
+        assertThrows(UnsupportedOperationException.class, () -> app.terms().set(0, new App("c")));
+    }
+
+    @Test
+    void otherTablesDoNotRetagTerms() {
+        var shared = Terms.app("k", Terms.var("X"));
+        int tag = shared.tag();
+        var other = new HashConsTable<Term>(Hashable.standard(),
+                (term, t, h) -> new HashConsed.FunctionalHashConsed<>(() -> term, () -> t, () -> h));
+        var plain = new App("k", new Var("X"));
+        other.hashCons(plain);
+        assertSame(shared, other.hashCons(shared).node());
+        assertEquals(tag, shared.tag());
+        assertFalse(plain.isHashConsed());
+        assertEquals(plain, shared);
+        assertSame(shared, Terms.hashCons(plain));
+    }
+
+    @Test
+    void unreachableTermsAreReclaimed() throws InterruptedException {
+        var reference = new WeakReference<>(Terms.app("unreachable", Terms.app("once")));
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (reference.get() != null && System.nanoTime() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+        //a new node for an equal term
+        assertTrue(Terms.app("unreachable", Terms.app("once")).isHashConsed());
+    }
+}
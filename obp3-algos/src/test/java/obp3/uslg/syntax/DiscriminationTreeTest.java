@@ -0,0 +1,100 @@
+package obp3.uslg.syntax;
+
+import obp3.unification.syntax.App;
+import obp3.unification.syntax.Term;
+import obp3.unification.syntax.Var;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiscriminationTreeTest {
+
+    static Var v(String name) { return new Var(name); }
+    static App a(String name, Term... args) { return new App(name, args); }
+
+    static DiscriminationTree<String> index(Term... terms) {
+        var tree = new DiscriminationTree<String>();
+        for (Term term : terms) tree.add(term, term.toString());
+        return tree;
+    }
+
+    static Set<String> unifiable(DiscriminationTree<String> tree, Term query) {
+        return new HashSet<>(tree.unifiable(query));
+    }
+
+    @Nested
+    class Retrieval {
+        Term fab = a("f", a("a"), a("b"));
+        Term fac = a("f", a("a"), a("c"));
+        Term fba = a("f", a("b"), a("a"));
+        Term fXb = a("f", v("X"), a("b"));
+        Term fga = a("f", a("g", a("a")), a("b"));
+        Term ga = a("g", a("a"));
+        DiscriminationTree<String> tree = index(fab, fac, fba, fXb, fga, ga);
+
+        @Test
+        void groundQueryFindsSameTermsAndGeneralizations() {
+            assertEquals(Set.of(fab.toString(), fXb.toString()), unifiable(tree, fab));
+        }
+
+        @Test
+        void queryVariableSkipsWholeSubterms() {
+            assertEquals(Set.of(fab.toString(), fXb.toString(), fga.toString()), unifiable(tree, a("f", v("Y"), a("b"))));
+            assertEquals(Set.of(fab.toString(), fac.toString(), fXb.toString()), unifiable(tree, a("f", a("a"), v("Y"))));
+            assertEquals(6, unifiable(tree, v("Y")).size());
+        }
+
+        @Test
+        void otherSymbolsAreNotRetrieved() {
+            assertEquals(Set.of(), unifiable(tree, a("f", a("c"), a("c"))));
+            assertEquals(Set.of(), unifiable(tree, a("f", a("a"))));
+            assertEquals(Set.of(ga.toString()), unifiable(tree, a("g", v("Y"))));
+        }
+
+        @Test
+        void variablesAreNotDistinguished() {
+            var tree = index(a("f", v("X"), v("X")));
+            //an over-approximation, the unifier rejects it
+            assertEquals(1, tree.unifiable(a("f", a("a"), a("b"))).size());
+        }
+    }
+
+    @Nested
+    class Update {
+        @Test
+        void removeDropsOneValueAndPrunes() {
+            var tree = index(a("f", a("a")), a("f", a("b")));
+            tree.add(a("f", a("a")), "again");
+            assertEquals(3, tree.size());
+            assertTrue(tree.remove(a("f", a("a")), "again"));
+            assertFalse(tree.remove(a("f", a("a")), "again"));
+            assertTrue(tree.remove(a("f", a("a")), a("f", a("a")).toString()));
+            assertEquals(1, tree.size());
+            assertEquals(1, tree.root.children.get(new DiscriminationTree.Key("f", 1)).children.size());
+            assertTrue(tree.remove(a("f", a("b")), a("f", a("b")).toString()));
+            assertTrue(tree.root.isEmpty());
+        }
+
+        @Test
+        void removeOfUnknownTerm() {
+            var tree = index(a("f", a("a")));
+            assertFalse(tree.remove(a("f", a("b")), "f(b)"));
+            assertFalse(tree.remove(a("g"), "g"));
+        }
+    }
+
+    @Nested
+    class Matching {
+        @Test
+        void bindsOnlyThePatternVariables() {
+            Map<Var, Term> bindings = new HashMap<>();
+            assertTrue(DiscriminationTree.matches(a("f", v("X"), v("Y")), a("f", a("a"), v("Y")), bindings));
+            assertEquals(Map.of(v("X"), a("a"), v("Y"), v("Y")), bindings);
+            assertFalse(DiscriminationTree.matches(a("f", a("a"), v("Y")), a("f", v("X"), a("b")), new HashMap<>()));
+            assertFalse(DiscriminationTree.matches(a("f", v("X"), v("X")), a("f", a("a"), a("b")), new HashMap<>()));
+        }
+    }
+}
@@ -6,8 +6,11 @@ import obp3.unification.syntax.Var;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -202,6 +205,215 @@ class SLGSolverTest {
         }
     }
 
+    @Nested
+    class IncrementalRules {
+        // path(X,Y) :- edge(X,Y).
+        // path(X,Y) :- path(X,Z), edge(Z,Y).
+        // edge(a, b). edge(b, c). node(a).
+        SLGSolver solver = new SLGSolver(List.of(
+                new Rule(a("path", v("X"), v("Y")),
+                        a("edge", v("X"), v("Y"))),
+                new Rule(a("path", v("X"), v("Y")),
+                        a("path", v("X"), v("Z")),
+                        a("edge", v("Z"), v("Y"))),
+                new Rule(a("edge", a("a"), a("b"))),
+                new Rule(a("edge", a("b"), a("c"))),
+                new Rule(a("node", a("a")))
+        ));
+
+        @Test
+        void addedFactsExtendTheTables() {
+            assertEquals(Set.of("b", "c"), extractValues(solver.solve(a("path", a("a"), v("T"))), "T"));
+            solver.addRules(List.of(new Rule(a("edge", a("c"), a("d")))));
+            assertEquals(Set.of("b", "c", "d"), extractValues(solver.solve(a("path", a("a"), v("T"))), "T"));
+            assertEquals(Set.of("c", "d"), extractValues(solver.solve(a("path", a("b"), v("T"))), "T"));
+        }
+
+        @Test
+        void removedFactsShrinkTheTables() {
+            assertEquals(Set.of("b", "c"), extractValues(solver.solve(a("path", a("a"), v("T"))), "T"));
+            assertEquals(Set.of("a"), extractValues(solver.solve(a("node", v("N"))), "N"));
+            solver.removeRules(List.of(new Rule(a("edge", a("b"), a("c")))));
+            assertEquals(Set.of("b"), extractValues(solver.solve(a("path", a("a"), v("T"))), "T"));
+            //unrelated tables are kept
+            assertTrue(solver.fixer.fixedNodes().stream().anyMatch(call -> call.name().equals("node")));
+        }
+
+        @Test
+        void removedRulesLeaveTheRenamingCache() {
+            solver.solve(a("path", a("a"), v("T")));
+            int cached = solver.renamedRuleCache.size();
+            for (int i = 0; i < 10; i++) {
+                var fact = new Rule(a("edge", a("c"), a("d" + i)));
+                solver.addRules(List.of(fact));
+                assertEquals(Set.of("b", "c", "d" + i), extractValues(solver.solve(a("path", a("a"), v("T"))), "T"));
+                solver.removeRules(List.of(fact));
+            }
+            assertEquals(Set.of("b", "c"), extractValues(solver.solve(a("path", a("a"), v("T"))), "T"));
+            assertEquals(cached, solver.renamedRuleCache.size());
+        }
+    }
+
+    @Nested
+    class SemiNaive {
+        static List<Rule> pathRules(boolean leftRecursive) {
+            var recursive = leftRecursive
+                    ? new Rule(a("path", v("X"), v("Y")), a("path", v("X"), v("Z")), a("edge", v("Z"), v("Y")))
+                    : new Rule(a("path", v("X"), v("Y")), a("edge", v("X"), v("Z")), a("path", v("Z"), v("Y")));
+            return new ArrayList<>(List.of(new Rule(a("path", v("X"), v("Y")), a("edge", v("X"), v("Y"))), recursive));
+        }
+
+        static List<Rule> chain(int length, boolean cyclic) {
+            var rules = new ArrayList<Rule>();
+            for (int i = 0; i < length; i++) {
+                int next = i + 1 < length ? i + 1 : (cyclic ? 0 : length);
+                rules.add(new Rule(a("edge", a("n" + i), a("n" + next))));
+            }
+            return rules;
+        }
+
+        @Test
+        void cyclicTransitiveClosure() {
+            var rules = pathRules(false);
+            rules.addAll(chain(3, true));
+            var solver = new SLGSolver(rules, SLGSolver.Evaluation.SEMI_NAIVE);
+            assertEquals(Set.of("n0", "n1", "n2"), extractValues(solver.solve(a("path", a("n0"), v("T"))), "T"));
+            assertEquals(9, solver.solve(a("path", v("X"), v("Y"))).answers().size());
+        }
+
+        @Test
+        void leftRecursion() {
+            var rules = pathRules(true);
+            rules.addAll(chain(3, true));
+            var solver = new SLGSolver(rules, SLGSolver.Evaluation.SEMI_NAIVE);
+            assertEquals(Set.of("n0", "n1", "n2"), extractValues(solver.solve(a("path", a("n1"), v("T"))), "T"));
+        }
+
+        @Test
+        void sameAnswersAsNaive() {
+            for (boolean left : new boolean[]{true, false}) {
+                var rules = pathRules(left);
+                rules.addAll(chain(15, false));
+                rules.add(new Rule(a("edge", a("n3"), a("n9"))));
+                rules.add(new Rule(a("edge", a("n12"), a("n2"))));
+                var naive = new SLGSolver(rules);
+                var semiNaive = new SLGSolver(rules, SLGSolver.Evaluation.SEMI_NAIVE);
+                for (var query : List.of(a("path", a("n0"), v("T")), a("path", v("S"), a("n7")), a("path", v("S"), v("T")))) {
+                    assertEquals(naive.solve(query), semiNaive.solve(query));
+                }
+            }
+        }
+
+        @Test
+        void resumptionsAreLinearInTheAnswers() {
+            var rules = pathRules(true);
+            rules.addAll(chain(500, false));
+            var solver = new SLGSolver(rules, SLGSolver.Evaluation.SEMI_NAIVE);
+            assertEquals(500, solver.solve(a("path", a("n0"), v("T"))).answers().size());
+            //each answer of path(n0, _) resumes the recursive consumer once, each edge fact resumes its caller once
+            assertTrue(solver.semiNaive.resumptions < 4 * 500, "resumptions " + solver.semiNaive.resumptions);
+        }
+
+        @Test
+        void addedRulesAreSeen() {
+            var rules = pathRules(true);
+            rules.addAll(chain(2, false));
+            var solver = new SLGSolver(rules, SLGSolver.Evaluation.SEMI_NAIVE);
+            assertEquals(Set.of("n1", "n2"), extractValues(solver.solve(a("path", a("n0"), v("T"))), "T"));
+            solver.addRules(List.of(new Rule(a("edge", a("n2"), a("n3")))));
+            assertEquals(Set.of("n1", "n2", "n3"), extractValues(solver.solve(a("path", a("n0"), v("T"))), "T"));
+            solver.removeRules(List.of(new Rule(a("edge", a("n0"), a("n1")))));
+            assertEquals(Set.of(), extractValues(solver.solve(a("path", a("n0"), v("T"))), "T"));
+        }
+    }
+
+    @Nested
+    class LargeFactBase {
+        // edge(n_i, n_i+1) for 20000 nodes, path as in SemiNaive
+        static List<Rule> rules() {
+            var rules = SemiNaive.pathRules(false);
+            rules.addAll(SemiNaive.chain(20_000, false));
+            return rules;
+        }
+
+        @Test
+        void applicableRulesAreIndexed() {
+            var solver = new SLGSolver(rules());
+            assertEquals(1, solver.applicable(a("edge", a("n42"), v("Y"))).size());
+            assertEquals(2, solver.applicable(a("path", a("n42"), v("Y"))).size());
+            assertEquals(20_000, solver.applicable(a("edge", v("X"), v("Y"))).size());
+            assertEquals(Set.of("n43"), extractValues(solver.solve(a("edge", a("n42"), v("T"))), "T"));
+        }
+
+        @Test
+        void instancesOfCompleteCallsReadTheAnswerIndex() {
+            var solver = new SLGSolver(rules(), SLGSolver.Evaluation.SEMI_NAIVE);
+            assertEquals(20_000, solver.solve(a("edge", v("X"), v("Y"))).answers().size());
+            assertEquals(Set.of("n43"), extractValues(solver.solve(a("edge", a("n42"), v("T"))), "T"));
+            assertEquals(Set.of("n42"), extractValues(solver.solve(a("edge", v("S"), a("n43"))), "S"));
+            var table = solver.semiNaive.tables.get(a("edge", a("n42"), v("V0")));
+            assertTrue(table.complete);
+            assertEquals(1, table.answers.size());
+            var last = 20_000 - 100;
+            assertEquals(100, solver.solve(a("path", a("n" + last), v("T"))).answers().size());
+        }
+    }
+
+    @Nested
+    class Batch {
+        // path over a ring of 30 nodes with chords, each query reaches every node
+        static List<Rule> rules() {
+            var rules = SemiNaive.pathRules(true);
+            rules.addAll(SemiNaive.chain(30, true));
+            rules.add(new Rule(a("edge", a("n3"), a("n17"))));
+            rules.add(new Rule(a("edge", a("n20"), a("n5"))));
+            return rules;
+        }
+
+        @Test
+        void sameAnswersAsSingleQueries() {
+            var queries = new ArrayList<Term>();
+            for (int i = 0; i < 30; i++) {
+                queries.add(a("path", a("n" + i), v("T")));
+                queries.add(a("path", v("S"), a("n" + i)));
+            }
+            queries.add(a("path", v("S"), v("T")));
+            var reference = new SLGSolver(rules(), SLGSolver.Evaluation.NAIVE);
+            var solver = new SLGSolver(rules());
+            var executor = Executors.newFixedThreadPool(4);
+            try {
+                var futures = solver.solveAll(queries, executor);
+                CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+                for (int i = 0; i < queries.size(); i++) {
+                    assertEquals(reference.solve(queries.get(i)), futures.get(i).join(), queries.get(i).toString());
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        @Test
+        void variantsShareOneEvaluation() {
+            var solver = new SLGSolver(rules());
+            var answers = solver.solveAll(List.of(a("path", a("n0"), v("X")), a("path", a("n0"), v("Y"))));
+            assertEquals(30, extractValues(answers.get(0), "X").size());
+            assertEquals(extractValues(answers.get(0), "X"), extractValues(answers.get(1), "Y"));
+        }
+
+        @Test
+        void completeTablesAreReused() {
+            var solver = new SLGSolver(rules(), SLGSolver.Evaluation.SEMI_NAIVE);
+            solver.solveAll(List.of(a("path", a("n0"), v("T"))));
+            assertTrue(solver.completeTables.containsKey(AlphaEquivalence.toCanonical(a("path", a("n0"), v("T")), Substitution.empty())));
+            assertEquals(30, solver.solve(a("path", a("n0"), v("T"))).answers().size());
+            assertEquals(0, solver.semiNaive.resumptions);
+            //changing the rules drops the shared tables
+            solver.addRules(List.of(new Rule(a("edge", a("n0"), a("m")))));
+            assertTrue(solver.completeTables.isEmpty());
+            assertEquals(31, solver.solveAll(List.of(a("path", a("n0"), v("T")))).getFirst().answers().size());
+        }
+    }
+
     // Utility: extract resolved ground values for a given variable name
     static Set<String> extractValues(AnswerSet as, String varName) {
         return as.answers().stream()
@@ -0,0 +1,118 @@
+package z2mc.progress;
+
+import obp3.modelchecking.progress.DeadlockLivelockAnalysis;
+import obp3.modelchecking.progress.DeadlockLivelockAnswer;
+import obp3.runtime.sli.SemanticRelation;
+import obp3.traversal.dfs.DepthFirstTraversal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDeadlockLivelockAnalysis {
+
+    /// an action is a labelled edge, the progress actions have a label starting with "p"
+    record Edge(int source, String label, int target) {}
+
+    /// the semantics of a labelled graph, an edge to a negative target is an action without target
+    record LabelledGraph(List<Integer> initial, List<Edge> edges) implements SemanticRelation<Edge, Integer> {
+        @Override
+        public List<Edge> actions(Integer configuration) {
+            return edges.stream().filter(edge -> edge.source() == configuration).toList();
+        }
+
+        @Override
+        public List<Integer> execute(Edge action, Integer configuration) {
+            return action.target() < 0 ? List.of() : List.of(action.target());
+        }
+    }
+
+    DeadlockLivelockAnswer<Integer> analyse(DepthFirstTraversal.Algorithm algorithm, LabelledGraph graph) {
+        return new DeadlockLivelockAnalysis<>(algorithm, graph, (Edge edge) -> edge.label().startsWith("p")).runAlone();
+    }
+
+    @Test
+    void progressCycle() {
+        var graph = new LabelledGraph(List.of(0), List.of(
+                new Edge(0, "p", 1), new Edge(1, "t", 2), new Edge(2, "t", 0)));
+        var answer = analyse(DepthFirstTraversal.Algorithm.WHILE, graph);
+        assertTrue(answer.deadlockFree());
+        assertTrue(answer.livelockFree());
+    }
+
+    @Test
+    void nonProgressCycleBehindProgress() {
+        var graph = new LabelledGraph(List.of(0), List.of(
+                new Edge(0, "p", 1), new Edge(1, "t", 2), new Edge(2, "t", 1), new Edge(2, "p", 0)));
+        var answer = analyse(DepthFirstTraversal.Algorithm.WHILE, graph);
+        assertTrue(answer.deadlockFree());
+        assertEquals(1, answer.nonProgressCycles.size());
+        assertEquals(Set.of(1, 2), new HashSet<>(answer.nonProgressCycles.getFirst()));
+    }
+
+    @Test
+    void deadlocksAndSelfLoops() {
+        var graph = new LabelledGraph(List.of(0), List.of(
+                new Edge(0, "t", 3), new Edge(0, "p", 4), new Edge(0, "t", 5),
+                //4 has an action, but it has no target
+                new Edge(4, "t", -1),
+                new Edge(5, "tau", 5), new Edge(5, "p", 6), new Edge(6, "p", 6)));
+        var answer = analyse(DepthFirstTraversal.Algorithm.WHILE, graph);
+        assertEquals(Set.of(3, 4), new HashSet<>(answer.deadlocks));
+        assertEquals(List.of(List.of(5)), answer.nonProgressCycles);
+        assertFalse(answer.deadlockFree());
+        assertFalse(answer.livelockFree());
+    }
+
+    static Set<Integer> reachable(List<Edge> edges, Collection<Integer> from, boolean nonProgressOnly) {
+        Set<Integer> reached = new HashSet<>(from);
+        Deque<Integer> stack = new ArrayDeque<>(from);
+        while (!stack.isEmpty()) {
+            int source = stack.pop();
+            for (var edge : edges) {
+                if (edge.source() != source || edge.target() < 0) continue;
+                if (nonProgressOnly && edge.label().startsWith("p")) continue;
+                if (reached.add(edge.target())) stack.push(edge.target());
+            }
+        }
+        return reached;
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = DepthFirstTraversal.Algorithm.class, names = {"WHILE", "DO"})
+    void randomGraphsAgreeWithBruteForce(DepthFirstTraversal.Algorithm algorithm) {
+        var random = new Random(49);
+        for (int round = 0; round < 40; round++) {
+            int vertices = 60;
+            List<Edge> edges = new ArrayList<>();
+            for (int v = 0; v < vertices; v++) {
+                for (int i = random.nextInt(3); i > 0; i--) {
+                    int target = random.nextInt(10) == 0 ? -1 : random.nextInt(vertices);
+                    edges.add(new Edge(v, random.nextInt(3) == 0 ? "p" : "t", target));
+                }
+            }
+            var graph = new LabelledGraph(List.of(0), edges);
+            var answer = analyse(algorithm, graph);
+
+            var reachable = reachable(edges, List.of(0), false);
+            Set<Integer> deadlocks = new HashSet<>();
+            Set<Integer> onCycles = new HashSet<>();
+            for (int v : reachable) {
+                if (edges.stream().noneMatch(edge -> edge.source() == v && edge.target() >= 0)) deadlocks.add(v);
+                //v is on a non-progress cycle if it is reachable from one of its non-progress targets
+                var targets = edges.stream()
+                        .filter(edge -> edge.source() == v && edge.target() >= 0 && !edge.label().startsWith("p"))
+                        .map(Edge::target).toList();
+                if (reachable(edges, targets, true).contains(v)) onCycles.add(v);
+            }
+            assertEquals(deadlocks, new HashSet<>(answer.deadlocks));
+            assertEquals(deadlocks.size(), answer.deadlocks.size());
+            Set<Integer> reported = new HashSet<>();
+            answer.nonProgressCycles.forEach(reported::addAll);
+            assertEquals(onCycles, reported);
+        }
+    }
+}
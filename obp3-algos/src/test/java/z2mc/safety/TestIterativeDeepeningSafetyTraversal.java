@@ -0,0 +1,204 @@
+package z2mc.safety;
+
+import obp3.modelchecking.EmptinessCheckerAnswer;
+import obp3.modelchecking.safety.IterativeDeepeningSafetyTraversal;
+import obp3.modelchecking.safety.SafetyDepthFirstTraversal;
+import obp3.modelchecking.tools.ModelCheckerBuilder;
+import obp3.modelchecking.tools.XModelCheckerBuilder;
+import obp3.runtime.sli.IRootedGraph;
+import obp3.runtime.sli.SemanticRelation;
+import obp3.runtime.sli.Step;
+import obp3.sli.core.RootedGraphFunctional;
+import obp3.traversal.dfs.DepthFirstTraversal;
+import obp3.utils.Either;
+import org.junit.jupiter.api.Test;
+import z2mc.traversal.dft.RootedGraphExamples;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestIterativeDeepeningSafetyTraversal {
+    EmptinessCheckerAnswer<Integer> check(IRootedGraph<Integer> graph, Predicate<Integer> predicate) {
+        return new IterativeDeepeningSafetyTraversal<>(graph, 1, -1, Function.identity(), predicate).runAlone();
+    }
+
+    @Test
+    void rootCycle3() {
+        var witness = check(RootedGraphExamples.rootCycle3, (v) -> v.equals(1));
+        assertEquals(new Step<>(null, Optional.empty(), 1), witness.witness);
+        assertEquals(List.of(1), witness.trace);
+
+        witness = check(RootedGraphExamples.rootCycle3, (v) -> v.equals(3));
+        assertEquals(new Step<>(2, Optional.empty(), 3), witness.witness);
+        assertEquals(List.of(1, 2, 3), witness.trace);
+
+        witness = check(RootedGraphExamples.rootCycle3, (v) -> v.equals(4));
+        assertTrue(witness.holds);
+    }
+
+    @Test
+    void twoRootsTwoGraphs() {
+        var witness = check(RootedGraphExamples.twoRootsTwoGraphs, (_) -> false);
+        assertTrue(witness.holds);
+        witness = check(RootedGraphExamples.twoRootsTwoGraphs, (v) -> v.equals(5));
+        assertEquals(new Step<>(4, Optional.empty(), 5), witness.witness);
+        assertEquals(List.of(4, 5), witness.trace);
+    }
+
+    /// a chain 0 -> 1 -> ... -> 100, with a shortcut 0 -> 100, and the violation 101 after 100
+    static IRootedGraph<Integer> chainWithShortcut() {
+        return new RootedGraphFunctional<>(
+                () -> List.of(0).iterator(),
+                v -> switch (v) {
+                    case 0 -> List.of(1, 100).iterator();
+                    case 100 -> List.of(101).iterator();
+                    case 101 -> Collections.emptyIterator();
+                    default -> List.of(v + 1).iterator();
+                });
+    }
+
+    @Test
+    void shortCounterexample() {
+        var graph = chainWithShortcut();
+        var dfs = new SafetyDepthFirstTraversal<>(DepthFirstTraversal.Algorithm.WHILE, graph, -1, Function.identity(), (Integer v) -> v == 101).runAlone();
+        assertEquals(102, dfs.trace.size());
+
+        var deepening = new IterativeDeepeningSafetyTraversal<>(graph, 1, -1, Function.identity(), (Integer v) -> v == 101);
+        var witness = deepening.runAlone();
+        assertFalse(witness.holds);
+        assertEquals(List.of(0, 100, 101), witness.trace);
+        assertEquals(2, deepening.bound());
+    }
+
+    @Test
+    void reexpansionAtSmallerDepth() {
+        //100 is first reached at depth 100 by the chain, when the bound allows it, then at depth 1 by the shortcut
+        var graph = chainWithShortcut();
+        var deepening = new IterativeDeepeningSafetyTraversal<>(graph, 128, -1, Function.identity(), (Integer v) -> false);
+        assertTrue(deepening.runAlone().holds);
+        //the 102 vertices, with 100 and 101 expanded again at the depths 1 and 2
+        assertEquals(104, deepening.expansions());
+    }
+
+    @Test
+    void rootReachedFromAnEarlierRoot() {
+        //the roots 0 and 10: 0 -> 1 -> 2 -> 10 reaches the second root at depth 3, and 10 -> 11 -> 12 -> 13 violates
+        var graph = new RootedGraphFunctional<Integer>(
+                () -> List.of(0, 10).iterator(),
+                v -> switch (v) {
+                    case 2 -> List.of(10).iterator();
+                    case 13 -> Collections.emptyIterator();
+                    default -> List.of(v + 1).iterator();
+                });
+        var deepening = new IterativeDeepeningSafetyTraversal<>(graph, 5, 5, Function.identity(), (Integer v) -> v == 13);
+        var witness = deepening.runAlone();
+        assertFalse(witness.holds);
+        assertEquals(List.of(10, 11, 12, 13), witness.trace);
+
+        witness = check(graph, v -> v == 13);
+        assertEquals(List.of(10, 11, 12, 13), witness.trace);
+    }
+
+    @Test
+    void maxBoundStopsTheDeepening() {
+        var graph = new RootedGraphFunctional<Integer>(() -> List.of(0).iterator(), v -> List.of(v + 1).iterator());
+        var deepening = new IterativeDeepeningSafetyTraversal<>(graph, 1, 40, Function.identity(), (Integer v) -> v == 50);
+        assertTrue(deepening.runAlone().holds);
+        assertEquals(40, deepening.bound());
+        //each configuration is expanded once over the 7 iterations
+        assertEquals(40, deepening.expansions());
+        assertThrows(IllegalArgumentException.class, () -> new IterativeDeepeningSafetyTraversal<>(graph, 0, -1, Function.identity(), (Integer v) -> false));
+    }
+
+    static int distance(List<List<Integer>> successors, int target) {
+        Map<Integer, Integer> depth = new HashMap<>(Map.of(0, 0));
+        Deque<Integer> queue = new ArrayDeque<>(List.of(0));
+        while (!queue.isEmpty()) {
+            int v = queue.poll();
+            if (v == target) return depth.get(v);
+            for (int w : successors.get(v)) {
+                if (depth.putIfAbsent(w, depth.get(v) + 1) == null) queue.add(w);
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    void randomGraphsFindNearShortestViolations() {
+        var random = new Random(50);
+        for (int round = 0; round < 50; round++) {
+            int vertices = 300;
+            List<List<Integer>> successors = new ArrayList<>();
+            for (int v = 0; v < vertices; v++) {
+                List<Integer> next = new ArrayList<>();
+                for (int i = random.nextInt(3); i >= 0; i--) next.add(random.nextInt(vertices));
+                successors.add(next);
+            }
+            IRootedGraph<Integer> graph = new RootedGraphFunctional<>(() -> List.of(0).iterator(), v -> successors.get(v).iterator());
+            int target = random.nextInt(vertices);
+            int shortest = distance(successors, target);
+
+            var witness = check(graph, v -> v == target);
+            assertEquals(shortest < 0, witness.holds);
+            if (shortest < 0) continue;
+            assertEquals(target, witness.trace.getLast());
+            assertEquals(0, witness.trace.getFirst());
+            for (int i = 1; i < witness.trace.size(); i++) {
+                assertTrue(successors.get(witness.trace.get(i - 1)).contains(witness.trace.get(i)));
+            }
+            //found in the first iteration whose bound reaches the shortest depth, less than twice that depth
+            assertTrue(witness.trace.size() - 1 <= Math.max(0, 2 * shortest - 1), "depth " + (witness.trace.size() - 1) + " for " + shortest);
+        }
+    }
+
+    /// the model of a counter modulo 1000, incremented by 1 or by 100
+    record Counter() implements SemanticRelation<Integer, Integer> {
+        @Override
+        public List<Integer> initial() {
+            return List.of(0);
+        }
+
+        @Override
+        public List<Integer> actions(Integer configuration) {
+            return List.of(1, 100);
+        }
+
+        @Override
+        public List<Integer> execute(Integer action, Integer configuration) {
+            return List.of((configuration + action) % 1000);
+        }
+    }
+
+    @Test
+    void builderIterativeDeepening() {
+        var answer = ModelCheckerBuilder.<Integer, Integer, Object, Object>builder()
+                .modelSemantics(new Counter())
+                .acceptingPredicateForModel(c -> c == 502)
+                .iterativeDeepening(1)
+                .modelChecker()
+                .runAlone();
+        assertFalse(answer.holds);
+        //the shortest trace has 5 + 2 steps, DFS follows the +1 first and finds a 503 configuration trace
+        assertTrue(answer.trace.size() <= 14, "trace " + answer.trace.size());
+        assertEquals(Either.left(502), answer.trace.getLast());
+
+        assertThrows(IllegalArgumentException.class, () -> ModelCheckerBuilder.builder().iterativeDeepening(0));
+        assertThrows(IllegalStateException.class, () -> ModelCheckerBuilder.<Integer, Integer, Object, Object>builder()
+                .modelSemantics(new Counter())
+                .propertySemantics(_ -> null)
+                .acceptingPredicateForProduct((_, _) -> true)
+                .buchi(true)
+                .iterativeDeepening(1)
+                .buildBuchi());
+        assertThrows(IllegalStateException.class, () -> new XModelCheckerBuilder<Integer, Integer, Object, Object>()
+                .modelSemantics(new Counter())
+                .propertySemantics(_ -> null)
+                .acceptingPredicateForProduct((_, _) -> true)
+                .buchi(true)
+                .iterativeDeepening(1)
+                .modelChecker());
+    }
+}
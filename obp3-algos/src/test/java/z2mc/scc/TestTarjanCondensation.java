@@ -0,0 +1,114 @@
+package z2mc.scc;
+
+import obp3.runtime.sli.IRootedGraph;
+import obp3.scc.tarjan2.CondensationGraph;
+import obp3.scc.tarjan2.CondensationStronglyConnectedComponentsAlgoT;
+import obp3.scc.tarjan2.DenseTarjanStronglyConnectedComponentsAlgoT;
+import obp3.sli.core.RootedGraphFunctional;
+import obp3.traversal.dfs.DepthFirstTraversal;
+import org.junit.jupiter.api.Test;
+import z2mc.traversal.dft.RootedGraphExamples;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTarjanCondensation {
+
+    CondensationGraph<Integer> condensation(IRootedGraph<Integer> graph) {
+        return new CondensationStronglyConnectedComponentsAlgoT<>(graph).runAlone();
+    }
+
+    @Test
+    void lasso_1_2() {
+        var graph = condensation(RootedGraphExamples.lasso_1_2);
+        assertEquals(2, graph.componentCount());
+        int head = graph.componentOf(1);
+        int cycle = graph.componentOf(2);
+        assertEquals(cycle, graph.componentOf(3));
+        assertEquals(Set.of(2, 3), new HashSet<>(graph.members(cycle)));
+        assertTrue(cycle < head);
+        assertEquals(1, graph.outDegree(head));
+        assertTrue(graph.isTerminal(cycle));
+        assertTrue(graph.isCyclic(cycle));
+        assertFalse(graph.isCyclic(head));
+        assertTrue(graph.canReach(head, c -> c == cycle));
+        assertFalse(graph.canReach(cycle, c -> c == head));
+        assertEquals(1, graph.edgeCount());
+    }
+
+    @Test
+    void selfLoops() {
+        //the 5 of disconnectedGraph2 loops on itself
+        var graph = condensation(RootedGraphExamples.disconnectedGraph2);
+        assertTrue(graph.isCyclic(graph.componentOf(5)));
+        assertFalse(graph.isCyclic(graph.componentOf(4)));
+        assertEquals(-1, graph.componentOf(42));
+    }
+
+    static List<List<Integer>> randomSuccessors(Random random, int vertices, int degree) {
+        List<List<Integer>> successors = new ArrayList<>();
+        for (int v = 0; v < vertices; v++) {
+            List<Integer> next = new ArrayList<>();
+            for (int i = random.nextInt(degree + 1); i > 0; i--) next.add(random.nextInt(vertices));
+            successors.add(next);
+        }
+        return successors;
+    }
+
+    static Set<Integer> reachable(List<List<Integer>> successors, int from) {
+        Set<Integer> reached = new HashSet<>(List.of(from));
+        Deque<Integer> stack = new ArrayDeque<>(List.of(from));
+        while (!stack.isEmpty()) {
+            for (int next : successors.get(stack.pop())) {
+                if (reached.add(next)) stack.push(next);
+            }
+        }
+        return reached;
+    }
+
+    @Test
+    void randomGraphsAgreeWithBruteForce() {
+        var random = new Random(47);
+        for (int round = 0; round < 30; round++) {
+            int vertices = 150;
+            var successors = randomSuccessors(random, vertices, 1 + round % 3);
+            IRootedGraph<Integer> graph = new RootedGraphFunctional<>(
+                    () -> List.of(0, 1, 2).iterator(),
+                    v -> successors.get(v).iterator());
+            var condensation = new CondensationStronglyConnectedComponentsAlgoT<>(DepthFirstTraversal.Algorithm.WHILE, graph).runAlone();
+            var sccs = new DenseTarjanStronglyConnectedComponentsAlgoT<>(graph).runAlone().getStronglyConnectedComponents();
+            assertEquals(sccs.size(), condensation.componentCount());
+            for (var component : sccs.values()) {
+                int c = condensation.componentOf(component.iterator().next());
+                assertEquals(component, new HashSet<>(condensation.members(c)));
+                int member = component.iterator().next();
+                assertEquals(component.size() > 1 || successors.get(member).contains(member), condensation.isCyclic(c));
+            }
+
+            //the components reachable in the condensation are the ones of the reachable vertices
+            for (var component : sccs.values()) {
+                int vertex = component.iterator().next();
+                int c = condensation.componentOf(vertex);
+                var expected = new BitSet();
+                reachable(successors, vertex).forEach(w -> expected.set(condensation.componentOf(w)));
+                assertEquals(expected, condensation.reachableFrom(c));
+                condensation.forEachSuccessor(c, s -> assertTrue(s < c));
+            }
+
+            //the attractor of the terminal components, each of them checked with canReach
+            var attractor = condensation.attractor(condensation::isTerminal);
+            for (int c = 0; c < condensation.componentCount(); c++) {
+                assertTrue(attractor.get(c));
+                int from = c;
+                var target = condensation.members(condensation.reachableFrom(c).nextSetBit(0)).getFirst();
+                assertTrue(condensation.canReach(from, s -> condensation.members(s).contains(target)));
+            }
+            var cyclic = condensation.attractor(condensation::isCyclic);
+            for (int c = 0; c < condensation.componentCount(); c++) {
+                int from = c;
+                assertEquals(cyclic.get(c), condensation.canReach(from, condensation::isCyclic));
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package z2mc.scc;
+
+import obp3.runtime.sli.IRootedGraph;
+import obp3.scc.tarjan2.DenseTarjanMemory;
+import obp3.scc.tarjan2.DenseTarjanStronglyConnectedComponentsAlgoT;
+import obp3.scc.tarjan2.TarjanStronglyConnectedComponentsAlgoT;
+import obp3.sli.core.RootedGraphFunctional;
+import obp3.traversal.dfs.DepthFirstTraversal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import z2mc.traversal.dft.RootedGraphExamples;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TestTarjanSCC2Dense {
+
+    DenseTarjanMemory<Integer> tarjan(DepthFirstTraversal.Algorithm algorithm, IRootedGraph<Integer> graph) {
+        return new DenseTarjanStronglyConnectedComponentsAlgoT<>(algorithm, graph).runAlone();
+    }
+
+    static List<IRootedGraph<Integer>> examples() {
+        return List.of(
+                RootedGraphExamples.emptyGraph,
+                RootedGraphExamples.emptyRootGraph,
+                RootedGraphExamples.oneRootEmptyNeighboursGraph,
+                RootedGraphExamples.twoRootsEmptyNeighboursGraph,
+                RootedGraphExamples.twoIdenticalRoots,
+                RootedGraphExamples.line2,
+                RootedGraphExamples.disconnectedGraph1,
+                RootedGraphExamples.disconnectedGraph2,
+                RootedGraphExamples.twoRootsTwoGraphs,
+                RootedGraphExamples.rootCycle,
+                RootedGraphExamples.rootCycle3,
+                RootedGraphExamples.simpleCycle2,
+                RootedGraphExamples.lasso_1_1,
+                RootedGraphExamples.lasso_2_1,
+                RootedGraphExamples.lasso_1_2,
+                RootedGraphExamples.lasso_1_3,
+                RootedGraphExamples.sharing_2,
+                RootedGraphExamples.sharing_3,
+                RootedGraphExamples.tree4);
+    }
+
+    static IRootedGraph<Integer> randomGraph(long seed, int vertices, int degree) {
+        var random = new Random(seed);
+        List<List<Integer>> successors = new ArrayList<>();
+        for (int v = 0; v < vertices; v++) {
+            List<Integer> next = new ArrayList<>();
+            for (int i = 0; i < degree; i++) next.add(random.nextInt(vertices));
+            successors.add(next);
+        }
+        return new RootedGraphFunctional<>(
+                () -> List.of(0, vertices / 2).iterator(),
+                v -> successors.get(v).iterator());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = DepthFirstTraversal.Algorithm.class, names = {"WHILE", "RELATIONAL"})
+    void examplesAgreeWithTarjanMemory(DepthFirstTraversal.Algorithm algorithm) {
+        for (var graph : examples()) {
+            var expected = new TarjanStronglyConnectedComponentsAlgoT<>(algorithm, graph).runAlone();
+            assertEquals(expected.getStronglyConnectedComponents(), tarjan(algorithm, graph).getStronglyConnectedComponents());
+        }
+    }
+
+    @Test
+    void lasso_1_2() {
+        var result = tarjan(DepthFirstTraversal.Algorithm.WHILE, RootedGraphExamples.lasso_1_2);
+        assertEquals(Map.of(1, Set.of(1), 2, Set.of(2, 3)), result.getStronglyConnectedComponents());
+        assertEquals(3, result.size());
+        int two = result.idOf(2);
+        assertEquals(two, result.componentOf(result.idOf(3)));
+        assertEquals(2, result.vertex(two));
+        assertEquals(-1, result.idOf(42));
+    }
+
+    @Test
+    void randomGraphsAgreeWithTarjanMemory() {
+        for (int seed = 0; seed < 20; seed++) {
+            //the degree 1 graphs have many small components, the degree 2 graphs a giant one
+            var graph = randomGraph(seed, 2_000, 1 + seed % 2);
+            var expected = new TarjanStronglyConnectedComponentsAlgoT<>(graph).runAlone();
+            var actual = tarjan(DepthFirstTraversal.Algorithm.WHILE, graph);
+            assertEquals(expected.getStronglyConnectedComponents(), actual.getStronglyConnectedComponents());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package obp3.datastructures.collections.swiss;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@link GroupMatcher} on the Vector API: a group is one 128-bit byte vector, compared in one instruction
+ * where the platform has it.
+ * <p>
+ * Compiled apart from obp.algos, in the {@code vector} source set, so that the module itself does not need
+ * the incubator module; {@link GroupMatcher#best()} loads it reflectively when {@code jdk.incubator.vector} is present.
+ * </p>
+ */
+final class VectorGroupMatcher implements GroupMatcher {
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_128;
+
+    @Override
+    public int match(byte[] control, int offset, byte fingerprint) {
+        return (int) ByteVector.fromArray(SPECIES, control, offset).eq(fingerprint).toLong();
+    }
+
+    @Override
+    public int matchEmpty(byte[] control, int offset) {
+        return (int) ByteVector.fromArray(SPECIES, control, offset).eq(AbstractSwissTable.EMPTY).toLong();
+    }
+
+    @Override
+    public int matchAvailable(byte[] control, int offset) {
+        return (int) ByteVector.fromArray(SPECIES, control, offset).lt((byte) 0).toLong();
+    }
+}
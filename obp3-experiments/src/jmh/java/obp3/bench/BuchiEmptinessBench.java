@@ -0,0 +1,73 @@
+package obp3.bench;
+
+import obp3.modelchecking.EmptinessCheckerAnswer;
+import obp3.modelchecking.EmptinessCheckerExecutable;
+import obp3.modelchecking.tools.BuchiModelCheckerModel.BuchiEmptinessCheckerAlgorithm;
+import obp3.sli.core.operators.product.Product;
+import obp3.traversal.dfs.DepthFirstTraversal;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/// Every Büchi emptiness checker crossed with every depth-first traversal, over the {@link BuchiProductCorpus}.
+///
+/// Besides the time per check, two counters are reported for each configuration:
+/// - {@code steps}: the traversal steps observed by the status callback, blue and red searches included;
+/// - {@code peakKnown}: the largest known set reached (the blue known set plus the current red one).
+///
+/// Both are summed over the invocations of an iteration, divide by the number of operations to get per-check values.
+/// The allocation rate comes from the gc profiler ({@code gc.alloc.rate.norm} is the bytes allocated per check),
+/// which is enabled in the jmh block of the build; run this suite alone with {@code ./gradlew jmh -Pjmh.includes=BuchiEmptinessBench}.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class BuchiEmptinessBench {
+    @Param
+    public BuchiEmptinessCheckerAlgorithm checker;
+
+    @Param
+    public DepthFirstTraversal.Algorithm traversal;
+
+    @Param
+    public BuchiProductCorpus product;
+
+    EmptinessCheckerExecutable<Product<Integer, Integer>> modelChecker;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        modelChecker = product.model(checker, traversal).modelChecker();
+        //sanity check, do not measure a checker that gives the wrong answer
+        var answer = modelChecker.runAlone();
+        if (answer.holds == product.hasAcceptingCycle) {
+            throw new IllegalStateException(checker + " with " + traversal + " answered holds=" + answer.holds + " on " + product);
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Exploration {
+        public long steps;
+        public long peakKnown;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            steps = 0;
+            peakKnown = 0;
+        }
+    }
+
+    @Benchmark
+    public EmptinessCheckerAnswer<Product<Integer, Integer>> check(Exploration exploration) {
+        var peak = new long[]{0};
+        var answer = modelChecker.run(status -> {
+            exploration.steps++;
+            if (status.knownSize > peak[0]) peak[0] = status.knownSize;
+            return false;
+        });
+        exploration.peakKnown += peak[0];
+        return answer;
+    }
+}
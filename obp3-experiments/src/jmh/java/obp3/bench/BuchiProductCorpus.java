@@ -0,0 +1,183 @@
+package obp3.bench;
+
+import obp3.modelchecking.tools.BuchiModelCheckerModel;
+import obp3.runtime.sli.DependentSemanticRelation;
+import obp3.runtime.sli.SemanticRelation;
+import obp3.runtime.sli.Step;
+import obp3.traversal.dfs.DepthFirstTraversal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+/// Synthetic Büchi products for the emptiness checker benchmarks.
+///
+/// Each entry is a Kripke structure over int states, with an atomic proposition {@code p},
+/// synchronized with the two-state Büchi automaton of "infinitely often p"
+/// (the automaton is in its accepting state right after a step ending in a {@code p} state).
+/// The product is non-empty iff a reachable cycle of the Kripke structure contains a {@code p} state.
+///
+/// The structures are deterministic and materialized once, so that all checkers see the same graph.
+/// The accepting states are sparse on purpose: the naive and CVWY92 checkers restart a fresh nested
+/// search from every accepting state, and would otherwise be quadratic.
+public enum BuchiProductCorpus {
+    /// a long stem ending in a big cycle, with a single {@code p} state at the end of the cycle
+    DEEP_ACCEPTING(true, () -> Kripke.lasso(20_000, 10_000, i -> i == 19_999)),
+    /// a long stem ending in a self-loop, the {@code p} states are on the stem only
+    DEEP_NON_ACCEPTING(false, () -> Kripke.lasso(20_000, 19_999, i -> i % 1_000 == 0 && i < 19_999)),
+    /// an 8-ary tree whose leaves go back to the root (one big SCC), a single {@code p} leaf
+    WIDE_ACCEPTING(true, () -> Kripke.tree(20_000, 8, true, i -> i == 19_999)),
+    /// an 8-ary tree whose leaves self-loop, the {@code p} states are internal vertices only
+    WIDE_NON_ACCEPTING(false, () -> Kripke.tree(20_000, 8, false, i -> i < 2_500 && i % 100 == 0)),
+    /// a chain of small cycles linked by bridge states, {@code p} in the last cycle only
+    MANY_SCCS_ACCEPTING(true, () -> Kripke.clusters(2_000, 10, (cluster, member) -> cluster == 1_999 && member == 0)),
+    /// a chain of small cycles linked by bridge states, {@code p} on some bridges only
+    MANY_SCCS_NON_ACCEPTING(false, () -> Kripke.clusters(2_000, 10, (cluster, member) -> member == 10 && cluster % 50 == 0));
+
+    /// true if the product contains an accepting cycle, i.e. the emptiness check should fail
+    public final boolean hasAcceptingCycle;
+    private final Supplier<Kripke> kripkeSupplier;
+    private Kripke kripke;
+
+    BuchiProductCorpus(boolean hasAcceptingCycle, Supplier<Kripke> kripkeSupplier) {
+        this.hasAcceptingCycle = hasAcceptingCycle;
+        this.kripkeSupplier = kripkeSupplier;
+    }
+
+    public Kripke kripke() {
+        if (kripke == null) {
+            kripke = kripkeSupplier.get();
+        }
+        return kripke;
+    }
+
+    public BuchiModelCheckerModel<Integer, Integer, Boolean, Integer> model(
+            BuchiModelCheckerModel.BuchiEmptinessCheckerAlgorithm checker,
+            DepthFirstTraversal.Algorithm traversal) {
+        var kripke = kripke();
+        return new BuchiModelCheckerModel.BuchiModelCheckerBuilder<Integer, Integer, Boolean, Integer>()
+                .modelSemantics(kripke)
+                .atomicPropositionEvaluator((atom, step) -> atom.equals("p") && kripke.p().get(step.end()))
+                .propertySemantics(InfinitelyOften::new)
+                .acceptingPredicateForProduct((c, _) -> c.r() == 1)
+                .emptinessCheckerAlgorithm(checker)
+                .traversalStrategy(traversal)
+                .depthBound(-1)
+                .reducer(Function.identity())
+                .build();
+    }
+
+    /// A Kripke structure with int states, 0 is the initial state, the action is the target state.
+    public record Kripke(int[][] successors, BitSet p) implements SemanticRelation<Integer, Integer> {
+        @Override
+        public List<Integer> initial() {
+            return List.of(0);
+        }
+
+        @Override
+        public List<Integer> actions(Integer configuration) {
+            var targets = successors[configuration];
+            var actions = new ArrayList<Integer>(targets.length);
+            for (int target : targets) {
+                actions.add(target);
+            }
+            return actions;
+        }
+
+        @Override
+        public List<Integer> execute(Integer action, Integer configuration) {
+            return List.of(action);
+        }
+
+        public int size() {
+            return successors.length;
+        }
+
+        static BitSet label(int size, IntPredicate p) {
+            var bits = new BitSet(size);
+            for (int i = 0; i < size; i++) {
+                if (p.test(i)) bits.set(i);
+            }
+            return bits;
+        }
+
+        /// 0 → 1 → ... → size-1 → loopStart
+        static Kripke lasso(int size, int loopStart, IntPredicate p) {
+            var successors = new int[size][];
+            for (int i = 0; i < size - 1; i++) {
+                successors[i] = new int[]{i + 1};
+            }
+            successors[size - 1] = new int[]{loopStart};
+            return new Kripke(successors, label(size, p));
+        }
+
+        /// vertex i has the children branching*i+1 ... branching*i+branching,
+        /// the leaves go back to the root or loop on themselves
+        static Kripke tree(int size, int branching, boolean leavesToRoot, IntPredicate p) {
+            var successors = new int[size][];
+            for (int i = 0; i < size; i++) {
+                int first = branching * i + 1;
+                if (first >= size) {
+                    successors[i] = new int[]{leavesToRoot ? 0 : i};
+                    continue;
+                }
+                successors[i] = java.util.stream.IntStream.range(first, Math.min(first + branching, size)).toArray();
+            }
+            return new Kripke(successors, label(size, p));
+        }
+
+        interface ClusterPredicate {
+            boolean test(int cluster, int member);
+        }
+
+        /// count cycles of clusterSize states; the member clusterSize is the bridge to the next cluster.
+        /// the last member of each cycle goes both to the first member and to the bridge.
+        static Kripke clusters(int count, int clusterSize, ClusterPredicate p) {
+            int stride = clusterSize + 1;
+            int size = count * stride;
+            var successors = new int[size][];
+            var bits = new BitSet(size);
+            for (int cluster = 0; cluster < count; cluster++) {
+                int base = cluster * stride;
+                for (int member = 0; member < clusterSize - 1; member++) {
+                    successors[base + member] = new int[]{base + member + 1};
+                }
+                successors[base + clusterSize - 1] = new int[]{base, base + clusterSize};
+                int bridge = base + clusterSize;
+                successors[bridge] = new int[]{cluster == count - 1 ? bridge : bridge + 1};
+                for (int member = 0; member <= clusterSize; member++) {
+                    if (p.test(cluster, member)) bits.set(base + member);
+                }
+            }
+            return new Kripke(successors, bits);
+        }
+
+        @Override
+        public String toString() {
+            return "Kripke{size=" + successors.length + ", p=" + p.cardinality() + ", edges=" + Arrays.stream(successors).mapToInt(s -> s.length).sum() + "}";
+        }
+    }
+
+    /// The Büchi automaton of "infinitely often p": the state 1 (accepting) is entered on steps reaching a p state.
+    record InfinitelyOften(java.util.function.BiPredicate<String, Step<Integer, Integer>> atomEvaluator)
+            implements DependentSemanticRelation<Step<Integer, Integer>, Boolean, Integer> {
+        @Override
+        public List<Integer> initial() {
+            return List.of(0);
+        }
+
+        @Override
+        public List<Boolean> actions(Step<Integer, Integer> input, Integer configuration) {
+            return List.of(atomEvaluator.test("p", input));
+        }
+
+        @Override
+        public List<Integer> execute(Boolean action, Step<Integer, Integer> input, Integer configuration) {
+            return List.of(action ? 1 : 0);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package obp3.bench;
+
+import obp3.datastructures.collections.linearscan.AbstractLinearProbingTable.Probing;
+import obp3.datastructures.collections.linearscan.LinearScanHashSet;
+import obp3.datastructures.collections.swiss.SwissHashSet;
+import obp3.utils.Hashable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/// Membership checks on the candidate known sets, as a depth-first traversal does them:
+/// each operation checks a batch of states, half of them known.
+///
+/// The {@link SwissHashSet} probes with the Vector API when {@code jdk.incubator.vector} is present
+/// (the jmh block of the build adds it), with its scalar group matcher otherwise.
+/// Run this suite alone with {@code ./gradlew jmh -Pjmh.includes=KnownSetBench}.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class KnownSetBench {
+    public enum Implementation {
+        HASH_SET(size -> new HashSet<>(size)),
+        LINEAR_SCAN(size -> new LinearScanHashSet<>(size, Hashable.standard(), Probing.LINEAR)),
+        ROBIN_HOOD(size -> new LinearScanHashSet<>(size, Hashable.standard(), Probing.ROBIN_HOOD)),
+        SWISS(size -> new SwissHashSet<>(size, Hashable.standard()));
+
+        final IntFunction<Set<Object>> factory;
+
+        Implementation(IntFunction<Set<Object>> factory) {
+            this.factory = factory;
+        }
+    }
+
+    static final int BATCH = 1024;
+
+    @Param
+    public Implementation implementation;
+
+    @Param({"65536", "1048576"})
+    public int size;
+
+    Set<Object> known;
+    Object[] queries;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        //states with a structural equality, not identity
+        known = implementation.factory.apply(16);
+        var random = new Random(42);
+        var states = new long[size];
+        for (int i = 0; i < size; i++) {
+            states[i] = random.nextLong();
+            known.add(new State(states[i]));
+        }
+        queries = new Object[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            queries[i] = new State(i % 2 == 0 ? states[random.nextInt(size)] : random.nextLong());
+        }
+    }
+
+    record State(long value) {}
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int contains() {
+        int hits = 0;
+        for (Object query : queries) {
+            if (known.contains(query)) hits++;
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,128 @@
+package obp3.bench;
+
+import obp3.unification.UnificationAnswer;
+import obp3.unification.Unificator;
+import obp3.unification.Unificator1;
+import obp3.unification.UnionFindUnificator;
+import obp3.unification.syntax.App;
+import obp3.unification.syntax.Term;
+import obp3.unification.syntax.Var;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/// The three unification engines on the same constraint sets: each operation solves the constraints
+/// and asks the answer of every variable, since {@link Unificator} computes its answers on demand.
+///
+/// Run this suite alone with {@code ./gradlew jmh -Pjmh.includes=UnificationBench}.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class UnificationBench {
+    public enum Engine {
+        FIXER {
+            @Override
+            Function<Var, UnificationAnswer<Term>> solve(Map<Term, Term> constraints) {
+                return new Unificator().solveTop(constraints);
+            }
+        },
+        SUBSTITUTION {
+            @Override
+            Function<Var, UnificationAnswer<Term>> solve(Map<Term, Term> constraints) {
+                var unificator = new Unificator1();
+                Function<Var, UnificationAnswer<Term>> mapper = unificator::substitution;
+                for (var constraint : constraints.entrySet()) {
+                    mapper = unificator.unify(constraint.getKey(), constraint.getValue(), mapper).orElseThrow();
+                }
+                return mapper;
+            }
+        },
+        UNION_FIND {
+            @Override
+            Function<Var, UnificationAnswer<Term>> solve(Map<Term, Term> constraints) {
+                return UnionFindUnificator.solve(constraints);
+            }
+        };
+
+        abstract Function<Var, UnificationAnswer<Term>> solve(Map<Term, Term> constraints);
+    }
+
+    public enum Workload {
+        /// X0 = s(X1), ..., Xn = z
+        NESTED_CHAIN {
+            @Override
+            Map<Term, Term> constraints(int size) {
+                Map<Term, Term> constraints = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) constraints.put(var(i), new App("s", var(i + 1)));
+                constraints.put(var(size), new App("z"));
+                return constraints;
+            }
+        },
+        /// X0 = X1, ..., Xn = z
+        VARIABLE_CHAIN {
+            @Override
+            Map<Term, Term> constraints(int size) {
+                Map<Term, Term> constraints = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) constraints.put(var(i), var(i + 1));
+                constraints.put(var(size), new App("z"));
+                return constraints;
+            }
+        },
+        /// f(X0, ..., Xn) = f(X1, ..., Xn, c): one structural constraint, decomposed into a chain
+        WIDE {
+            @Override
+            Map<Term, Term> constraints(int size) {
+                List<Term> left = IntStream.rangeClosed(0, size).mapToObj(i -> (Term) var(i)).toList();
+                List<Term> right = IntStream.rangeClosed(1, size + 1)
+                        .mapToObj(i -> i == size + 1 ? (Term) new App("c") : var(i)).toList();
+                return Map.of(new App("f", left), new App("f", right));
+            }
+        };
+
+        abstract Map<Term, Term> constraints(int size);
+
+        static Var var(int i) {
+            return new Var("X" + i);
+        }
+    }
+
+    @Param
+    public Engine engine;
+
+    @Param
+    public Workload workload;
+
+    @Param({"16", "64", "256"})
+    public int size;
+
+    Map<Term, Term> constraints;
+    List<Var> variables;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        constraints = workload.constraints(size);
+        variables = IntStream.rangeClosed(0, size).mapToObj(Workload::var).toList();
+        //sanity check, do not measure an engine that gives the wrong answer
+        var answer = engine.solve(constraints).apply(variables.getFirst());
+        if (!answer.hasSolution()) {
+            throw new IllegalStateException(engine + " found no solution on " + workload + " " + size + ": " + answer);
+        }
+    }
+
+    @Benchmark
+    public void solve(Blackhole blackhole) {
+        var valuation = engine.solve(constraints);
+        for (Var variable : variables) {
+            blackhole.consume(valuation.apply(variable));
+        }
+    }
+}